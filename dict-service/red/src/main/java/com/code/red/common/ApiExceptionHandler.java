@@ -1,6 +1,6 @@
 package com.code.red.common;
 
-import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
@@ -22,6 +22,19 @@ public class ApiExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, exception.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(RejectedRequestException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedRequest(RejectedRequestException exception,
+            HttpServletRequest request) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(HttpStatus.BAD_REQUEST, exception.getMessage(),
+                request.getRequestURI(), exception.getSuggestions(), exception.getRejection()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejected(RejectedExecutionException exception,
+            HttpServletRequest request) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage(), request.getRequestURI());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException exception,
             HttpServletRequest request) {
@@ -47,8 +60,7 @@ public class ApiExceptionHandler {
     }
 
     private ResponseEntity<ErrorResponse> buildResponse(HttpStatus status, String message, String path) {
-        ErrorResponse body = new ErrorResponse(Instant.now(), status.value(), status.getReasonPhrase(), message, path);
-        return ResponseEntity.status(status).body(body);
+        return ResponseEntity.status(status).body(ErrorResponse.of(status, message, path));
     }
 
     private static String formatFieldError(FieldError error) {
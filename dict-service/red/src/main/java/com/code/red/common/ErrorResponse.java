@@ -1,6 +1,28 @@
 package com.code.red.common;
 
 import java.time.Instant;
+import java.util.List;
 
-public record ErrorResponse(Instant timestamp, int status, String error, String message, String path) {
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Error body for every failed request. {@code rejection} is only present for a {@link RejectedRequestException} and
+ * is whatever machine-readable detail the rejecting endpoint gave, such as the rule a move broke; {@code suggestions}
+ * only when the endpoint offered alternatives, such as the closest dictionary words to an unknown one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(Instant timestamp, int status, String error, String message, String path,
+        List<String> suggestions, Object rejection) {
+
+    public static ErrorResponse of(HttpStatus status, String message, String path) {
+        return of(status, message, path, null, null);
+    }
+
+    public static ErrorResponse of(HttpStatus status, String message, String path, List<String> suggestions,
+            Object rejection) {
+        return new ErrorResponse(Instant.now(), status.value(), status.getReasonPhrase(), message, path, suggestions,
+                rejection);
+    }
 }
@@ -0,0 +1,32 @@
+package com.code.red.common;
+
+import java.util.List;
+
+/**
+ * A well-formed request the domain turned down, answered with 400 and an {@link ErrorResponse} carrying
+ * {@code rejection} and {@code suggestions}. Services report such outcomes as results; controllers throw this at the
+ * edge so their return types stay the success body. It carries no stack trace.
+ */
+public class RejectedRequestException extends RuntimeException {
+
+    private final transient Object rejection;
+    private final List<String> suggestions;
+
+    /**
+     * @param rejection machine-readable detail, serialized as-is
+     * @param suggestions alternatives to offer, or {@code null} for none
+     */
+    public RejectedRequestException(String message, Object rejection, List<String> suggestions) {
+        super(message, null, false, false);
+        this.rejection = rejection;
+        this.suggestions = suggestions == null ? null : List.copyOf(suggestions);
+    }
+
+    public Object getRejection() {
+        return rejection;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+}
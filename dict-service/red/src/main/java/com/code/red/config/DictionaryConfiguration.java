@@ -1,22 +1,119 @@
 package com.code.red.config;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.SplittableRandom;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 
+import com.code.red.dictionary.ArrayDawgDictionary;
+import com.code.red.dictionary.DawgDictionary;
+import com.code.red.dictionary.DictionaryEngine;
 import com.code.red.dictionary.DictionaryLoader;
+import com.code.red.dictionary.IndexedWordDictionary;
+import com.code.red.dictionary.LexiconRegistry;
 import com.code.red.dictionary.WordDictionary;
 
 @Configuration
 @EnableConfigurationProperties(ScrabbleProperties.class)
 public class DictionaryConfiguration {
 
-    @Bean
-    public WordDictionary wordDictionary(DictionaryLoader loader) {
-        return loader.load();
+    private static final Logger log = LoggerFactory.getLogger(DictionaryConfiguration.class);
+
+    /**
+     * Every lexicon set, the startup one and each admin reload, is built the same way: the engines for all word
+     * lists together so they share one graph, then the enabled indexes for each list.
+     */
+    @Bean(destroyMethod = "close")
+    public LexiconRegistry lexiconRegistry(DictionaryLoader loader, ScrabbleProperties properties,
+            ResourceLoader resourceLoader, Clock scrabbleClock) {
+        Map<String, Resource> sources = new LinkedHashMap<>();
+        if (properties.getLexicons().isEmpty()) {
+            sources.put(properties.getDefaultLexicon(), loader.getResource());
+        } else {
+            properties.getLexicons().forEach((id, location) -> sources.put(id, resourceLoader.getResource(location)));
+        }
+        return new LexiconRegistry(sources, properties.getDefaultLexicon(),
+                lexiconSources -> buildDictionaries(lexiconSources, properties), resourceLoader,
+                properties.getLexiconReloadDirectory(), scrabbleClock);
+    }
+
+    private static Map<String, WordDictionary> buildDictionaries(Map<String, Resource> sources,
+            ScrabbleProperties properties) {
+        List<DictionaryLoader> loaders = new ArrayList<>(sources.size());
+        for (Resource source : sources.values()) {
+            loaders.add(new DictionaryLoader(source, properties.getDictionaryBuildMode()));
+        }
+        List<? extends WordDictionary> engines = loadEngines(loaders, properties);
+        Map<String, WordDictionary> dictionaries = new LinkedHashMap<>();
+        int index = 0;
+        for (String id : sources.keySet()) {
+            dictionaries.put(id, withIndexes(engines.get(index++), properties));
+        }
+        return dictionaries;
+    }
+
+    private static WordDictionary withIndexes(WordDictionary dictionary, ScrabbleProperties properties) {
+        Set<IndexedWordDictionary.Index> indexes = EnumSet.noneOf(IndexedWordDictionary.Index.class);
+        if (properties.isWordIndexEnabled()) {
+            indexes.add(IndexedWordDictionary.Index.WORDS);
+        }
+        if (properties.isAlphagramIndexEnabled()) {
+            indexes.add(IndexedWordDictionary.Index.ALPHAGRAMS);
+        }
+        if (properties.isGaddagEnabled()) {
+            indexes.add(IndexedWordDictionary.Index.GADDAG);
+        }
+        if (properties.isProbabilityIndexEnabled()) {
+            indexes.add(IndexedWordDictionary.Index.PROBABILITY);
+        }
+        if (indexes.isEmpty()) {
+            return dictionary;
+        }
+        IndexedWordDictionary indexed = IndexedWordDictionary.wrap(dictionary, indexes);
+        if (indexed.hasWordIndex()) {
+            log.info("Packed word index holds {} words in {} slots ({} KiB), {} words fall back to the DAWG",
+                    indexed.indexedWords(), indexed.indexCapacity(), indexed.indexFootprintBytes() / 1024,
+                    indexed.overflowWords());
+        }
+        if (indexed.hasAlphagramIndex()) {
+            log.info("Alphagram index holds {} letter sets ({} KiB)", indexed.alphagramGroups(),
+                    indexed.alphagramFootprintBytes() / 1024);
+        }
+        if (indexed.hasGaddag()) {
+            log.info("GADDAG built into {} nodes / {} edges ({} KiB) in {} ms", indexed.gaddagNodes(),
+                    indexed.gaddagEdges(), indexed.gaddagFootprintBytes() / 1024, indexed.gaddagBuildMillis());
+        }
+        if (indexed.hasProbabilityIndex()) {
+            log.info("Probability index takes {} KiB", indexed.probabilityFootprintBytes() / 1024);
+        }
+        return indexed;
+    }
+
+    private static List<? extends WordDictionary> loadEngines(List<DictionaryLoader> loaders,
+            ScrabbleProperties properties) {
+        if (properties.getDictionaryEngine() == DictionaryEngine.DAWG) {
+            return DictionaryLoader.loadShared(loaders);
+        }
+        List<ArrayDawgDictionary> packed = properties.getDictionaryImagePath() == null
+                ? DawgDictionary.toArrayDictionaries(DictionaryLoader.loadShared(loaders))
+                : DictionaryLoader.loadPacked(loaders, properties.getDictionaryImagePath(),
+                        properties.isWriteDictionaryImage());
+        ArrayDawgDictionary shared = packed.get(0);
+        log.info("Packed {} lexicon(s) into {} nodes / {} edges ({} KiB, {})", packed.size(), shared.nodeCount(),
+                shared.edgeCount(), shared.footprintBytes() / 1024, shared.isMapped() ? "mapped" : "heap");
+        return packed;
     }
 
     @Bean
@@ -1,10 +1,19 @@
 package com.code.red.config;
 
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import com.code.red.dictionary.DictionaryBuildMode;
+import com.code.red.dictionary.DictionaryEngine;
+
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 @Validated
 @ConfigurationProperties(prefix = "scrabble")
@@ -15,15 +24,114 @@ public class ScrabbleProperties {
     private int maxPrefixResults = 50;
 
     @Min(1)
-    @Max(50)
+    @Max(500)
     private int maxAnagramResults = 50;
 
     @Min(1)
-    @Max(8)
+    @Max(15)
     private int maxAnagramLetters = 8;
 
+    /**
+     * Wall-clock budget for one anagram search of a rack too long for the sequential walk; past it the words found
+     * so far are returned and marked incomplete.
+     */
+    @Min(10)
+    @Max(10_000)
+    private long anagramTimeBudgetMillis = 500;
+
+    @Min(1)
+    @Max(64)
+    private int anagramThreads = 4;
+
+    @Min(1)
+    @Max(32)
+    private int maxPatternLength = 20;
+
+    @Min(1)
+    @Max(100_000)
+    private int maxBatchWords = 10_000;
+
+    @Min(1)
+    @Max(50)
+    private int maxSuggestions = 10;
+
+    /**
+     * Wall-clock budget for one {@code /words/suggest} search; past it the suggestions found so far are returned.
+     */
+    @Min(1)
+    @Max(1000)
+    private long suggestTimeBudgetMillis = 20;
+
+    @Min(1)
+    @Max(50)
+    private int maxHintMoves = 10;
+
+    @Min(10)
+    @Max(5000)
+    private long hintTimeBudgetMillis = 200;
+
+    @Min(1)
+    @Max(16)
+    private int hintThreads = 2;
+
+    @Min(1)
+    @Max(1024)
+    private int hintQueueCapacity = 16;
+
+    private boolean queryCacheEnabled = true;
+
+    @Min(1)
+    @Max(1_000_000)
+    private int queryCacheMaxEntries = 10_000;
+
+    /**
+     * Bound on the characters held by each query cache, counting one extra per word.
+     */
+    @Min(1)
+    private long queryCacheMaxWeight = 2_000_000;
+
     private long randomSeed = 12345L;
 
+    @NotNull
+    private DictionaryEngine dictionaryEngine = DictionaryEngine.ARRAY;
+
+    @NotNull
+    private DictionaryBuildMode dictionaryBuildMode = DictionaryBuildMode.SEQUENTIAL;
+
+    /**
+     * Precompiled image to map instead of building from text; unset by default. The image is trusted once it
+     * passes its checks, so it must live in a directory only the application can write.
+     */
+    private Path dictionaryImagePath;
+
+    /**
+     * Word list location per lexicon id, such as {@code csw=classpath:CSW24.txt}. When empty, the list at
+     * {@code scrabble.dictionary-path} is served as the only lexicon under {@link #defaultLexicon}.
+     */
+    private Map<String, String> lexicons = new LinkedHashMap<>();
+
+    @NotBlank
+    private String defaultLexicon = "csw";
+
+    /**
+     * Directory whose word list files admin reloads may read besides the configured lexicon sources; when unset,
+     * reloads only accept the configured sources.
+     */
+    private Path lexiconReloadDirectory;
+
+    /**
+     * Whether a missing or stale image at {@link #dictionaryImagePath} is rewritten after the text build.
+     */
+    private boolean writeDictionaryImage;
+
+    private boolean wordIndexEnabled;
+
+    private boolean alphagramIndexEnabled;
+
+    private boolean gaddagEnabled;
+
+    private boolean probabilityIndexEnabled;
+
     public int getMaxPrefixResults() {
         return maxPrefixResults;
     }
@@ -37,7 +145,7 @@ public class ScrabbleProperties {
     }
 
     public void setMaxAnagramResults(int maxAnagramResults) {
-        this.maxAnagramResults = Math.min(50, maxAnagramResults);
+        this.maxAnagramResults = Math.min(500, maxAnagramResults);
     }
 
     public int getMaxAnagramLetters() {
@@ -45,7 +153,87 @@ public class ScrabbleProperties {
     }
 
     public void setMaxAnagramLetters(int maxAnagramLetters) {
-        this.maxAnagramLetters = Math.min(8, maxAnagramLetters);
+        this.maxAnagramLetters = Math.min(15, maxAnagramLetters);
+    }
+
+    public long getAnagramTimeBudgetMillis() {
+        return anagramTimeBudgetMillis;
+    }
+
+    public void setAnagramTimeBudgetMillis(long anagramTimeBudgetMillis) {
+        this.anagramTimeBudgetMillis = anagramTimeBudgetMillis;
+    }
+
+    public int getAnagramThreads() {
+        return anagramThreads;
+    }
+
+    public void setAnagramThreads(int anagramThreads) {
+        this.anagramThreads = anagramThreads;
+    }
+
+    public int getMaxPatternLength() {
+        return maxPatternLength;
+    }
+
+    public void setMaxPatternLength(int maxPatternLength) {
+        this.maxPatternLength = Math.min(32, maxPatternLength);
+    }
+
+    public int getMaxBatchWords() {
+        return maxBatchWords;
+    }
+
+    public void setMaxBatchWords(int maxBatchWords) {
+        this.maxBatchWords = maxBatchWords;
+    }
+
+    public int getMaxSuggestions() {
+        return maxSuggestions;
+    }
+
+    public void setMaxSuggestions(int maxSuggestions) {
+        this.maxSuggestions = Math.min(50, maxSuggestions);
+    }
+
+    public long getSuggestTimeBudgetMillis() {
+        return suggestTimeBudgetMillis;
+    }
+
+    public void setSuggestTimeBudgetMillis(long suggestTimeBudgetMillis) {
+        this.suggestTimeBudgetMillis = suggestTimeBudgetMillis;
+    }
+
+    public int getMaxHintMoves() {
+        return maxHintMoves;
+    }
+
+    public void setMaxHintMoves(int maxHintMoves) {
+        this.maxHintMoves = Math.min(50, maxHintMoves);
+    }
+
+    public long getHintTimeBudgetMillis() {
+        return hintTimeBudgetMillis;
+    }
+
+    public void setHintTimeBudgetMillis(long hintTimeBudgetMillis) {
+        this.hintTimeBudgetMillis = hintTimeBudgetMillis;
+    }
+
+    public int getHintThreads() {
+        return hintThreads;
+    }
+
+    public void setHintThreads(int hintThreads) {
+        this.hintThreads = hintThreads;
+    }
+
+    public int getHintQueueCapacity() {
+        return hintQueueCapacity;
+    }
+
+    public void setHintQueueCapacity(int hintQueueCapacity) {
+        this.hintQueueCapacity = hintQueueCapacity;
     }
 
     public long getRandomSeed() {
@@ -55,4 +243,116 @@ public class ScrabbleProperties {
     public void setRandomSeed(long randomSeed) {
         this.randomSeed = randomSeed;
     }
+
+    public DictionaryEngine getDictionaryEngine() {
+        return dictionaryEngine;
+    }
+
+    public void setDictionaryEngine(DictionaryEngine dictionaryEngine) {
+        this.dictionaryEngine = dictionaryEngine;
+    }
+
+    public DictionaryBuildMode getDictionaryBuildMode() {
+        return dictionaryBuildMode;
+    }
+
+    public void setDictionaryBuildMode(DictionaryBuildMode dictionaryBuildMode) {
+        this.dictionaryBuildMode = dictionaryBuildMode;
+    }
+
+    public Path getDictionaryImagePath() {
+        return dictionaryImagePath;
+    }
+
+    public void setDictionaryImagePath(Path dictionaryImagePath) {
+        this.dictionaryImagePath = dictionaryImagePath;
+    }
+
+    public boolean isWriteDictionaryImage() {
+        return writeDictionaryImage;
+    }
+
+    public void setWriteDictionaryImage(boolean writeDictionaryImage) {
+        this.writeDictionaryImage = writeDictionaryImage;
+    }
+
+    public boolean isWordIndexEnabled() {
+        return wordIndexEnabled;
+    }
+
+    public void setWordIndexEnabled(boolean wordIndexEnabled) {
+        this.wordIndexEnabled = wordIndexEnabled;
+    }
+
+    public boolean isAlphagramIndexEnabled() {
+        return alphagramIndexEnabled;
+    }
+
+    public void setAlphagramIndexEnabled(boolean alphagramIndexEnabled) {
+        this.alphagramIndexEnabled = alphagramIndexEnabled;
+    }
+
+    public boolean isGaddagEnabled() {
+        return gaddagEnabled;
+    }
+
+    public void setGaddagEnabled(boolean gaddagEnabled) {
+        this.gaddagEnabled = gaddagEnabled;
+    }
+
+    public boolean isProbabilityIndexEnabled() {
+        return probabilityIndexEnabled;
+    }
+
+    public void setProbabilityIndexEnabled(boolean probabilityIndexEnabled) {
+        this.probabilityIndexEnabled = probabilityIndexEnabled;
+    }
+
+    public Map<String, String> getLexicons() {
+        return lexicons;
+    }
+
+    public void setLexicons(Map<String, String> lexicons) {
+        this.lexicons = lexicons;
+    }
+
+    public String getDefaultLexicon() {
+        return defaultLexicon;
+    }
+
+    public void setDefaultLexicon(String defaultLexicon) {
+        this.defaultLexicon = defaultLexicon;
+    }
+
+    public Path getLexiconReloadDirectory() {
+        return lexiconReloadDirectory;
+    }
+
+    public void setLexiconReloadDirectory(Path lexiconReloadDirectory) {
+        this.lexiconReloadDirectory = lexiconReloadDirectory;
+    }
+
+    public boolean isQueryCacheEnabled() {
+        return queryCacheEnabled;
+    }
+
+    public void setQueryCacheEnabled(boolean queryCacheEnabled) {
+        this.queryCacheEnabled = queryCacheEnabled;
+    }
+
+    public int getQueryCacheMaxEntries() {
+        return queryCacheMaxEntries;
+    }
+
+    public void setQueryCacheMaxEntries(int queryCacheMaxEntries) {
+        this.queryCacheMaxEntries = queryCacheMaxEntries;
+    }
+
+    public long getQueryCacheMaxWeight() {
+        return queryCacheMaxWeight;
+    }
+
+    public void setQueryCacheMaxWeight(long queryCacheMaxWeight) {
+        this.queryCacheMaxWeight = queryCacheMaxWeight;
+    }
 }
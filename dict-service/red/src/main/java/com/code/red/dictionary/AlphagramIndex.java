@@ -0,0 +1,260 @@
+package com.code.red.dictionary;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+/**
+ * Exact-anagram index mapping each word's letter multiset (its alphagram) to the ordinals of the words that
+ * share it.
+ *
+ * <p>A multiset is hashed order-independently as the wrapping sum of one random 64-bit constant per letter, so a
+ * rack's signature needs no sorting and each blank assignment is a single addition. Ordinals are stored grouped by
+ * signature in one {@code int[]} (ascending, hence lexicographic, within a group) and groups are located through an
+ * open-addressing table of signatures. Distinct multisets whose sums collide would share a group, so callers
+ * verify candidates against the rack with {@link #matches(CharSequence, int[])}.
+ */
+final class AlphagramIndex {
+
+    static final int MAX_BLANKS = 2;
+    static final int BLANK = 26;
+
+    private static final long[] LETTER_KEYS = new SplittableRandom(0x616c7068L).longs(26).toArray();
+
+    private final long[] slotSignatures;
+    private final int[] slotGroups;
+    private final int mask;
+    private final int[] groupStart;
+    private final int[] ordinals;
+    private final int maxGroupSize;
+
+    private AlphagramIndex(long[] slotSignatures, int[] slotGroups, int[] groupStart, int[] ordinals) {
+        this.slotSignatures = slotSignatures;
+        this.slotGroups = slotGroups;
+        this.mask = slotSignatures.length - 1;
+        this.groupStart = groupStart;
+        this.ordinals = ordinals;
+        int max = 0;
+        for (int group = 0; group + 1 < groupStart.length; group++) {
+            max = Math.max(max, groupStart[group + 1] - groupStart[group]);
+        }
+        this.maxGroupSize = max;
+    }
+
+    /**
+     * Signs words streamed in ordinal (lexicographic) order and groups them into an index. Words containing
+     * anything other than {@code a-z} are left out; no rack can spell them.
+     */
+    static final class Builder {
+
+        private final long[] signatures;
+        private final BitSet indexable;
+        private int wordCount;
+
+        Builder(int wordCount) {
+            this.signatures = new long[wordCount];
+            this.indexable = new BitSet(wordCount);
+        }
+
+        void add(CharSequence word) {
+            int ordinal = wordCount++;
+            if (isLowercaseAscii(word)) {
+                signatures[ordinal] = signature(word);
+                indexable.set(ordinal);
+            }
+        }
+
+        AlphagramIndex build() {
+            long[] distinct = new long[indexable.cardinality()];
+            int cursor = 0;
+            for (int ordinal = indexable.nextSetBit(0); ordinal >= 0; ordinal = indexable.nextSetBit(ordinal + 1)) {
+                distinct[cursor++] = signatures[ordinal];
+            }
+            Arrays.sort(distinct);
+            int groupCount = 0;
+            for (int i = 0; i < distinct.length; i++) {
+                if (i == 0 || distinct[i] != distinct[i - 1]) {
+                    groupCount++;
+                }
+            }
+
+            int capacity = Integer.highestOneBit(Math.max(16, groupCount * 2 - 1)) << 1;
+            long[] slotSignatures = new long[capacity];
+            int[] slotGroups = new int[capacity];
+            int[] wordGroups = new int[wordCount];
+            int[] groupSizes = new int[groupCount];
+            int groups = 0;
+            for (int ordinal = indexable.nextSetBit(0); ordinal >= 0; ordinal = indexable.nextSetBit(ordinal + 1)) {
+                long signature = signatures[ordinal];
+                int slot = slot(signature, capacity - 1);
+                while (slotGroups[slot] != 0 && slotSignatures[slot] != signature) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                if (slotGroups[slot] == 0) {
+                    slotSignatures[slot] = signature;
+                    slotGroups[slot] = ++groups;
+                }
+                int group = slotGroups[slot] - 1;
+                wordGroups[ordinal] = group;
+                groupSizes[group]++;
+            }
+
+            int[] groupStart = new int[groupCount + 1];
+            for (int group = 0; group < groupCount; group++) {
+                groupStart[group + 1] = groupStart[group] + groupSizes[group];
+            }
+            int[] next = Arrays.copyOf(groupStart, groupCount);
+            int[] ordinals = new int[groupStart[groupCount]];
+            for (int ordinal = indexable.nextSetBit(0); ordinal >= 0; ordinal = indexable.nextSetBit(ordinal + 1)) {
+                ordinals[next[wordGroups[ordinal]]++] = ordinal;
+            }
+            return new AlphagramIndex(slotSignatures, slotGroups, groupStart, ordinals);
+        }
+    }
+
+    /**
+     * Letter counts of {@code letters} ({@code a-z}, case-insensitive) with blanks ({@code ?}) at {@link #BLANK};
+     * anything else is ignored.
+     */
+    static int[] rackCounts(CharSequence letters) {
+        int[] counts = new int[27];
+        for (int i = 0; i < letters.length(); i++) {
+            char ch = Character.toLowerCase(letters.charAt(i));
+            if (ch == '?') {
+                counts[BLANK]++;
+            } else if (ch >= 'a' && ch <= 'z') {
+                counts[ch - 'a']++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Whether {@code word} uses every tile in {@code counts}, with blanks standing in for missing letters.
+     */
+    static boolean matches(CharSequence word, int[] counts) {
+        if (word.length() != DawgDictionary.tileCount(counts)) {
+            return false;
+        }
+        int[] remaining = Arrays.copyOf(counts, counts.length);
+        for (int i = 0; i < word.length(); i++) {
+            int index = word.charAt(i) - 'a';
+            if (index < 0 || index >= 26) {
+                return false;
+            }
+            if (remaining[index] > 0) {
+                remaining[index]--;
+            } else if (remaining[BLANK] > 0) {
+                remaining[BLANK]--;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorted ordinals of every word spelled by exactly the tiles in {@code counts}. Each blank is expanded over
+     * {@code a-z} as unordered combinations, so two blanks cost at most 351 probes.
+     *
+     * @throws IllegalArgumentException if the rack holds more than {@value #MAX_BLANKS} blanks
+     */
+    int[] exactAnagramOrdinals(int[] counts) {
+        int blanks = counts[BLANK];
+        if (blanks > MAX_BLANKS) {
+            throw new IllegalArgumentException("At most " + MAX_BLANKS + " blanks supported");
+        }
+        long base = 0;
+        for (int index = 0; index < 26; index++) {
+            base += LETTER_KEYS[index] * counts[index];
+        }
+        int[] found = new int[Math.max(16, maxGroupSize)];
+        int size = 0;
+        if (blanks == 0) {
+            size = appendGroup(base, found, size);
+        } else {
+            for (int first = 0; first < 26; first++) {
+                long withFirst = base + LETTER_KEYS[first];
+                if (blanks == 1) {
+                    size = appendGroup(withFirst, found, size);
+                    found = grow(found, size);
+                    continue;
+                }
+                for (int second = first; second < 26; second++) {
+                    size = appendGroup(withFirst + LETTER_KEYS[second], found, size);
+                    found = grow(found, size);
+                }
+            }
+        }
+        int[] result = Arrays.copyOf(found, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    int groupCount() {
+        return groupStart.length - 1;
+    }
+
+    int indexedWords() {
+        return ordinals.length;
+    }
+
+    long footprintBytes() {
+        return (long) slotSignatures.length * Long.BYTES
+                + (long) slotGroups.length * Integer.BYTES
+                + (long) groupStart.length * Integer.BYTES
+                + (long) ordinals.length * Integer.BYTES;
+    }
+
+    /**
+     * Appends the ordinals of the group for {@code signature}, if any. {@code found} must have room for the largest
+     * group; {@link #grow(int[], int)} keeps it that way between calls.
+     */
+    private int appendGroup(long signature, int[] found, int size) {
+        int slot = slot(signature, mask);
+        while (slotGroups[slot] != 0) {
+            if (slotSignatures[slot] == signature) {
+                int group = slotGroups[slot] - 1;
+                int length = groupStart[group + 1] - groupStart[group];
+                System.arraycopy(ordinals, groupStart[group], found, size, length);
+                return size + length;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return size;
+    }
+
+    private int[] grow(int[] found, int size) {
+        int needed = size + maxGroupSize;
+        return needed <= found.length ? found : Arrays.copyOf(found, Math.max(needed, found.length * 2));
+    }
+
+    private static long signature(CharSequence word) {
+        long signature = 0;
+        for (int i = 0; i < word.length(); i++) {
+            signature += LETTER_KEYS[word.charAt(i) - 'a'];
+        }
+        return signature;
+    }
+
+    private static boolean isLowercaseAscii(CharSequence word) {
+        if (word.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch < 'a' || ch > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slot(long signature, int mask) {
+        long h = signature;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,10 @@
+package com.code.red.dictionary;
+
+import java.util.List;
+
+/**
+ * Words found by an anagram search, in lexicographic order; {@code complete} is {@code false} when the search ran
+ * out of time and more words may exist.
+ */
+public record AnagramResult(List<String> words, boolean complete) {
+}
@@ -0,0 +1,531 @@
+package com.code.red.dictionary;
+
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * DAWG dictionary compiled into packed primitive arrays.
+ *
+ * <p>Nodes are numbered in depth-first order, normally with the root at {@code 0}. The outgoing edges of node
+ * {@code n} occupy the slice {@code [edgeStart[n], edgeStart[n + 1])} of {@link #edgeLetters} and
+ * {@link #edgeTargets}, sorted by letter, so every traversal step is a short sequential scan over contiguous memory
+ * instead of a boxed {@code HashMap} lookup. {@link #wordCounts} holds the number of words below each node, which
+ * turns word/ordinal conversion and prefix counting into a single root-to-leaf walk.
+ *
+ * <p>The arrays are held as NIO buffers so the same engine can run either from heap arrays built at startup or
+ * directly from a memory-mapped {@link DictionaryImage}. Several dictionaries can share one set of buffers and
+ * differ only in their root node; see {@link DawgDictionary#toArrayDictionaries(List)}.
+ */
+public final class ArrayDawgDictionary implements WordDictionary, WordGraph {
+
+    private final IntBuffer edgeStart;
+    private final CharBuffer edgeLetters;
+    private final IntBuffer edgeTargets;
+    private final LongBuffer terminals;
+    private final IntBuffer wordCounts;
+    private final int root;
+
+    ArrayDawgDictionary(int[] edgeStart, char[] edgeLetters, int[] edgeTargets, long[] terminals,
+            int[] wordCounts) {
+        this(IntBuffer.wrap(edgeStart), CharBuffer.wrap(edgeLetters), IntBuffer.wrap(edgeTargets),
+                LongBuffer.wrap(terminals), IntBuffer.wrap(wordCounts));
+    }
+
+    ArrayDawgDictionary(IntBuffer edgeStart, CharBuffer edgeLetters, IntBuffer edgeTargets, LongBuffer terminals,
+            IntBuffer wordCounts) {
+        this(edgeStart, edgeLetters, edgeTargets, terminals, wordCounts, 0);
+    }
+
+    private ArrayDawgDictionary(IntBuffer edgeStart, CharBuffer edgeLetters, IntBuffer edgeTargets,
+            LongBuffer terminals, IntBuffer wordCounts, int root) {
+        this.edgeStart = edgeStart;
+        this.edgeLetters = edgeLetters;
+        this.edgeTargets = edgeTargets;
+        this.terminals = terminals;
+        this.wordCounts = wordCounts;
+        this.root = root;
+    }
+
+    /**
+     * A dictionary over the same buffers holding the words below {@code node}.
+     */
+    ArrayDawgDictionary withRoot(int node) {
+        if (node < 0 || node >= nodeCount()) {
+            throw new IllegalArgumentException("Root node out of range");
+        }
+        return new ArrayDawgDictionary(edgeStart, edgeLetters, edgeTargets, terminals, wordCounts, node);
+    }
+
+    /**
+     * Whether this dictionary and {@code other} read the same buffers, so the footprint is paid only once.
+     */
+    public boolean sharesStorageWith(ArrayDawgDictionary other) {
+        return edgeStart == other.edgeStart;
+    }
+
+    public static ArrayDawgDictionary fromSortedWords(List<String> words) {
+        return DawgDictionary.fromSortedWords(words).toArrayDictionary();
+    }
+
+    /**
+     * Nodes in the underlying arrays, including those of every dictionary sharing them.
+     */
+    public int nodeCount() {
+        return edgeStart.capacity() - 1;
+    }
+
+    public int edgeCount() {
+        return edgeLetters.capacity();
+    }
+
+    /**
+     * Approximate size of the packed arrays in bytes.
+     */
+    public long footprintBytes() {
+        return (long) edgeStart.capacity() * Integer.BYTES
+                + (long) edgeLetters.capacity() * Character.BYTES
+                + (long) edgeTargets.capacity() * Integer.BYTES
+                + (long) terminals.capacity() * Long.BYTES
+                + (long) wordCounts.capacity() * Integer.BYTES;
+    }
+
+    /**
+     * Whether the arrays live outside the heap (memory-mapped image) rather than in heap arrays.
+     */
+    public boolean isMapped() {
+        return edgeStart.isDirect();
+    }
+
+    IntBuffer edgeStart() {
+        return edgeStart.duplicate();
+    }
+
+    CharBuffer edgeLetters() {
+        return edgeLetters.duplicate();
+    }
+
+    IntBuffer edgeTargets() {
+        return edgeTargets.duplicate();
+    }
+
+    LongBuffer terminals() {
+        return terminals.duplicate();
+    }
+
+    IntBuffer wordCounts() {
+        return wordCounts.duplicate();
+    }
+
+    @Override
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+        int node = walk(word);
+        return node != NO_NODE && isTerminal(node);
+    }
+
+    @Override
+    public boolean isPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return true;
+        }
+        return walk(prefix) != NO_NODE;
+    }
+
+    @Override
+    public List<String> findByPrefix(String prefix, String after, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        String normalized = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        String resume = after == null ? null : after.toLowerCase(Locale.ROOT);
+        if (resume != null && !resume.startsWith(normalized)) {
+            throw new IllegalArgumentException("Resume point must start with the prefix");
+        }
+        int node = walk(normalized);
+        if (node == NO_NODE) {
+            return List.of();
+        }
+        List<String> results = new ArrayList<>(Math.min(limit, 16));
+        // Edges are stored in letter order, so a pre-order walk emits words already sorted.
+        StringBuilder word = new StringBuilder(normalized);
+        int base = normalized.length();
+        int[] nodes = new int[32];
+        int[] cursors = new int[32];
+        int depth = 0;
+        nodes[0] = node;
+        cursors[0] = edgeStart.get(node);
+        if (resume == null) {
+            if (isTerminal(node)) {
+                results.add(normalized);
+            }
+        } else {
+            // Rebuild the stack along the resume word with each cursor past the edge taken.
+            for (int i = base; i < resume.length(); i++) {
+                char letter = resume.charAt(i);
+                int end = edgeStart.get(node + 1);
+                int edge = edgeStart.get(node);
+                while (edge < end && edgeLetters.get(edge) < letter) {
+                    edge++;
+                }
+                cursors[depth] = edge;
+                if (edge == end || edgeLetters.get(edge) != letter) {
+                    break;
+                }
+                cursors[depth] = edge + 1;
+                node = edgeTargets.get(edge);
+                word.append(letter);
+                depth++;
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    cursors = Arrays.copyOf(cursors, depth * 2);
+                }
+                nodes[depth] = node;
+                cursors[depth] = edgeStart.get(node);
+            }
+        }
+        while (depth >= 0 && results.size() < limit) {
+            int current = nodes[depth];
+            int edge = cursors[depth];
+            if (edge >= edgeStart.get(current + 1)) {
+                depth--;
+                continue;
+            }
+            cursors[depth] = edge + 1;
+            int next = edgeTargets.get(edge);
+            word.setLength(base + depth);
+            word.append(edgeLetters.get(edge));
+            if (isTerminal(next)) {
+                results.add(word.toString());
+            }
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                cursors = Arrays.copyOf(cursors, depth * 2);
+            }
+            nodes[depth] = next;
+            cursors[depth] = edgeStart.get(next);
+        }
+        return results;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super CharSequence> visitor) {
+        // Same pre-order walk as findByPrefix, but one buffer serves every word.
+        StringBuilder word = new StringBuilder(32);
+        if (isTerminal(root)) {
+            visitor.accept(word);
+        }
+        int[] nodes = new int[32];
+        int[] cursors = new int[32];
+        int depth = 0;
+        nodes[0] = root;
+        cursors[0] = edgeStart.get(root);
+        while (depth >= 0) {
+            int current = nodes[depth];
+            int edge = cursors[depth];
+            if (edge >= edgeStart.get(current + 1)) {
+                depth--;
+                continue;
+            }
+            cursors[depth] = edge + 1;
+            int next = edgeTargets.get(edge);
+            word.setLength(depth);
+            word.append(edgeLetters.get(edge));
+            if (isTerminal(next)) {
+                visitor.accept(word);
+            }
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                cursors = Arrays.copyOf(cursors, depth * 2);
+            }
+            nodes[depth] = next;
+            cursors[depth] = edgeStart.get(next);
+        }
+    }
+
+    @Override
+    public List<String> findAnagrams(String letters, int limit) {
+        if (letters == null || letters.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String normalizedInput = letters.toLowerCase(Locale.ROOT);
+        int[] counts = new int[27];
+        for (int i = 0; i < normalizedInput.length(); i++) {
+            char ch = normalizedInput.charAt(i);
+            if (ch == '?') {
+                counts[26] += 1;
+            } else if (ch >= 'a' && ch <= 'z') {
+                counts[ch - 'a'] += 1;
+            }
+        }
+        Set<String> results = new HashSet<>();
+        collectAnagrams(root, new char[DawgDictionary.tileCount(counts)], 0, counts, results, limit);
+        List<String> ordered = new ArrayList<>(results);
+        Collections.sort(ordered);
+        return ordered;
+    }
+
+    @Override
+    public List<String> findByPattern(String pattern, String rack, int limit) {
+        WordPattern compiled = WordPattern.compile(pattern);
+        if (limit <= 0) {
+            return List.of();
+        }
+        int[] tiles = rack == null ? null : AlphagramIndex.rackCounts(rack);
+        long[] live = compiled.start(tiles);
+        List<String> results = new ArrayList<>();
+        if (live != null) {
+            matchPattern(root, compiled, live, new StringBuilder(), tiles, results, limit, new HashMap<>());
+        }
+        return results;
+    }
+
+    @Override
+    public int size() {
+        return wordCounts.get(root);
+    }
+
+    @Override
+    public int rank(String word) {
+        if (word == null || word.isEmpty()) {
+            return -1;
+        }
+        int node = root;
+        int ordinal = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (isTerminal(node)) {
+                ordinal++;
+            }
+            char letter = Character.toLowerCase(word.charAt(i));
+            int next = NO_NODE;
+            int end = edgeStart.get(node + 1);
+            for (int edge = edgeStart.get(node); edge < end; edge++) {
+                char label = edgeLetters.get(edge);
+                if (label >= letter) {
+                    if (label == letter) {
+                        next = edgeTargets.get(edge);
+                    }
+                    break;
+                }
+                ordinal += wordCounts.get(edgeTargets.get(edge));
+            }
+            if (next == NO_NODE) {
+                return -1;
+            }
+            node = next;
+        }
+        return isTerminal(node) ? ordinal : -1;
+    }
+
+    @Override
+    public String select(String prefix, int ordinal) {
+        String normalized = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        int node = walk(normalized);
+        if (node == NO_NODE || ordinal < 0 || ordinal >= wordCounts.get(node)) {
+            throw new IllegalArgumentException("Ordinal out of range");
+        }
+        StringBuilder word = new StringBuilder(normalized);
+        int remaining = ordinal;
+        while (true) {
+            if (isTerminal(node)) {
+                if (remaining == 0) {
+                    return word.toString();
+                }
+                remaining--;
+            }
+            int end = edgeStart.get(node + 1);
+            for (int edge = edgeStart.get(node); edge < end; edge++) {
+                int target = edgeTargets.get(edge);
+                int count = wordCounts.get(target);
+                if (remaining < count) {
+                    word.append(edgeLetters.get(edge));
+                    node = target;
+                    break;
+                }
+                remaining -= count;
+            }
+        }
+    }
+
+    @Override
+    public int countByPrefix(String prefix) {
+        int node = walk(prefix == null ? "" : prefix);
+        return node == NO_NODE ? 0 : wordCounts.get(node);
+    }
+
+    @Override
+    public int score(String word) {
+        if (word == null || word.isEmpty()) {
+            return 0;
+        }
+        String normalized = word.toLowerCase(Locale.ROOT);
+        int score = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            score += ScrabbleScore.valueFor(normalized.charAt(i));
+        }
+        return score;
+    }
+
+    @Override
+    public WordGraph graph() {
+        return this;
+    }
+
+    @Override
+    public int root() {
+        return root;
+    }
+
+    @Override
+    public int child(int node, char letter) {
+        int end = edgeStart.get(node + 1);
+        for (int edge = edgeStart.get(node); edge < end; edge++) {
+            char label = edgeLetters.get(edge);
+            if (label == letter) {
+                return edgeTargets.get(edge);
+            }
+            if (label > letter) {
+                return NO_NODE;
+            }
+        }
+        return NO_NODE;
+    }
+
+    int firstEdge(int node) {
+        return edgeStart.get(node);
+    }
+
+    int edgeEnd(int node) {
+        return edgeStart.get(node + 1);
+    }
+
+    char edgeLetter(int edge) {
+        return edgeLetters.get(edge);
+    }
+
+    int edgeTarget(int edge) {
+        return edgeTargets.get(edge);
+    }
+
+    @Override
+    public int childMask(int node) {
+        int mask = 0;
+        int end = edgeStart.get(node + 1);
+        for (int edge = edgeStart.get(node); edge < end; edge++) {
+            int index = edgeLetters.get(edge) - 'a';
+            if (index >= 0 && index < 26) {
+                mask |= 1 << index;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public boolean isTerminal(int node) {
+        return (terminals.get(node >>> 6) & (1L << node)) != 0;
+    }
+
+    private int walk(String value) {
+        int node = root;
+        for (int i = 0; i < value.length() && node != NO_NODE; i++) {
+            node = child(node, Character.toLowerCase(value.charAt(i)));
+        }
+        return node;
+    }
+
+    /**
+     * Depth-first anagram search that visits candidates in the same order as {@link DawgDictionary}: blank
+     * expansions before natural tiles, highest letter first. The word is built in {@code buffer} and tiles are
+     * consumed from {@code counts} in place.
+     */
+    private boolean collectAnagrams(int node, char[] buffer, int depth, int[] counts, Set<String> results,
+            int limit) {
+        if (depth > 0 && isTerminal(node) && results.add(new String(buffer, 0, depth))
+                && results.size() >= limit) {
+            return true;
+        }
+        int start = edgeStart.get(node);
+        int end = edgeStart.get(node + 1);
+        if (depth == buffer.length || start == end) {
+            return false;
+        }
+        if (counts[26] > 0) {
+            counts[26] -= 1;
+            for (int edge = end - 1; edge >= start; edge--) {
+                buffer[depth] = edgeLetters.get(edge);
+                if (collectAnagrams(edgeTargets.get(edge), buffer, depth + 1, counts, results, limit)) {
+                    counts[26] += 1;
+                    return true;
+                }
+            }
+            counts[26] += 1;
+        }
+        for (int edge = end - 1; edge >= start; edge--) {
+            char letter = edgeLetters.get(edge);
+            int index = letter - 'a';
+            if (index < 0 || index >= 26 || counts[index] == 0) {
+                continue;
+            }
+            counts[index] -= 1;
+            buffer[depth] = letter;
+            boolean done = collectAnagrams(edgeTargets.get(edge), buffer, depth + 1, counts, results, limit);
+            counts[index] += 1;
+            if (done) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pattern walk over the edges in letter order, carrying the pattern positions still live (see
+     * {@link WordPattern}), so words are found in lexicographic order and the walk stops after the first
+     * {@code limit}. Without a rack, the words below a node are fixed, so (node, live positions) states that matched
+     * nothing are remembered in {@code dead} and never expanded again; with a rack, positions the remaining tiles
+     * cannot pay for are dropped as the walk goes.
+     *
+     * @return whether any word matched at or below this state
+     */
+    private boolean matchPattern(int node, WordPattern pattern, long[] live, StringBuilder word, int[] rack,
+            List<String> results, int limit, Map<Integer, Set<Long>> dead) {
+        Set<Long> deadLive = rack == null ? dead.get(node) : null;
+        if (deadLive != null && deadLive.contains(live[0])) {
+            return false;
+        }
+        boolean found = false;
+        if (word.length() > 0 && isTerminal(node) && pattern.accepts(live)
+                && (rack == null || pattern.matches(word, rack))) {
+            results.add(word.toString());
+            found = true;
+        }
+        int end = edgeStart.get(node + 1);
+        for (int edge = edgeStart.get(node); edge < end && results.size() < limit; edge++) {
+            char letter = edgeLetters.get(edge);
+            long[] next = pattern.advance(live, letter, rack);
+            if (next == null) {
+                continue;
+            }
+            word.append(letter);
+            found |= matchPattern(edgeTargets.get(edge), pattern, next, word, rack, results, limit, dead);
+            word.setLength(word.length() - 1);
+        }
+        if (!found && rack == null && results.size() < limit) {
+            dead.computeIfAbsent(node, key -> new HashSet<>()).add(live[0]);
+        }
+        return found;
+    }
+}
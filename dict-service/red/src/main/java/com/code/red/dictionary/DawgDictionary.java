@@ -2,15 +2,20 @@ package com.code.red.dictionary;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 /**
  * Directed acyclic word graph (DAWG) backed dictionary.
@@ -18,18 +23,214 @@ import java.util.Set;
 public final class DawgDictionary implements WordDictionary {
 
     private final DawgNode root;
+    private volatile ArrayDawgDictionary graph;
 
     private DawgDictionary(DawgNode root) {
         this.root = root;
+        countWords(root);
+    }
+
+    /**
+     * Incremental DAWG construction from words supplied in lexicographical order. The word passed to
+     * {@link #add(CharSequence)} is copied as needed, so callers may reuse a mutable buffer between calls.
+     */
+    public interface Builder {
+
+        void add(CharSequence word);
+
+        DawgDictionary build();
+    }
+
+    public static Builder builder() {
+        return new DawgBuilder();
+    }
+
+    /**
+     * Builder producing the same minimal graph as {@link #builder()} using several cores: words are grouped by
+     * leading letter, each completed group is built into an independent sub-DAWG on {@code pool} while the caller
+     * keeps feeding the next one, and the sub-DAWGs are finally grafted under a common root and re-minimized so
+     * suffixes shared across groups are merged.
+     */
+    public static Builder parallelBuilder(ForkJoinPool pool) {
+        return new ParallelDawgBuilder(pool);
     }
 
     public static DawgDictionary fromSortedWords(List<String> words) {
-        DawgBuilder builder = new DawgBuilder();
+        Builder builder = builder();
+        for (String word : words) {
+            builder.add(word);
+        }
+        return builder.build();
+    }
+
+    public static DawgDictionary fromSortedWordsParallel(List<String> words, ForkJoinPool pool) {
+        Builder builder = parallelBuilder(pool);
+        for (String word : words) {
+            builder.add(word);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns whether both dictionaries have node-for-node identical graphs, i.e. there is a bijection between
+     * their nodes that preserves terminal flags and labelled edges.
+     */
+    public boolean isIsomorphicTo(DawgDictionary other) {
+        Map<DawgNode, DawgNode> forward = new IdentityHashMap<>();
+        Map<DawgNode, DawgNode> backward = new IdentityHashMap<>();
+        Deque<DawgNode[]> stack = new ArrayDeque<>();
+        forward.put(root, other.root);
+        backward.put(other.root, root);
+        stack.push(new DawgNode[] { root, other.root });
+        while (!stack.isEmpty()) {
+            DawgNode[] pair = stack.pop();
+            DawgNode left = pair[0];
+            DawgNode right = pair[1];
+            if (left.isTerminal() != right.isTerminal() || !left.hasSameLetters(right)) {
+                return false;
+            }
+            for (int edge = 0; edge < left.childCount(); edge++) {
+                DawgNode leftChild = left.childAt(edge);
+                DawgNode rightChild = right.childAt(edge);
+                DawgNode mapped = forward.get(leftChild);
+                DawgNode reverse = backward.get(rightChild);
+                if (mapped == null && reverse == null) {
+                    forward.put(leftChild, rightChild);
+                    backward.put(rightChild, leftChild);
+                    stack.push(new DawgNode[] { leftChild, rightChild });
+                } else if (mapped != rightChild || reverse != leftChild) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int leadingLetter(CharSequence word) {
+        return word.isEmpty() ? -1 : word.charAt(0);
+    }
+
+    private static DawgNode buildPartition(List<String> words, Map<NodeSignature, DawgNode> registry) {
+        DawgBuilder builder = new DawgBuilder(registry);
         for (String word : words) {
-            builder.insert(word);
+            builder.add(word);
         }
         builder.finish();
-        return new DawgDictionary(builder.getRoot());
+        return builder.getRoot();
+    }
+
+    /**
+     * Re-minimizes several graphs against one node registry so that every subgraph they have in common, typically
+     * the long tails of related word lists, is stored once. Each returned dictionary holds exactly the words of the
+     * one at the same position; the inputs should not be used afterwards because their nodes are relinked.
+     */
+    public static List<DawgDictionary> share(List<DawgDictionary> dictionaries) {
+        Map<NodeSignature, DawgNode> registry = new HashMap<>();
+        List<DawgDictionary> shared = new ArrayList<>(dictionaries.size());
+        for (DawgDictionary dictionary : dictionaries) {
+            shared.add(new DawgDictionary(minimize(dictionary.root, registry)));
+        }
+        return shared;
+    }
+
+    /**
+     * Bottom-up re-minimization: every node is visited after its children, its edges are redirected to the
+     * canonical children, and it is then replaced by a node already in {@code registry} with the same terminal flag
+     * and edges if one exists.
+     */
+    private static DawgNode minimize(DawgNode root, Map<NodeSignature, DawgNode> registry) {
+        Map<DawgNode, DawgNode> canonical = new IdentityHashMap<>();
+        Map<DawgNode, Boolean> expanded = new IdentityHashMap<>();
+        Deque<DawgNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            DawgNode node = stack.peek();
+            if (canonical.containsKey(node)) {
+                stack.pop();
+                continue;
+            }
+            if (expanded.put(node, Boolean.TRUE) == null) {
+                for (int edge = 0; edge < node.childCount(); edge++) {
+                    if (!canonical.containsKey(node.childAt(edge))) {
+                        stack.push(node.childAt(edge));
+                    }
+                }
+                continue;
+            }
+            stack.pop();
+            for (int edge = 0; edge < node.childCount(); edge++) {
+                node.setChildAt(edge, canonical.get(node.childAt(edge)));
+            }
+            DawgNode registered = registry.computeIfAbsent(new NodeSignature(node), signature -> node);
+            canonical.put(node, registered);
+        }
+        return canonical.get(root);
+    }
+
+    /**
+     * Compiles this graph into the packed {@link ArrayDawgDictionary} layout. Nodes are numbered in depth-first
+     * pre-order so that a node and its first child usually sit next to each other in the edge arrays.
+     */
+    public ArrayDawgDictionary toArrayDictionary() {
+        return toArrayDictionaries(List.of(this)).get(0);
+    }
+
+    /**
+     * Compiles several graphs into one set of packed arrays, one {@link ArrayDawgDictionary} per graph differing
+     * only in its root. Nodes the graphs share, as after {@link #share(List)}, are numbered and stored once.
+     */
+    public static List<ArrayDawgDictionary> toArrayDictionaries(List<DawgDictionary> dictionaries) {
+        Map<DawgNode, Integer> ids = new IdentityHashMap<>();
+        List<DawgNode> order = new ArrayList<>();
+        Deque<DawgNode> stack = new ArrayDeque<>();
+        int edgeCount = 0;
+        for (DawgDictionary dictionary : dictionaries) {
+            stack.push(dictionary.root);
+            while (!stack.isEmpty()) {
+                DawgNode node = stack.pop();
+                if (ids.containsKey(node)) {
+                    continue;
+                }
+                ids.put(node, order.size());
+                order.add(node);
+                edgeCount += node.childCount();
+                for (int edge = node.childCount() - 1; edge >= 0; edge--) {
+                    DawgNode child = node.childAt(edge);
+                    if (!ids.containsKey(child)) {
+                        stack.push(child);
+                    }
+                }
+            }
+        }
+        int[] edgeStart = new int[order.size() + 1];
+        char[] edgeLetters = new char[edgeCount];
+        int[] edgeTargets = new int[edgeCount];
+        long[] terminals = new long[(order.size() + 63) >>> 6];
+        int edge = 0;
+        for (int id = 0; id < order.size(); id++) {
+            DawgNode node = order.get(id);
+            edgeStart[id] = edge;
+            if (node.isTerminal()) {
+                terminals[id >>> 6] |= 1L << id;
+            }
+            for (int child = 0; child < node.childCount(); child++) {
+                edgeLetters[edge] = node.letterAt(child);
+                edgeTargets[edge] = ids.get(node.childAt(child));
+                edge++;
+            }
+        }
+        edgeStart[order.size()] = edge;
+        int[] wordCounts = new int[order.size()];
+        for (int id = 0; id < order.size(); id++) {
+            wordCounts[id] = order.get(id).wordCount;
+        }
+        ArrayDawgDictionary packed = new ArrayDawgDictionary(edgeStart, edgeLetters, edgeTargets, terminals,
+                wordCounts);
+        List<ArrayDawgDictionary> result = new ArrayList<>(dictionaries.size());
+        for (DawgDictionary dictionary : dictionaries) {
+            result.add(packed.withRoot(ids.get(dictionary.root)));
+        }
+        return result;
     }
 
     @Override
@@ -67,38 +268,111 @@ public final class DawgDictionary implements WordDictionary {
     }
 
     @Override
-    public List<String> findByPrefix(String prefix, int limit) {
+    public List<String> findByPrefix(String prefix, String after, int limit) {
         if (limit <= 0) {
             return List.of();
         }
         String normalized = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
-        DawgNode node = root;
-        for (int i = 0; i < normalized.length(); i++) {
-            char ch = normalized.charAt(i);
-            node = node.child(ch);
-            if (node == null) {
-                return List.of();
-            }
+        String resume = after == null ? null : after.toLowerCase(Locale.ROOT);
+        if (resume != null && !resume.startsWith(normalized)) {
+            throw new IllegalArgumentException("Resume point must start with the prefix");
+        }
+        DawgNode node = find(normalized);
+        if (node == null) {
+            return List.of();
         }
         List<String> results = new ArrayList<>(Math.min(limit, 16));
-        Deque<DawgTraversalState> stack = new ArrayDeque<>();
-        stack.push(new DawgTraversalState(node, normalized));
-        while (!stack.isEmpty() && results.size() < limit) {
-            DawgTraversalState state = stack.pop();
-            if (state.node.isTerminal()) {
-                results.add(state.word);
-                if (results.size() >= limit) {
+        // Children are kept in letter order, so a pre-order walk emits words already sorted.
+        StringBuilder word = new StringBuilder(normalized);
+        int base = normalized.length();
+        DawgNode[] nodes = new DawgNode[32];
+        int[] cursors = new int[32];
+        int depth = 0;
+        nodes[0] = node;
+        if (resume == null) {
+            if (node.isTerminal()) {
+                results.add(normalized);
+            }
+        } else {
+            // Rebuild the traversal stack along the resume word, each frame positioned past the edge taken, so
+            // the walk continues with the first word after it instead of re-enumerating earlier ones.
+            for (int i = base; i < resume.length(); i++) {
+                char letter = resume.charAt(i);
+                int edge = node.lowerBound(letter);
+                cursors[depth] = edge;
+                if (edge == node.childCount() || node.letterAt(edge) != letter) {
                     break;
                 }
+                cursors[depth] = edge + 1;
+                node = node.childAt(edge);
+                word.append(letter);
+                depth++;
+                if (depth == nodes.length) {
+                    nodes = Arrays.copyOf(nodes, depth * 2);
+                    cursors = Arrays.copyOf(cursors, depth * 2);
+                }
+                nodes[depth] = node;
+                cursors[depth] = 0;
+            }
+        }
+        while (depth >= 0 && results.size() < limit) {
+            DawgNode current = nodes[depth];
+            int edge = cursors[depth];
+            if (edge >= current.childCount()) {
+                depth--;
+                continue;
+            }
+            cursors[depth] = edge + 1;
+            DawgNode next = current.childAt(edge);
+            word.setLength(base + depth);
+            word.append(current.letterAt(edge));
+            if (next.isTerminal()) {
+                results.add(word.toString());
             }
-            List<Map.Entry<Character, DawgNode>> entries = state.node.childrenEntries();
-            entries.sort((left, right) -> Character.compare(right.getKey(), left.getKey()));
-            for (Map.Entry<Character, DawgNode> entry : entries) {
-                stack.push(new DawgTraversalState(entry.getValue(), state.word + entry.getKey()));
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                cursors = Arrays.copyOf(cursors, depth * 2);
             }
+            nodes[depth] = next;
+            cursors[depth] = 0;
+        }
+        return results;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super CharSequence> visitor) {
+        // Same pre-order walk as findByPrefix, but one buffer serves every word.
+        StringBuilder word = new StringBuilder(32);
+        if (root.isTerminal()) {
+            visitor.accept(word);
+        }
+        DawgNode[] nodes = new DawgNode[32];
+        int[] cursors = new int[32];
+        int depth = 0;
+        nodes[0] = root;
+        while (depth >= 0) {
+            DawgNode current = nodes[depth];
+            int edge = cursors[depth];
+            if (edge >= current.childCount()) {
+                depth--;
+                continue;
+            }
+            cursors[depth] = edge + 1;
+            DawgNode next = current.childAt(edge);
+            word.setLength(depth);
+            word.append(current.letterAt(edge));
+            if (next.isTerminal()) {
+                visitor.accept(word);
+            }
+            depth++;
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                cursors = Arrays.copyOf(cursors, depth * 2);
+            }
+            nodes[depth] = next;
+            cursors[depth] = 0;
         }
-        Collections.sort(results);
-        return results.size() > limit ? results.subList(0, limit) : results;
     }
 
     @Override
@@ -117,43 +391,93 @@ public final class DawgDictionary implements WordDictionary {
             }
         }
         Set<String> results = new HashSet<>();
-        Deque<AnagramState> stack = new ArrayDeque<>();
-        stack.push(new AnagramState("", counts, counts[26]));
-        while (!stack.isEmpty() && results.size() < limit) {
-            AnagramState state = stack.pop();
-            if (!state.prefix().isEmpty() && contains(state.prefix())) {
-                results.add(state.prefix());
-                if (results.size() >= limit) {
-                    break;
+        collectAnagrams(root, new char[tileCount(counts)], 0, counts, results, limit);
+        List<String> ordered = new ArrayList<>(results);
+        Collections.sort(ordered);
+        return ordered.size() > limit ? ordered.subList(0, limit) : ordered;
+    }
+
+    @Override
+    public List<String> findByPattern(String pattern, String rack, int limit) {
+        WordPattern compiled = WordPattern.compile(pattern);
+        if (limit <= 0) {
+            return List.of();
+        }
+        int[] tiles = rack == null ? null : AlphagramIndex.rackCounts(rack);
+        long[] live = compiled.start(tiles);
+        List<String> results = new ArrayList<>();
+        if (live != null) {
+            matchPattern(root, compiled, live, new StringBuilder(), tiles, results, limit, new IdentityHashMap<>());
+        }
+        return results;
+    }
+
+    @Override
+    public int size() {
+        return root.wordCount;
+    }
+
+    @Override
+    public int rank(String word) {
+        if (word == null || word.isEmpty()) {
+            return -1;
+        }
+        String normalized = word.toLowerCase(Locale.ROOT);
+        int ordinal = ordinalBefore(normalized);
+        return ordinal >= 0 && contains(normalized) ? ordinal : -1;
+    }
+
+    @Override
+    public String select(String prefix, int ordinal) {
+        String normalized = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        DawgNode node = find(normalized);
+        if (node == null || ordinal < 0 || ordinal >= node.wordCount) {
+            throw new IllegalArgumentException("Ordinal out of range");
+        }
+        StringBuilder word = new StringBuilder(normalized);
+        int remaining = ordinal;
+        while (true) {
+            if (node.isTerminal()) {
+                if (remaining == 0) {
+                    return word.toString();
                 }
+                remaining--;
             }
-            for (int i = 0; i < 26; i++) {
-                if (state.counts()[i] == 0) {
-                    continue;
-                }
-                char letter = (char) ('a' + i);
-                String nextWord = state.prefix() + letter;
-                if (!isPrefix(nextWord)) {
-                    continue;
+            for (int edge = 0; edge < node.childCount(); edge++) {
+                DawgNode child = node.childAt(edge);
+                if (remaining < child.wordCount) {
+                    word.append(node.letterAt(edge));
+                    node = child;
+                    break;
                 }
-                int[] nextCounts = state.cloneCounts();
-                nextCounts[i] -= 1;
-                stack.push(new AnagramState(nextWord, nextCounts, state.blanks()));
-            }
-            if (state.blanks() > 0) {
-                for (int i = 0; i < 26; i++) {
-                    char letter = (char) ('a' + i);
-                    String nextWord = state.prefix() + letter;
-                    if (!isPrefix(nextWord)) {
-                        continue;
-                    }
-                    stack.push(new AnagramState(nextWord, state.cloneCounts(), state.blanks() - 1));
+                remaining -= child.wordCount;
+            }
+        }
+    }
+
+    @Override
+    public int countByPrefix(String prefix) {
+        DawgNode node = find(prefix == null ? "" : prefix.toLowerCase(Locale.ROOT));
+        return node == null ? 0 : node.wordCount;
+    }
+
+    /**
+     * Node-level traversal needs int node ids, so the pointer graph is compiled once into the packed layout on
+     * first use.
+     */
+    @Override
+    public WordGraph graph() {
+        ArrayDawgDictionary compiled = graph;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = graph;
+                if (compiled == null) {
+                    compiled = toArrayDictionary();
+                    graph = compiled;
                 }
             }
         }
-        List<String> ordered = new ArrayList<>(results);
-        Collections.sort(ordered);
-        return ordered.size() > limit ? ordered.subList(0, limit) : ordered;
+        return compiled;
     }
 
     @Override
@@ -169,30 +493,232 @@ public final class DawgDictionary implements WordDictionary {
         return score;
     }
 
-    private record DawgTraversalState(DawgNode node, String word) {
+    private DawgNode find(String normalized) {
+        DawgNode node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        return node;
     }
 
-    private record AnagramState(String prefix, int[] counts, int blanks) {
-        int[] cloneCounts() {
-            int[] copy = new int[counts.length];
-            System.arraycopy(counts, 0, copy, 0, counts.length);
-            return copy;
+    /**
+     * Number of words lexicographically smaller than {@code value}, or {@code -1} if no word starts with it.
+     */
+    private int ordinalBefore(String value) {
+        DawgNode node = root;
+        int ordinal = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (node.isTerminal()) {
+                ordinal++;
+            }
+            char letter = value.charAt(i);
+            for (int edge = 0; edge < node.childCount() && node.letterAt(edge) < letter; edge++) {
+                ordinal += node.childAt(edge).wordCount;
+            }
+            node = node.child(letter);
+            if (node == null) {
+                return -1;
+            }
         }
+        return ordinal;
     }
 
-    private static final class DawgBuilder {
+    /**
+     * Annotates every node with the number of words in its subgraph (post-order, each shared node once).
+     */
+    private static void countWords(DawgNode root) {
+        Deque<DawgNode> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            DawgNode node = stack.peek();
+            if (node.wordCount >= 0) {
+                stack.pop();
+                continue;
+            }
+            boolean ready = true;
+            for (int edge = 0; edge < node.childCount(); edge++) {
+                if (node.childAt(edge).wordCount < 0) {
+                    stack.push(node.childAt(edge));
+                    ready = false;
+                }
+            }
+            if (ready) {
+                stack.pop();
+                node.trim();
+                int count = node.isTerminal() ? 1 : 0;
+                for (int edge = 0; edge < node.childCount(); edge++) {
+                    count += node.childAt(edge).wordCount;
+                }
+                node.wordCount = count;
+            }
+        }
+    }
+
+    static int tileCount(int[] counts) {
+        int tiles = 0;
+        for (int count : counts) {
+            tiles += count;
+        }
+        return tiles;
+    }
+
+    /**
+     * Depth-first anagram search that follows DAWG edges directly instead of re-walking each prefix from the root.
+     * The word under construction lives in {@code buffer} and tiles are taken from and returned to {@code counts}
+     * in place, so the only allocations are the result strings. Blank expansions are visited before natural
+     * tiles, highest letter first; duplicates reached through different blank assignments collapse in
+     * {@code results} and do not count towards {@code limit}.
+     */
+    private static boolean collectAnagrams(DawgNode node, char[] buffer, int depth, int[] counts,
+            Set<String> results, int limit) {
+        if (depth > 0 && node.isTerminal() && results.add(new String(buffer, 0, depth))
+                && results.size() >= limit) {
+            return true;
+        }
+        if (depth == buffer.length || node.childCount() == 0) {
+            return false;
+        }
+        if (counts[26] > 0) {
+            counts[26] -= 1;
+            for (char letter = 'z'; letter >= 'a'; letter--) {
+                DawgNode next = node.child(letter);
+                if (next == null) {
+                    continue;
+                }
+                buffer[depth] = letter;
+                if (collectAnagrams(next, buffer, depth + 1, counts, results, limit)) {
+                    counts[26] += 1;
+                    return true;
+                }
+            }
+            counts[26] += 1;
+        }
+        for (int index = 25; index >= 0; index--) {
+            if (counts[index] == 0) {
+                continue;
+            }
+            DawgNode next = node.child((char) ('a' + index));
+            if (next == null) {
+                continue;
+            }
+            counts[index] -= 1;
+            buffer[depth] = (char) ('a' + index);
+            boolean done = collectAnagrams(next, buffer, depth + 1, counts, results, limit);
+            counts[index] += 1;
+            if (done) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pattern walk over the edges in letter order, carrying the pattern positions still live (see
+     * {@link WordPattern}), so words are found in lexicographic order and the walk stops after the first
+     * {@code limit}. Without a rack, the words below a node are fixed, so (node, live positions) states that matched
+     * nothing are remembered in {@code dead} and never expanded again; with a rack, positions the remaining tiles
+     * cannot pay for are dropped as the walk goes.
+     *
+     * @return whether any word matched at or below this state
+     */
+    private static boolean matchPattern(DawgNode node, WordPattern pattern, long[] live, StringBuilder word,
+            int[] rack, List<String> results, int limit, Map<DawgNode, Set<Long>> dead) {
+        Set<Long> deadLive = rack == null ? dead.get(node) : null;
+        if (deadLive != null && deadLive.contains(live[0])) {
+            return false;
+        }
+        boolean found = false;
+        if (word.length() > 0 && node.isTerminal() && pattern.accepts(live)
+                && (rack == null || pattern.matches(word, rack))) {
+            results.add(word.toString());
+            found = true;
+        }
+        for (int edge = 0; edge < node.childCount() && results.size() < limit; edge++) {
+            char letter = node.letterAt(edge);
+            long[] next = pattern.advance(live, letter, rack);
+            if (next == null) {
+                continue;
+            }
+            word.append(letter);
+            found |= matchPattern(node.childAt(edge), pattern, next, word, rack, results, limit, dead);
+            word.setLength(word.length() - 1);
+        }
+        if (!found && rack == null && results.size() < limit) {
+            dead.computeIfAbsent(node, key -> new HashSet<>()).add(live[0]);
+        }
+        return found;
+    }
+
+    /**
+     * Registry key for a node whose children are already canonical, so children can be compared by identity
+     * instead of hashing and comparing whole subgraphs.
+     */
+    private static final class NodeSignature {
+        private final boolean terminal;
+        private final char[] letters;
+        private final DawgNode[] targets;
+        private final int hash;
+
+        NodeSignature(DawgNode node) {
+            this.terminal = node.isTerminal();
+            this.letters = Arrays.copyOf(node.letters, node.childCount());
+            this.targets = Arrays.copyOf(node.children, node.childCount());
+            int result = Boolean.hashCode(terminal);
+            for (int i = 0; i < letters.length; i++) {
+                result = 31 * (31 * result + letters[i]) + System.identityHashCode(targets[i]);
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NodeSignature other)) {
+                return false;
+            }
+            if (terminal != other.terminal || !Arrays.equals(letters, other.letters)) {
+                return false;
+            }
+            for (int i = 0; i < targets.length; i++) {
+                if (targets[i] != other.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class DawgBuilder implements Builder {
 
         private final DawgNode root = new DawgNode();
-        private final Map<DawgNode, DawgNode> registry = new HashMap<>();
-        private String previousWord = "";
+        // Nodes are registered bottom-up, so their children are already canonical and can be keyed by identity.
+        private final Map<NodeSignature, DawgNode> registry;
+        private final StringBuilder previousWord = new StringBuilder(32);
         private final List<DawgNode> previousNodes = new ArrayList<>();
 
         private DawgBuilder() {
+            this(new HashMap<>());
+        }
+
+        /**
+         * Builder registering its nodes in {@code registry}, which may be shared with other builders (and must then
+         * be concurrent); a node is never modified once registered.
+         */
+        private DawgBuilder(Map<NodeSignature, DawgNode> registry) {
+            this.registry = registry;
             previousNodes.add(root);
         }
 
-        void insert(String word) {
-            if (previousWord.compareTo(word) > 0) {
+        @Override
+        public void add(CharSequence word) {
+            if (CharSequence.compare(previousWord, word) > 0) {
                 throw new IllegalArgumentException("Words must be inserted in lexicographical order");
             }
             int commonPrefix = commonPrefixLength(previousWord, word);
@@ -207,7 +733,14 @@ public final class DawgDictionary implements WordDictionary {
                 previousNodes.add(node);
             }
             node.setTerminal(true);
-            previousWord = word;
+            previousWord.setLength(0);
+            previousWord.append(word);
+        }
+
+        @Override
+        public DawgDictionary build() {
+            finish();
+            return new DawgDictionary(root);
         }
 
         void finish() {
@@ -221,10 +754,8 @@ public final class DawgDictionary implements WordDictionary {
         private void replaceOrRegister(int index) {
             for (int i = previousNodes.size() - 1; i > index; i--) {
                 DawgNode node = previousNodes.get(i);
-                DawgNode registered = registry.get(node);
-                if (registered == null) {
-                    registry.put(node, node);
-                } else {
+                DawgNode registered = registry.putIfAbsent(new NodeSignature(node), node);
+                if (registered != null) {
                     DawgNode parent = previousNodes.get(i - 1);
                     char letter = previousWord.charAt(i - 1);
                     parent.putChild(letter, registered);
@@ -234,7 +765,7 @@ public final class DawgDictionary implements WordDictionary {
             }
         }
 
-        private static int commonPrefixLength(String a, String b) {
+        private static int commonPrefixLength(CharSequence a, CharSequence b) {
             int limit = Math.min(a.length(), b.length());
             for (int i = 0; i < limit; i++) {
                 if (a.charAt(i) != b.charAt(i)) {
@@ -245,44 +776,147 @@ public final class DawgDictionary implements WordDictionary {
         }
     }
 
+    /**
+     * Builds one sub-DAWG per leading letter on the pool. The partitions register their nodes in one concurrent
+     * registry, so a suffix subgraph built by one partition is found and reused by the others as they go; every
+     * registered node is canonical across all of them and the grafted graph is minimal without a second pass.
+     */
+    private static final class ParallelDawgBuilder implements Builder {
+
+        private final ForkJoinPool pool;
+        private final Map<NodeSignature, DawgNode> registry = new ConcurrentHashMap<>();
+        private final List<ForkJoinTask<DawgNode>> tasks = new ArrayList<>();
+        private final StringBuilder previousWord = new StringBuilder(32);
+        private List<String> partition = new ArrayList<>();
+
+        private ParallelDawgBuilder(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void add(CharSequence word) {
+            if (CharSequence.compare(previousWord, word) > 0) {
+                throw new IllegalArgumentException("Words must be inserted in lexicographical order");
+            }
+            if (!partition.isEmpty() && leadingLetter(previousWord) != leadingLetter(word)) {
+                submitPartition();
+            }
+            partition.add(word.toString());
+            previousWord.setLength(0);
+            previousWord.append(word);
+        }
+
+        @Override
+        public DawgDictionary build() {
+            submitPartition();
+            DawgNode root = new DawgNode();
+            for (ForkJoinTask<DawgNode> task : tasks) {
+                DawgNode partitionRoot = task.join();
+                if (partitionRoot.isTerminal()) {
+                    root.setTerminal(true);
+                }
+                for (int edge = 0; edge < partitionRoot.childCount(); edge++) {
+                    root.putChild(partitionRoot.letterAt(edge), partitionRoot.childAt(edge));
+                }
+            }
+            return new DawgDictionary(root);
+        }
+
+        private void submitPartition() {
+            if (partition.isEmpty()) {
+                return;
+            }
+            List<String> words = partition;
+            tasks.add(pool.submit(() -> buildPartition(words, registry)));
+            partition = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Graph node whose outgoing edges are kept sorted by letter in two parallel arrays. Words arrive in
+     * lexicographic order, so a new edge is almost always appended at the end; traversals read children in order
+     * without sorting or boxing.
+     */
     private static final class DawgNode {
-        private final Map<Character, DawgNode> children = new HashMap<>();
+        private static final char[] NO_LETTERS = new char[0];
+        private static final DawgNode[] NO_CHILDREN = new DawgNode[0];
+
+        private char[] letters = NO_LETTERS;
+        private DawgNode[] children = NO_CHILDREN;
+        private int childCount;
         private boolean terminal;
+        private int wordCount = -1;
 
-        DawgNode child(char letter) {
-            return children.get(letter);
+        int childCount() {
+            return childCount;
         }
 
-        void putChild(char letter, DawgNode node) {
-            children.put(letter, node);
+        char letterAt(int edge) {
+            return letters[edge];
         }
 
-        List<Map.Entry<Character, DawgNode>> childrenEntries() {
-            return new ArrayList<>(children.entrySet());
+        DawgNode childAt(int edge) {
+            return children[edge];
         }
 
-        boolean isTerminal() {
-            return terminal;
+        void setChildAt(int edge, DawgNode node) {
+            children[edge] = node;
         }
 
-        void setTerminal(boolean terminal) {
-            this.terminal = terminal;
+        /**
+         * Index of the first edge whose letter is not less than {@code letter}; {@link #childCount()} if none.
+         */
+        int lowerBound(char letter) {
+            int edge = 0;
+            while (edge < childCount && letters[edge] < letter) {
+                edge++;
+            }
+            return edge;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+        DawgNode child(char letter) {
+            int edge = lowerBound(letter);
+            return edge < childCount && letters[edge] == letter ? children[edge] : null;
+        }
+
+        void putChild(char letter, DawgNode node) {
+            int edge = lowerBound(letter);
+            if (edge < childCount && letters[edge] == letter) {
+                children[edge] = node;
+                return;
             }
-            if (!(o instanceof DawgNode other)) {
-                return false;
+            if (childCount == letters.length) {
+                int capacity = Math.max(2, childCount * 2);
+                letters = Arrays.copyOf(letters, capacity);
+                children = Arrays.copyOf(children, capacity);
             }
-            return terminal == other.terminal && Objects.equals(children, other.children);
+            System.arraycopy(letters, edge, letters, edge + 1, childCount - edge);
+            System.arraycopy(children, edge, children, edge + 1, childCount - edge);
+            letters[edge] = letter;
+            children[edge] = node;
+            childCount++;
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(children, terminal);
+        boolean hasSameLetters(DawgNode other) {
+            return Arrays.equals(letters, 0, childCount, other.letters, 0, other.childCount);
+        }
+
+        /**
+         * Drops spare edge capacity once the node is final.
+         */
+        void trim() {
+            if (letters.length != childCount) {
+                letters = childCount == 0 ? NO_LETTERS : Arrays.copyOf(letters, childCount);
+                children = childCount == 0 ? NO_CHILDREN : Arrays.copyOf(children, childCount);
+            }
+        }
+
+        boolean isTerminal() {
+            return terminal;
+        }
+
+        void setTerminal(boolean terminal) {
+            this.terminal = terminal;
         }
     }
 }
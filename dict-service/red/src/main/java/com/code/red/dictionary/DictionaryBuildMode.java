@@ -0,0 +1,20 @@
+package com.code.red.dictionary;
+
+/**
+ * How the DAWG is constructed when the dictionary is built from its text word list.
+ */
+public enum DictionaryBuildMode {
+    /**
+     * Single-threaded incremental construction.
+     */
+    SEQUENTIAL,
+    /**
+     * Partitioned construction across the common fork-join pool (see
+     * {@link DawgDictionary#fromSortedWordsParallel}).
+     */
+    PARALLEL,
+    /**
+     * Parallel construction checked node-for-node against a sequential build; fails startup on divergence.
+     */
+    VERIFY
+}
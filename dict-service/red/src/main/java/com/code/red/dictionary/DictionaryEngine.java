@@ -0,0 +1,15 @@
+package com.code.red.dictionary;
+
+/**
+ * In-memory representations available for the loaded lexicon.
+ */
+public enum DictionaryEngine {
+    /**
+     * Pointer-based DAWG with a {@code HashMap} of children per node.
+     */
+    DAWG,
+    /**
+     * Minimized DAWG compiled into packed primitive arrays (see {@link ArrayDawgDictionary}).
+     */
+    ARRAY
+}
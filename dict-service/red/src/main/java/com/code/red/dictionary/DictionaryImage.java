@@ -0,0 +1,337 @@
+package com.code.red.dictionary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Versioned, checksummed on-disk form of an {@link ArrayDawgDictionary}, or of several dictionaries sharing one
+ * set of arrays.
+ *
+ * <p>Layout (big-endian): a fixed {@value #HEADER_BYTES}-byte header followed by the terminal bitset, the
+ * per-node edge offsets, the edge targets, the per-node word counts, the root node of each dictionary and finally
+ * the edge letters. Sections are laid out so each one is naturally aligned, which lets
+ * {@link #map(Path, SourceFingerprint)} hand out typed views over a read-only mapping without copying anything onto
+ * the heap. Several JVMs mapping the same file share its pages through the OS page cache.
+ *
+ * <pre>
+ *  0  int   magic        "RDWG"
+ *  4  int   version
+ *  8  long  source length (bytes of the word list the image was built from)
+ * 16  int   source CRC32C
+ * 20  int   node count
+ * 24  int   edge count
+ * 28  int   payload CRC32C
+ * 32  int   root count
+ * 36  int   reserved
+ * </pre>
+ */
+public final class DictionaryImage {
+
+    private static final Logger log = LoggerFactory.getLogger(DictionaryImage.class);
+
+    static final int MAGIC = 0x52445747;
+    static final int VERSION = 3;
+    static final int HEADER_BYTES = 40;
+    private static final ByteOrder ORDER = ByteOrder.BIG_ENDIAN;
+
+    private DictionaryImage() {
+    }
+
+    /**
+     * Identifies the word list an image was compiled from, so a changed lexicon invalidates the image.
+     */
+    public record SourceFingerprint(long length, int crc) {
+
+        public static SourceFingerprint of(InputStream inputStream) throws IOException {
+            CRC32C crc = new CRC32C();
+            byte[] buffer = new byte[64 * 1024];
+            long length = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+            return new SourceFingerprint(length, (int) crc.getValue());
+        }
+
+        /**
+         * Fingerprint of several word lists taken in order; a single list keeps its own fingerprint.
+         */
+        public static SourceFingerprint combine(List<SourceFingerprint> sources) {
+            if (sources.size() == 1) {
+                return sources.get(0);
+            }
+            CRC32C crc = new CRC32C();
+            ByteBuffer entry = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+            long length = 0;
+            for (SourceFingerprint source : sources) {
+                crc.update(entry.clear().putLong(source.length()).putInt(source.crc()).flip());
+                length += source.length();
+            }
+            return new SourceFingerprint(length, (int) crc.getValue());
+        }
+    }
+
+    /**
+     * Writes {@code dictionary} to {@code target}. The image is written to a sibling temporary file and moved into
+     * place atomically so concurrent readers never observe a partial image.
+     */
+    public static void write(ArrayDawgDictionary dictionary, SourceFingerprint source, Path target)
+            throws IOException {
+        write(List.of(dictionary), source, target);
+    }
+
+    /**
+     * Writes dictionaries that share their arrays (see {@link DawgDictionary#toArrayDictionaries(List)}) as one
+     * image, storing the arrays once and each dictionary's root.
+     *
+     * @throws IllegalArgumentException if the dictionaries do not share storage
+     */
+    public static void write(List<ArrayDawgDictionary> dictionaries, SourceFingerprint source, Path target)
+            throws IOException {
+        ArrayDawgDictionary dictionary = dictionaries.get(0);
+        for (ArrayDawgDictionary other : dictionaries) {
+            if (!other.sharesStorageWith(dictionary)) {
+                throw new IllegalArgumentException("Dictionaries in one image must share their arrays");
+            }
+        }
+        int nodeCount = dictionary.nodeCount();
+        int edgeCount = dictionary.edgeCount();
+        LongBuffer terminals = dictionary.terminals();
+        IntBuffer edgeStart = dictionary.edgeStart();
+        IntBuffer edgeTargets = dictionary.edgeTargets();
+        IntBuffer wordCounts = dictionary.wordCounts();
+        CharBuffer edgeLetters = dictionary.edgeLetters();
+        long payloadBytes = (long) terminals.capacity() * Long.BYTES
+                + (long) edgeStart.capacity() * Integer.BYTES
+                + (long) edgeTargets.capacity() * Integer.BYTES
+                + (long) wordCounts.capacity() * Integer.BYTES
+                + (long) dictionaries.size() * Integer.BYTES
+                + (long) edgeLetters.capacity() * Character.BYTES;
+        if (HEADER_BYTES + payloadBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dictionary too large for image format");
+        }
+        ByteBuffer payload = ByteBuffer.allocate((int) payloadBytes).order(ORDER);
+        payload.asLongBuffer().put(terminals.rewind());
+        payload.position(terminals.capacity() * Long.BYTES);
+        IntBuffer ints = payload.asIntBuffer().put(edgeStart.rewind()).put(edgeTargets.rewind())
+                .put(wordCounts.rewind());
+        for (ArrayDawgDictionary each : dictionaries) {
+            ints.put(each.root());
+        }
+        payload.position(payload.position() + ints.position() * Integer.BYTES);
+        payload.asCharBuffer().put(edgeLetters.rewind());
+        payload.clear();
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(source.length())
+                .putInt(source.crc())
+                .putInt(nodeCount)
+                .putInt(edgeCount)
+                .putInt((int) crc.getValue())
+                .putInt(dictionaries.size())
+                .putInt(0)
+                .flip();
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (payload.hasRemaining()) {
+                    channel.write(payload);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps the image at {@code path} read-only. Returns empty when the file is missing, was built from a different
+     * word list, has an unknown version, fails its checksum or does not hold a well-formed graph, in which case the
+     * caller should rebuild from text. The checksums only catch damage, not a crafted file, so the graph is checked
+     * once here and queries never index out of the arrays or loop; keep images in a directory only the application
+     * can write.
+     */
+    public static Optional<ArrayDawgDictionary> map(Path path, SourceFingerprint expectedSource) {
+        return mapAll(path, expectedSource).map(dictionaries -> dictionaries.get(0));
+    }
+
+    /**
+     * Maps every dictionary stored in the image at {@code path}, in the order they were written, all reading the
+     * same mapping. Returns empty under the same conditions as {@link #map(Path, SourceFingerprint)}.
+     */
+    public static Optional<List<ArrayDawgDictionary>> mapAll(Path path, SourceFingerprint expectedSource) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring dictionary image {}: unexpected size {}", path, size);
+                return Optional.empty();
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ORDER);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                log.warn("Ignoring dictionary image {}: unsupported format", path);
+                return Optional.empty();
+            }
+            SourceFingerprint source = new SourceFingerprint(mapped.getLong(8), mapped.getInt(16));
+            if (!source.equals(expectedSource)) {
+                log.info("Ignoring stale dictionary image {}", path);
+                return Optional.empty();
+            }
+            int nodeCount = mapped.getInt(20);
+            int edgeCount = mapped.getInt(24);
+            int rootCount = mapped.getInt(32);
+            int terminalWords = (nodeCount + 63) >>> 6;
+            long expectedSize = HEADER_BYTES
+                    + (long) terminalWords * Long.BYTES
+                    + (long) (nodeCount + 1) * Integer.BYTES
+                    + (long) edgeCount * Integer.BYTES
+                    + (long) nodeCount * Integer.BYTES
+                    + (long) rootCount * Integer.BYTES
+                    + (long) edgeCount * Character.BYTES;
+            if (nodeCount <= 0 || edgeCount < 0 || rootCount <= 0 || expectedSize != size) {
+                log.warn("Ignoring dictionary image {}: truncated or corrupt", path);
+                return Optional.empty();
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(mapped.slice(HEADER_BYTES, (int) size - HEADER_BYTES));
+            if ((int) crc.getValue() != mapped.getInt(28)) {
+                log.warn("Ignoring dictionary image {}: checksum mismatch", path);
+                return Optional.empty();
+            }
+            int offset = HEADER_BYTES;
+            LongBuffer terminals = mapped.slice(offset, terminalWords * Long.BYTES).order(ORDER).asLongBuffer();
+            offset += terminalWords * Long.BYTES;
+            IntBuffer edgeStart = mapped.slice(offset, (nodeCount + 1) * Integer.BYTES).order(ORDER).asIntBuffer();
+            offset += (nodeCount + 1) * Integer.BYTES;
+            IntBuffer edgeTargets = mapped.slice(offset, edgeCount * Integer.BYTES).order(ORDER).asIntBuffer();
+            offset += edgeCount * Integer.BYTES;
+            IntBuffer wordCounts = mapped.slice(offset, nodeCount * Integer.BYTES).order(ORDER).asIntBuffer();
+            offset += nodeCount * Integer.BYTES;
+            IntBuffer roots = mapped.slice(offset, rootCount * Integer.BYTES).order(ORDER).asIntBuffer();
+            offset += rootCount * Integer.BYTES;
+            CharBuffer edgeLetters = mapped.slice(offset, edgeCount * Character.BYTES).order(ORDER).asCharBuffer();
+            String problem = checkGraph(nodeCount, edgeCount, edgeStart, edgeLetters, edgeTargets, terminals,
+                    wordCounts);
+            if (problem != null) {
+                log.warn("Ignoring dictionary image {}: {}", path, problem);
+                return Optional.empty();
+            }
+            ArrayDawgDictionary packed = new ArrayDawgDictionary(edgeStart, edgeLetters, edgeTargets, terminals,
+                    wordCounts);
+            List<ArrayDawgDictionary> dictionaries = new ArrayList<>(rootCount);
+            for (int i = 0; i < rootCount; i++) {
+                int root = roots.get(i);
+                if (root < 0 || root >= nodeCount) {
+                    log.warn("Ignoring dictionary image {}: root out of range", path);
+                    return Optional.empty();
+                }
+                dictionaries.add(packed.withRoot(root));
+            }
+            return Optional.of(dictionaries);
+        } catch (IOException e) {
+            log.warn("Failed to map dictionary image {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Checks that the edge offsets start at 0, never decrease and end at {@code edgeCount}, that every edge target
+     * is a node, that each node's letters are strictly increasing, and, by a post-order walk over every node, that
+     * the graph has no cycle and each word count is the node's own word plus its children's. Returns what is wrong,
+     * or {@code null}.
+     */
+    static String checkGraph(int nodeCount, int edgeCount, IntBuffer edgeStart, CharBuffer edgeLetters,
+            IntBuffer edgeTargets, LongBuffer terminals, IntBuffer wordCounts) {
+        if (edgeStart.get(0) != 0 || edgeStart.get(nodeCount) != edgeCount) {
+            return "edge offsets do not cover the edges";
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            int start = edgeStart.get(node);
+            int end = edgeStart.get(node + 1);
+            if (end < start) {
+                return "edge offsets decrease at node " + node;
+            }
+            for (int edge = start; edge < end; edge++) {
+                int target = edgeTargets.get(edge);
+                if (target < 0 || target >= nodeCount) {
+                    return "edge target out of range at edge " + edge;
+                }
+                if (edge > start && edgeLetters.get(edge) <= edgeLetters.get(edge - 1)) {
+                    return "edge letters out of order at node " + node;
+                }
+            }
+        }
+        byte[] state = new byte[nodeCount];
+        int[] nodes = new int[nodeCount];
+        int[] nextEdge = new int[nodeCount];
+        for (int start = 0; start < nodeCount; start++) {
+            if (state[start] != 0) {
+                continue;
+            }
+            int depth = 0;
+            nodes[0] = start;
+            nextEdge[0] = edgeStart.get(start);
+            state[start] = 1;
+            while (depth >= 0) {
+                int node = nodes[depth];
+                if (nextEdge[depth] < edgeStart.get(node + 1)) {
+                    int child = edgeTargets.get(nextEdge[depth]++);
+                    if (state[child] == 1) {
+                        return "cycle through node " + child;
+                    }
+                    if (state[child] == 0) {
+                        state[child] = 1;
+                        depth++;
+                        nodes[depth] = child;
+                        nextEdge[depth] = edgeStart.get(child);
+                    }
+                    continue;
+                }
+                long words = (terminals.get(node >>> 6) & (1L << node)) != 0 ? 1 : 0;
+                for (int edge = edgeStart.get(node); edge < edgeStart.get(node + 1); edge++) {
+                    words += wordCounts.get(edgeTargets.get(edge));
+                }
+                if (words != wordCounts.get(node)) {
+                    return "word count mismatch at node " + node;
+                }
+                state[node] = 2;
+                depth--;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.code.red.dictionary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.core.io.FileSystemResource;
+
+/**
+ * Command line entry point that compiles a word list into a {@link DictionaryImage}.
+ *
+ * <p>Usage: {@code DictionaryImageTool <word-list> <image>}. Also bound to the {@code dictionary-image} Maven
+ * profile.
+ */
+public final class DictionaryImageTool {
+
+    private DictionaryImageTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DictionaryImageTool <word-list> <image>");
+            System.exit(2);
+        }
+        DictionaryLoader loader = new DictionaryLoader(new FileSystemResource(args[0]),
+                DictionaryBuildMode.PARALLEL);
+        ArrayDawgDictionary packed = loader.load().toArrayDictionary();
+        Path image = Path.of(args[1]);
+        DictionaryImage.write(packed, loader.fingerprint(), image);
+        System.out.printf("Wrote %s (%d nodes, %d edges, %d KiB)%n", image, packed.nodeCount(), packed.edgeCount(),
+                packed.footprintBytes() / 1024);
+    }
+}
@@ -1,59 +1,330 @@
 package com.code.red.dictionary;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
+import com.code.red.config.ScrabbleProperties;
+
 @Component
 public class DictionaryLoader {
 
     private static final Logger log = LoggerFactory.getLogger(DictionaryLoader.class);
 
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
     private final Resource dictionaryResource;
+    private final DictionaryBuildMode buildMode;
 
-    public DictionaryLoader(@Value("${scrabble.dictionary-path:classpath:CSW24.txt}") Resource dictionaryResource) {
+    @Autowired
+    public DictionaryLoader(@Value("${scrabble.dictionary-path:classpath:CSW24.txt}") Resource dictionaryResource,
+            ScrabbleProperties properties) {
+        this(dictionaryResource, properties.getDictionaryBuildMode());
+    }
+
+    public DictionaryLoader(Resource dictionaryResource, DictionaryBuildMode buildMode) {
         this.dictionaryResource = dictionaryResource;
+        this.buildMode = buildMode;
+    }
+
+    public Resource getResource() {
+        return dictionaryResource;
     }
 
+    /**
+     * Streams the word list into a DAWG builder. Input is parsed as bytes straight from the resource channel into a
+     * reused buffer, so no per-line {@code String}s are created; when the list turns out not to be sorted the load is
+     * restarted through an in-memory sort.
+     */
     public DawgDictionary load() {
-        List<String> words = new ArrayList<>(256_000);
-        try (InputStream inputStream = dictionaryResource.getInputStream();
-                BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank() || line.startsWith("#")) {
-                    continue;
-                }
-                String word = extractWord(line);
-                if (!word.isEmpty()) {
-                    words.add(word.toLowerCase(Locale.ROOT));
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long allocatedBefore = allocatedBytes();
+        long started = System.nanoTime();
+
+        DawgDictionary.Builder builder = newBuilder();
+        SortedFeed feed = new SortedFeed(builder);
+        boolean presorted = scan(feed);
+        int wordCount = feed.count;
+        if (!presorted) {
+            log.info("Dictionary {} is not sorted; sorting in memory", dictionaryResource.getDescription());
+            List<String> words = new ArrayList<>(256_000);
+            scan(word -> words.add(word.toString()));
+            Collections.sort(words);
+            builder = newBuilder();
+            for (String word : words) {
+                builder.add(word);
+            }
+            wordCount = words.size();
+        }
+        DawgDictionary dictionary = builder.build();
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        long allocatedAfter = allocatedBytes();
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage peak = pool.getPeakUsage();
+            peakHeap += peak == null ? 0 : peak.getUsed();
+        }
+        log.info("Loaded {} words into DAWG dictionary ({} build, {} input, {} ms, {} words/s, {} MiB allocated, "
+                + "{} MiB peak heap)", wordCount, buildMode.name().toLowerCase(Locale.ROOT),
+                presorted ? "presorted" : "unsorted", elapsedNanos / 1_000_000,
+                wordCount * 1_000_000_000L / elapsedNanos,
+                allocatedBefore < 0 ? "n/a" : (allocatedAfter - allocatedBefore) >> 20, peakHeap >> 20);
+        return dictionary;
+    }
+
+    private DawgDictionary.Builder newBuilder() {
+        return switch (buildMode) {
+            case SEQUENTIAL -> DawgDictionary.builder();
+            case PARALLEL -> DawgDictionary.parallelBuilder(ForkJoinPool.commonPool());
+            case VERIFY -> new VerifyingBuilder();
+        };
+    }
+
+    /**
+     * Parses the word list and hands each word to {@code visitor} as a lowercased, reused buffer. Only the first
+     * whitespace-delimited token of a line is used; blank lines, lines starting with {@code #} or whitespace, and
+     * words containing non-ASCII bytes are skipped. Returns {@code false} if the visitor stopped the scan.
+     */
+    private boolean scan(WordVisitor visitor) {
+        try (ReadableByteChannel channel = dictionaryResource.readableChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            WordScanner scanner = new WordScanner(visitor);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    if (!scanner.accept(buffer.get())) {
+                        return false;
+                    }
                 }
+                buffer.clear();
             }
+            return scanner.finish();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load dictionary", e);
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+                .toList();
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Loads the packed dictionary from the precompiled image at {@code imagePath} when it matches the configured
+     * word list, otherwise builds it from text and, if {@code writeImage} is set, refreshes the image for the next
+     * start.
+     */
+    public ArrayDawgDictionary loadPacked(Path imagePath, boolean writeImage) {
+        return loadPacked(List.of(this), imagePath, writeImage).get(0);
+    }
+
+    /**
+     * Loads each word list and re-minimizes the graphs together, so subgraphs the lists have in common are stored
+     * once. The result is in the order of {@code loaders}.
+     */
+    public static List<DawgDictionary> loadShared(List<DictionaryLoader> loaders) {
+        List<DawgDictionary> dictionaries = new ArrayList<>(loaders.size());
+        for (DictionaryLoader loader : loaders) {
+            dictionaries.add(loader.load());
+        }
+        return dictionaries.size() == 1 ? dictionaries : DawgDictionary.share(dictionaries);
+    }
+
+    /**
+     * Packed form of {@link #loadShared(List)}: one set of arrays with a root per word list. The set is mapped from
+     * the image at {@code imagePath} when that was built from the same lists in the same order, otherwise it is built
+     * from text and, if {@code writeImage} is set, written back as a single image.
+     */
+    public static List<ArrayDawgDictionary> loadPacked(List<DictionaryLoader> loaders, Path imagePath,
+            boolean writeImage) {
+        List<DictionaryImage.SourceFingerprint> sources = new ArrayList<>(loaders.size());
+        for (DictionaryLoader loader : loaders) {
+            sources.add(loader.fingerprint());
+        }
+        DictionaryImage.SourceFingerprint source = DictionaryImage.SourceFingerprint.combine(sources);
+        long started = System.nanoTime();
+        Optional<List<ArrayDawgDictionary>> mapped = DictionaryImage.mapAll(imagePath, source)
+                .filter(dictionaries -> dictionaries.size() == loaders.size());
+        if (mapped.isPresent()) {
+            log.info("Mapped dictionary image {} in {} ms", imagePath, (System.nanoTime() - started) / 1_000_000);
+            return mapped.get();
+        }
+        List<ArrayDawgDictionary> packed = DawgDictionary.toArrayDictionaries(loadShared(loaders));
+        if (writeImage) {
+            try {
+                DictionaryImage.write(packed, source, imagePath);
+                log.info("Wrote dictionary image {}", imagePath);
+            } catch (IOException e) {
+                log.warn("Failed to write dictionary image {}", imagePath, e);
+            }
+        }
+        return packed;
+    }
+
+    public DictionaryImage.SourceFingerprint fingerprint() {
+        try (InputStream inputStream = dictionaryResource.getInputStream()) {
+            return DictionaryImage.SourceFingerprint.of(inputStream);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to load dictionary", e);
         }
-        Collections.sort(words);
-        log.info("Loaded {} words into DAWG dictionary", words.size());
-        return DawgDictionary.fromSortedWords(words);
     }
 
-    private static String extractWord(String line) {
-        int index = 0;
-        while (index < line.length() && !Character.isWhitespace(line.charAt(index))) {
-            index++;
+    @FunctionalInterface
+    private interface WordVisitor {
+
+        boolean accept(CharSequence word);
+    }
+
+    /**
+     * Feeds both builders and fails the build unless the parallel graph is node-for-node equal to the sequential one.
+     */
+    private static final class VerifyingBuilder implements DawgDictionary.Builder {
+
+        private final DawgDictionary.Builder parallel = DawgDictionary.parallelBuilder(ForkJoinPool.commonPool());
+        private final DawgDictionary.Builder sequential = DawgDictionary.builder();
+
+        @Override
+        public void add(CharSequence word) {
+            parallel.add(word);
+            sequential.add(word);
+        }
+
+        @Override
+        public DawgDictionary build() {
+            DawgDictionary result = parallel.build();
+            if (!result.isIsomorphicTo(sequential.build())) {
+                throw new IllegalStateException("Parallel DAWG build diverged from sequential build");
+            }
+            log.info("Parallel DAWG build verified against sequential build");
+            return result;
+        }
+    }
+
+    /**
+     * Feeds words to the builder for as long as they arrive in lexicographical order.
+     */
+    private static final class SortedFeed implements WordVisitor {
+
+        private final DawgDictionary.Builder builder;
+        private final StringBuilder previous = new StringBuilder(32);
+        private int count;
+
+        private SortedFeed(DawgDictionary.Builder builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public boolean accept(CharSequence word) {
+            if (CharSequence.compare(previous, word) > 0) {
+                return false;
+            }
+            builder.add(word);
+            previous.setLength(0);
+            previous.append(word);
+            count++;
+            return true;
+        }
+    }
+
+    /**
+     * Byte-level line parser; state survives across buffer refills.
+     */
+    private static final class WordScanner {
+
+        private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+        private final WordVisitor visitor;
+        private final StringBuilder word = new StringBuilder(32);
+        private int bomIndex;
+        private boolean atLineStart = true;
+        private boolean skipLine;
+        private boolean nonAscii;
+
+        private WordScanner(WordVisitor visitor) {
+            this.visitor = visitor;
+        }
+
+        boolean accept(byte b) {
+            if (bomIndex >= 0) {
+                if (b == UTF8_BOM[bomIndex]) {
+                    bomIndex = bomIndex + 1 == UTF8_BOM.length ? -1 : bomIndex + 1;
+                    return true;
+                }
+                if (bomIndex > 0) {
+                    // A partial byte-order mark is just a non-ASCII word start.
+                    atLineStart = false;
+                    nonAscii = true;
+                }
+                bomIndex = -1;
+            }
+            if (b == '\n') {
+                return endLine();
+            }
+            if (skipLine) {
+                return true;
+            }
+            boolean whitespace = b >= 0 && b <= ' ';
+            if (atLineStart) {
+                atLineStart = false;
+                if (b == '#' || whitespace) {
+                    skipLine = true;
+                    return true;
+                }
+            }
+            if (whitespace) {
+                skipLine = true;
+            } else if (b < 0) {
+                nonAscii = true;
+            } else {
+                word.append((char) (b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b));
+            }
+            return true;
+        }
+
+        boolean finish() {
+            return endLine();
+        }
+
+        private boolean endLine() {
+            boolean proceed = true;
+            if (!word.isEmpty() && !nonAscii) {
+                proceed = visitor.accept(word);
+            }
+            word.setLength(0);
+            atLineStart = true;
+            skipLine = false;
+            nonAscii = false;
+            return proceed;
         }
-        return line.substring(0, index);
     }
 }
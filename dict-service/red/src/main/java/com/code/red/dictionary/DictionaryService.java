@@ -1,38 +1,146 @@
 package com.code.red.dictionary;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.code.red.config.ScrabbleProperties;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Word queries against a lexicon chosen per call by id; a {@code null} id selects the default lexicon. Anagram and
+ * prefix searches go through {@link QueryCache}s keyed by lexicon version and canonical query, which are emptied
+ * whenever a reload publishes new lexicons.
+ */
 @Service
 public class DictionaryService {
 
-    private final WordDictionary dictionary;
+    private static final int PARALLEL_BATCH_THRESHOLD = 4096;
+
+    /**
+     * Longest rack searched with the sequential walk on the request thread; longer racks go to
+     * {@link ParallelAnagramSearch} under the configured time budget.
+     */
+    private static final int SEQUENTIAL_ANAGRAM_LETTERS = 8;
+
+    private final LexiconRegistry lexicons;
     private final ScrabbleProperties properties;
+    private final ParallelAnagramSearch anagramSearch;
+    private final QueryCache<AnagramQuery, AnagramResult> anagramCache;
+    private final QueryCache<PrefixQuery, List<String>> prefixCache;
 
-    public DictionaryService(WordDictionary dictionary, ScrabbleProperties properties) {
-        this.dictionary = dictionary;
+    public DictionaryService(LexiconRegistry lexicons, ScrabbleProperties properties,
+            ParallelAnagramSearch anagramSearch, MeterRegistry meterRegistry) {
+        this.lexicons = lexicons;
         this.properties = properties;
+        this.anagramSearch = anagramSearch;
+        if (!properties.isQueryCacheEnabled()) {
+            this.anagramCache = null;
+            this.prefixCache = null;
+            return;
+        }
+        this.anagramCache = new QueryCache<>(properties.getQueryCacheMaxEntries(),
+                properties.getQueryCacheMaxWeight(), result -> weigh(result.words()), AnagramResult::complete);
+        this.prefixCache = new QueryCache<>(properties.getQueryCacheMaxEntries(),
+                properties.getQueryCacheMaxWeight(), DictionaryService::weigh);
+        new QueryCacheMetrics(anagramCache, "dictionary.anagrams", Tags.empty()).bindTo(meterRegistry);
+        new QueryCacheMetrics(prefixCache, "dictionary.prefix", Tags.empty()).bindTo(meterRegistry);
+        lexicons.addListener(published -> {
+            anagramCache.invalidateAll();
+            prefixCache.invalidateAll();
+        });
     }
 
-    public boolean exists(String word) {
+    public boolean exists(String lexicon, String word) {
         String normalized = normalizeWord(word);
         validateLetters(normalized);
-        return dictionary.contains(normalized);
+        return dictionary(lexicon).contains(normalized);
     }
 
-    public List<String> prefix(String prefix, Integer limit) {
+    /**
+     * Checks a batch of words in one pass: bit {@code i} of the result is set when the {@code i}-th word is in the
+     * dictionary. Case is ignored, and entries that are empty or not purely alphabetic are reported as absent
+     * instead of failing the batch. Large batches are split into 64-word blocks on the common fork-join pool; each
+     * block fills one {@code long} of the bitmap, so workers never write to the same word.
+     *
+     * @throws IllegalArgumentException if the batch is missing or larger than {@code scrabble.max-batch-words}
+     */
+    public BitSet existsBatch(String lexicon, List<String> words) {
+        if (words == null) {
+            throw new IllegalArgumentException("Words must be provided");
+        }
+        if (words.size() > properties.getMaxBatchWords()) {
+            throw new IllegalArgumentException("Too many words in batch (max " + properties.getMaxBatchWords() + ")");
+        }
+        WordDictionary dictionary = dictionary(lexicon);
+        long[] bits = new long[(words.size() + 63) >>> 6];
+        IntStream blocks = IntStream.range(0, bits.length);
+        if (words.size() >= PARALLEL_BATCH_THRESHOLD) {
+            blocks = blocks.parallel();
+        }
+        blocks.forEach(block -> bits[block] = existsBlock(dictionary, words, block));
+        return BitSet.valueOf(bits);
+    }
+
+    public List<String> prefix(String lexicon, String prefix, Integer limit) {
         String normalized = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
         validateLetters(normalized);
         int effectiveLimit = normalizeLimit(limit, properties.getMaxPrefixResults());
-        return dictionary.findByPrefix(normalized, effectiveLimit);
+        return findByPrefix(lexicons.active(lexicon), normalized, null, effectiveLimit);
+    }
+
+    public WordPage prefixPage(String lexicon, String prefix, Integer limit, String cursor) {
+        return prefixPage(lexicon, prefix, limit, cursor, null);
+    }
+
+    /**
+     * Returns one page of words starting with {@code prefix}. {@code cursor} is the {@link WordPage#nextCursor()}
+     * of the previous page; the next page is read by resuming the traversal where that page stopped. With
+     * {@code order=probability} the most probable words come back as a single page, best first.
+     *
+     * @throws IllegalArgumentException if {@code order} is unknown, or a cursor is given with probability order
+     */
+    public WordPage prefixPage(String lexicon, String prefix, Integer limit, String cursor, String order) {
+        String normalized = normalizePrefix(prefix);
+        int effectiveLimit = normalizeLimit(limit, properties.getMaxPrefixResults());
+        if (WordOrder.parse(order) == WordOrder.PROBABILITY) {
+            if (cursor != null && !cursor.isEmpty()) {
+                throw new IllegalArgumentException("Cursor is only supported in alphabetical order");
+            }
+            return new WordPage(findTopByPrefix(lexicons.active(lexicon), normalized, effectiveLimit), null);
+        }
+        String after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor, normalized);
+        // One extra word tells whether another page exists without a second traversal.
+        List<String> words = findByPrefix(lexicons.active(lexicon), normalized, after, effectiveLimit + 1);
+        if (words.size() <= effectiveLimit) {
+            return new WordPage(words, null);
+        }
+        List<String> page = words.subList(0, effectiveLimit);
+        return new WordPage(page, encodeCursor(page.get(page.size() - 1)));
     }
 
-    public List<String> anagrams(String letters, Integer limit) {
+    public AnagramResult anagrams(String lexicon, String letters, Integer limit) {
+        return anagrams(lexicon, letters, limit, false);
+    }
+
+    /**
+     * Words formed from {@code letters} ({@code ?} is a blank), using every tile when {@code exact}. Racks longer
+     * than {@value #SEQUENTIAL_ANAGRAM_LETTERS} letters are searched in parallel within
+     * {@code scrabble.anagram-time-budget-millis}; if that runs out the words found so far come back marked
+     * incomplete, and such partial results are never cached.
+     */
+    public AnagramResult anagrams(String lexicon, String letters, Integer limit, boolean exact) {
         if (!StringUtils.hasText(letters)) {
             throw new IllegalArgumentException("Letters must be provided");
         }
@@ -50,22 +158,226 @@ public class DictionaryService {
             }
         }
         int effectiveLimit = normalizeLimit(limit, properties.getMaxAnagramResults());
-        return dictionary.findAnagrams(normalized, effectiveLimit);
+        Lexicon active = lexicons.active(lexicon);
+        WordDictionary dictionary = active.dictionary();
+        if (anagramCache == null) {
+            return searchAnagrams(dictionary, normalized, effectiveLimit, exact);
+        }
+        return anagramCache.get(AnagramQuery.of(active.version(), normalized, effectiveLimit, exact),
+                () -> searchAnagrams(dictionary, normalized, effectiveLimit, exact));
+    }
+
+    private AnagramResult searchAnagrams(WordDictionary dictionary, String letters, int limit, boolean exact) {
+        if (letters.length() <= SEQUENTIAL_ANAGRAM_LETTERS) {
+            List<String> words = exact ? dictionary.findExactAnagrams(letters, limit)
+                    : dictionary.findAnagrams(letters, limit);
+            return new AnagramResult(List.copyOf(words), true);
+        }
+        if (exact && dictionary instanceof IndexedWordDictionary indexed && indexed.answersExactAnagrams(letters)) {
+            return new AnagramResult(List.copyOf(indexed.findExactAnagrams(letters, limit)), true);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getAnagramTimeBudgetMillis());
+        return anagramSearch.search(dictionary.graph(), letters, exact, limit, deadline);
+    }
+
+    private List<String> findByPrefix(Lexicon lexicon, String prefix, String after, int limit) {
+        WordDictionary dictionary = lexicon.dictionary();
+        if (prefixCache == null) {
+            return dictionary.findByPrefix(prefix, after, limit);
+        }
+        return prefixCache.get(new PrefixQuery(lexicon.version(), prefix, after, limit, WordOrder.ALPHABETICAL),
+                () -> List.copyOf(dictionary.findByPrefix(prefix, after, limit)));
+    }
+
+    private List<String> findTopByPrefix(Lexicon lexicon, String prefix, int limit) {
+        WordDictionary dictionary = lexicon.dictionary();
+        if (prefixCache == null) {
+            return dictionary.findTopByPrefix(prefix, limit);
+        }
+        return prefixCache.get(new PrefixQuery(lexicon.version(), prefix, null, limit, WordOrder.PROBABILITY),
+                () -> List.copyOf(dictionary.findTopByPrefix(prefix, limit)));
     }
 
-    public int score(String word) {
+    /**
+     * Words within {@code distance} edits (1 or 2, default 2) of {@code word}, closest first, found within
+     * {@code scrabble.suggest-time-budget-millis}.
+     */
+    public SuggestionResult suggest(String lexicon, String word, Integer distance, Integer limit) {
         String normalized = normalizeWord(word);
         validateLetters(normalized);
-        return dictionary.score(normalized);
+        int maxDistance = distance == null ? LevenshteinAutomaton.MAX_DISTANCE : distance;
+        int effectiveLimit = normalizeLimit(limit, properties.getMaxSuggestions());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getSuggestTimeBudgetMillis());
+        return LevenshteinAutomaton.suggest(dictionary(lexicon).graph(), normalized, maxDistance, effectiveLimit,
+                deadline);
     }
 
-    private static void validateLetters(String value) {
+    public List<String> pattern(String lexicon, String pattern, String rack, Integer limit) {
+        if (!StringUtils.hasText(pattern)) {
+            throw new IllegalArgumentException("Pattern must be provided");
+        }
+        if (pattern.length() > properties.getMaxPatternLength()) {
+            throw new IllegalArgumentException("Pattern too long");
+        }
+        String normalizedRack = null;
+        if (StringUtils.hasText(rack)) {
+            normalizedRack = rack.toLowerCase(Locale.ROOT);
+            if (normalizedRack.length() > properties.getMaxAnagramLetters()) {
+                throw new IllegalArgumentException("Too many letters in rack");
+            }
+            for (int i = 0; i < normalizedRack.length(); i++) {
+                char ch = normalizedRack.charAt(i);
+                if (ch != '?' && (ch < 'a' || ch > 'z')) {
+                    throw new IllegalArgumentException("Letters must be alphabetic or ?");
+                }
+            }
+        }
+        int effectiveLimit = normalizeLimit(limit, properties.getMaxPrefixResults());
+        return dictionary(lexicon).findByPattern(pattern, normalizedRack, effectiveLimit);
+    }
+
+    public String frontHooks(String lexicon, String word) {
+        String normalized = normalizeWord(word);
+        validateLetters(normalized);
+        return hookLetters(dictionary(lexicon).frontHooks(normalized));
+    }
+
+    public String backHooks(String lexicon, String word) {
+        String normalized = normalizeWord(word);
+        validateLetters(normalized);
+        return hookLetters(dictionary(lexicon).backHooks(normalized));
+    }
+
+    /**
+     * Words containing {@code infix}, or ending with {@code suffix}; exactly one of the two must be given.
+     */
+    public List<String> containing(String lexicon, String infix, String suffix, Integer limit) {
+        if (StringUtils.hasText(infix) == StringUtils.hasText(suffix)) {
+            throw new IllegalArgumentException("Exactly one of infix or suffix must be provided");
+        }
+        int effectiveLimit = normalizeLimit(limit, properties.getMaxPrefixResults());
+        if (StringUtils.hasText(infix)) {
+            String normalized = infix.toLowerCase(Locale.ROOT);
+            validateLetters(normalized);
+            return dictionary(lexicon).findContaining(normalized, effectiveLimit);
+        }
+        String normalized = suffix.toLowerCase(Locale.ROOT);
+        validateLetters(normalized);
+        return dictionary(lexicon).findBySuffix(normalized, effectiveLimit);
+    }
+
+    public int score(String lexicon, String word) {
+        String normalized = normalizeWord(word);
+        validateLetters(normalized);
+        return dictionary(lexicon).score(normalized);
+    }
+
+    public int rank(String lexicon, String word) {
+        String normalized = normalizeWord(word);
+        validateLetters(normalized);
+        return dictionary(lexicon).rank(normalized);
+    }
+
+    public String select(String lexicon, String prefix, int ordinal) {
+        String normalized = normalizePrefix(prefix);
+        return dictionary(lexicon).select(normalized, ordinal);
+    }
+
+    public int countByPrefix(String lexicon, String prefix) {
+        return dictionary(lexicon).countByPrefix(normalizePrefix(prefix));
+    }
+
+    public List<String> randomWords(String lexicon, String prefix, Integer count) {
+        String normalized = normalizePrefix(prefix);
+        int effectiveCount = normalizeLimit(count, properties.getMaxPrefixResults());
+        return dictionary(lexicon).randomWords(normalized, effectiveCount, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Cache weight of a result: its characters plus one per word.
+     */
+    private static int weigh(List<String> words) {
+        int weight = words.size();
+        for (String word : words) {
+            weight += word.length();
+        }
+        return weight;
+    }
+
+    private static String hookLetters(int mask) {
+        StringBuilder letters = new StringBuilder(Integer.bitCount(mask));
+        for (int i = 0; i < 26; i++) {
+            if ((mask & (1 << i)) != 0) {
+                letters.append((char) ('a' + i));
+            }
+        }
+        return letters.toString();
+    }
+
+    private static String encodeCursor(String lastWord) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastWord.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long existsBlock(WordDictionary dictionary, List<String> words, int block) {
+        long bits = 0;
+        int end = Math.min(words.size(), (block + 1) << 6);
+        for (int i = block << 6; i < end; i++) {
+            String word = words.get(i);
+            if (word == null || word.isEmpty()) {
+                continue;
+            }
+            String normalized = word.toLowerCase(Locale.ROOT);
+            if (isLetters(normalized) && dictionary.contains(normalized)) {
+                bits |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * The dictionary of lexicon {@code id}, the default one when {@code null}. Each public method reads it once, so
+     * a concurrent reload never mixes two word lists within one call.
+     *
+     * @throws IllegalArgumentException if no lexicon has that id
+     */
+    private WordDictionary dictionary(String id) {
+        return lexicons.active(id).dictionary();
+    }
+
+    private static boolean isLetters(String value) {
         for (int i = 0; i < value.length(); i++) {
             char ch = value.charAt(i);
             if (ch < 'a' || ch > 'z') {
-                throw new IllegalArgumentException("Value must contain only letters");
+                return false;
             }
         }
+        return true;
+    }
+
+    private static String decodeCursor(String cursor, String prefix) {
+        String lastWord;
+        try {
+            lastWord = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (lastWord.isEmpty() || !lastWord.startsWith(prefix)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        validateLetters(lastWord);
+        return lastWord;
+    }
+
+    private static String normalizePrefix(String prefix) {
+        String normalized = prefix == null ? "" : prefix.toLowerCase(Locale.ROOT);
+        validateLetters(normalized);
+        return normalized;
+    }
+
+    private static void validateLetters(String value) {
+        if (!isLetters(value)) {
+            throw new IllegalArgumentException("Value must contain only letters");
+        }
     }
 
     private static String normalizeWord(String word) {
@@ -81,4 +393,24 @@ public class DictionaryService {
         }
         return Math.min(limit, max);
     }
+
+    /**
+     * Anagram query in canonical form: racks with the same tiles in any order share one entry.
+     */
+    private record AnagramQuery(int version, String letters, int blanks, int limit, boolean exact) {
+
+        static AnagramQuery of(int version, String rack, int limit, boolean exact) {
+            char[] letters = rack.toCharArray();
+            Arrays.sort(letters);
+            int blanks = 0;
+            while (blanks < letters.length && letters[blanks] == '?') {
+                blanks++;
+            }
+            return new AnagramQuery(version, new String(letters, blanks, letters.length - blanks), blanks, limit,
+                    exact);
+        }
+    }
+
+    private record PrefixQuery(int version, String prefix, String after, int limit, WordOrder order) {
+    }
 }
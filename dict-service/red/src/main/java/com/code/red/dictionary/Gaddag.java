@@ -0,0 +1,146 @@
+package com.code.red.dictionary;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * GADDAG over the dictionary words, stored as a minimized graph in the packed {@link ArrayDawgDictionary} layout.
+ *
+ * <p>Every word {@code w = xy} with a non-empty {@code x} is stored once per split as
+ * {@code reverse(x) + SEPARATOR + y}. Walking the reversed letters of any substring of a word from the root
+ * therefore lands on a node from which the rest of the word can be read outwards in both directions, so the hook
+ * letters of a word are a single walk. Infix and suffix listings are left to the DAWG pattern walk: the GADDAG reaches
+ * matching words out of lexicographic order, so returning the first {@code limit} would mean visiting all of them.
+ */
+final class Gaddag {
+
+    static final char SEPARATOR = '+';
+
+    private final ArrayDawgDictionary graph;
+    private final int words;
+
+    private Gaddag(ArrayDawgDictionary graph, int words) {
+        this.graph = graph;
+        this.words = words;
+    }
+
+    /**
+     * Builds the GADDAG for {@code words}; words with characters outside {@code a-z} are skipped. Paths are
+     * generated one leading letter at a time and sorted within that slice, so the minimizing builder sees
+     * them in order without all of them being held in memory at once.
+     */
+    static Gaddag build(List<String> words) {
+        DawgDictionary.Builder builder = DawgDictionary.builder();
+        List<String> slice = new ArrayList<>();
+        int indexed = 0;
+        for (char first = 'a'; first <= 'z'; first++) {
+            slice.clear();
+            for (String word : words) {
+                if (!isLowercaseAscii(word)) {
+                    continue;
+                }
+                if (first == 'a') {
+                    indexed++;
+                }
+                for (int split = 1; split <= word.length(); split++) {
+                    if (word.charAt(split - 1) == first) {
+                        slice.add(path(word, split));
+                    }
+                }
+            }
+            Collections.sort(slice);
+            for (String path : slice) {
+                builder.add(path);
+            }
+        }
+        return new Gaddag(builder.build().toArrayDictionary(), indexed);
+    }
+
+    int words() {
+        return words;
+    }
+
+    int nodeCount() {
+        return graph.nodeCount();
+    }
+
+    int edgeCount() {
+        return graph.edgeCount();
+    }
+
+    long footprintBytes() {
+        return graph.footprintBytes();
+    }
+
+    /**
+     * Bit {@code i} is set when {@code ('a' + i) + word} is a word.
+     */
+    int frontHooks(String word) {
+        int node = walkReversed(word);
+        if (node == ArrayDawgDictionary.NO_NODE) {
+            return 0;
+        }
+        int mask = 0;
+        for (int edge = graph.firstEdge(node); edge < graph.edgeEnd(node); edge++) {
+            char letter = graph.edgeLetter(edge);
+            if (letter == SEPARATOR) {
+                continue;
+            }
+            int separator = graph.child(graph.edgeTarget(edge), SEPARATOR);
+            if (separator != ArrayDawgDictionary.NO_NODE && graph.isTerminal(separator)) {
+                mask |= 1 << (letter - 'a');
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Bit {@code i} is set when {@code word + ('a' + i)} is a word.
+     */
+    int backHooks(String word) {
+        int node = walkReversed(word);
+        int separator = node == ArrayDawgDictionary.NO_NODE ? node : graph.child(node, SEPARATOR);
+        if (separator == ArrayDawgDictionary.NO_NODE) {
+            return 0;
+        }
+        int mask = 0;
+        for (int edge = graph.firstEdge(separator); edge < graph.edgeEnd(separator); edge++) {
+            if (graph.isTerminal(graph.edgeTarget(edge))) {
+                mask |= 1 << (graph.edgeLetter(edge) - 'a');
+            }
+        }
+        return mask;
+    }
+
+    private int walkReversed(String letters) {
+        String normalized = letters.toLowerCase(Locale.ROOT);
+        int node = graph.root();
+        for (int i = normalized.length() - 1; i >= 0 && node != ArrayDawgDictionary.NO_NODE; i--) {
+            node = graph.child(node, normalized.charAt(i));
+        }
+        return node;
+    }
+
+    private static String path(String word, int split) {
+        StringBuilder path = new StringBuilder(word.length() + 1);
+        for (int i = split - 1; i >= 0; i--) {
+            path.append(word.charAt(i));
+        }
+        return path.append(SEPARATOR).append(word, split, word.length()).toString();
+    }
+
+    private static boolean isLowercaseAscii(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char ch = word.charAt(i);
+            if (ch < 'a' || ch > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,303 @@
+package com.code.red.dictionary;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorator that answers lookups from precomputed indexes and delegates everything else to the wrapped
+ * dictionary:
+ * <ul>
+ * <li>{@link #contains(String)} from a {@link PackedWordIndex} hash probe, falling back to the delegate for words
+ * too long to pack;</li>
+ * <li>{@link #findExactAnagrams(String, int)} from an {@link AlphagramIndex}, falling back to the delegate's walk
+ * for racks with more than {@value AlphagramIndex#MAX_BLANKS} blanks;</li>
+ * <li>hook letters from a {@link Gaddag};</li>
+ * <li>{@link #findTopByPrefix(String, int)} from a {@link ProbabilityIndex}.</li>
+ * </ul>
+ * All indexes are built from one allocation-free pass over the delegate's words and live as long as the delegate
+ * does.
+ */
+public final class IndexedWordDictionary implements WordDictionary {
+
+    private final WordDictionary delegate;
+    private final PackedWordIndex wordIndex;
+    private final AlphagramIndex alphagrams;
+    private final Gaddag gaddag;
+    private final long gaddagBuildMillis;
+    private final ProbabilityIndex probabilities;
+
+    /**
+     * Indexes that {@link #wrap(WordDictionary, Set)} can build.
+     */
+    public enum Index {
+        WORDS,
+        ALPHAGRAMS,
+        GADDAG,
+        PROBABILITY
+    }
+
+    private IndexedWordDictionary(WordDictionary delegate, PackedWordIndex wordIndex, AlphagramIndex alphagrams,
+            Gaddag gaddag, long gaddagBuildMillis, ProbabilityIndex probabilities) {
+        this.delegate = delegate;
+        this.wordIndex = wordIndex;
+        this.alphagrams = alphagrams;
+        this.gaddag = gaddag;
+        this.gaddagBuildMillis = gaddagBuildMillis;
+        this.probabilities = probabilities;
+    }
+
+    public static IndexedWordDictionary wrap(WordDictionary delegate) {
+        return wrap(delegate, EnumSet.allOf(Index.class));
+    }
+
+    /**
+     * Builds {@code indexes} over {@code delegate} in one {@link WordDictionary#forEachWord} pass, holding only
+     * the primitive arrays each index keeps rather than a {@code String} per word. The GADDAG alone needs the
+     * words themselves and materializes them when requested.
+     */
+    public static IndexedWordDictionary wrap(WordDictionary delegate, Set<Index> indexes) {
+        int wordCount = delegate.size();
+        PackedWordIndex.Builder words = indexes.contains(Index.WORDS) ? new PackedWordIndex.Builder(wordCount) : null;
+        AlphagramIndex.Builder alphagrams = indexes.contains(Index.ALPHAGRAMS)
+                ? new AlphagramIndex.Builder(wordCount)
+                : null;
+        ProbabilityIndex.Builder probabilities = indexes.contains(Index.PROBABILITY)
+                ? new ProbabilityIndex.Builder(wordCount)
+                : null;
+        if (words != null || alphagrams != null || probabilities != null) {
+            delegate.forEachWord(word -> {
+                if (words != null) {
+                    words.add(word);
+                }
+                if (alphagrams != null) {
+                    alphagrams.add(word);
+                }
+                if (probabilities != null) {
+                    probabilities.add(word);
+                }
+            });
+        }
+        Gaddag gaddag = null;
+        long gaddagMillis = 0;
+        if (indexes.contains(Index.GADDAG)) {
+            long started = System.nanoTime();
+            gaddag = Gaddag.build(delegate.findByPrefix("", wordCount));
+            gaddagMillis = (System.nanoTime() - started) / 1_000_000;
+        }
+        return new IndexedWordDictionary(delegate,
+                words == null ? null : words.build(),
+                alphagrams == null ? null : alphagrams.build(),
+                gaddag, gaddagMillis,
+                probabilities == null ? null : probabilities.build());
+    }
+
+    public WordDictionary delegate() {
+        return delegate;
+    }
+
+    public boolean hasWordIndex() {
+        return wordIndex != null;
+    }
+
+    public int indexedWords() {
+        return wordIndex == null ? 0 : wordIndex.size();
+    }
+
+    public int overflowWords() {
+        return delegate.size() - indexedWords();
+    }
+
+    public long indexFootprintBytes() {
+        return wordIndex == null ? 0 : wordIndex.footprintBytes();
+    }
+
+    public int indexCapacity() {
+        return wordIndex == null ? 0 : wordIndex.capacity();
+    }
+
+    public boolean hasAlphagramIndex() {
+        return alphagrams != null;
+    }
+
+    public int alphagramGroups() {
+        return alphagrams == null ? 0 : alphagrams.groupCount();
+    }
+
+    public long alphagramFootprintBytes() {
+        return alphagrams == null ? 0 : alphagrams.footprintBytes();
+    }
+
+    /**
+     * Whether {@link #findExactAnagrams} for this rack is a lookup in the alphagram index rather than a graph walk.
+     */
+    public boolean answersExactAnagrams(String letters) {
+        return alphagrams != null
+                && AlphagramIndex.rackCounts(letters)[AlphagramIndex.BLANK] <= AlphagramIndex.MAX_BLANKS;
+    }
+
+    public boolean hasProbabilityIndex() {
+        return probabilities != null;
+    }
+
+    public long probabilityFootprintBytes() {
+        return probabilities == null ? 0 : probabilities.footprintBytes();
+    }
+
+    public boolean hasGaddag() {
+        return gaddag != null;
+    }
+
+    public int gaddagNodes() {
+        return gaddag == null ? 0 : gaddag.nodeCount();
+    }
+
+    public int gaddagEdges() {
+        return gaddag == null ? 0 : gaddag.edgeCount();
+    }
+
+    public long gaddagFootprintBytes() {
+        return gaddag == null ? 0 : gaddag.footprintBytes();
+    }
+
+    public long gaddagBuildMillis() {
+        return gaddagBuildMillis;
+    }
+
+    @Override
+    public boolean contains(String word) {
+        if (word == null || word.isEmpty()) {
+            return false;
+        }
+        long key = wordIndex == null ? PackedWordIndex.NOT_PACKABLE : PackedWordIndex.encode(word);
+        if (key != PackedWordIndex.NOT_PACKABLE) {
+            return wordIndex.contains(key);
+        }
+        return delegate.contains(word);
+    }
+
+    @Override
+    public List<String> findExactAnagrams(String letters, int limit) {
+        if (letters == null || letters.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] counts = AlphagramIndex.rackCounts(letters);
+        if (alphagrams == null || counts[AlphagramIndex.BLANK] > AlphagramIndex.MAX_BLANKS) {
+            return delegate.findExactAnagrams(letters, limit);
+        }
+        int[] ordinals = alphagrams.exactAnagramOrdinals(counts);
+        List<String> words = new ArrayList<>(Math.min(limit, ordinals.length));
+        for (int i = 0; i < ordinals.length && words.size() < limit; i++) {
+            if (i > 0 && ordinals[i] == ordinals[i - 1]) {
+                continue;
+            }
+            String word = delegate.select(ordinals[i]);
+            if (AlphagramIndex.matches(word, counts)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    @Override
+    public boolean isPrefix(String prefix) {
+        return delegate.isPrefix(prefix);
+    }
+
+    @Override
+    public List<String> findByPrefix(String prefix, String after, int limit) {
+        return delegate.findByPrefix(prefix, after, limit);
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super CharSequence> visitor) {
+        delegate.forEachWord(visitor);
+    }
+
+    @Override
+    public List<String> findTopByPrefix(String prefix, int limit) {
+        if (probabilities == null) {
+            return delegate.findTopByPrefix(prefix, limit);
+        }
+        int count = delegate.countByPrefix(prefix);
+        if (count == 0 || limit <= 0) {
+            return List.of();
+        }
+        int from = delegate.rank(delegate.select(prefix, 0));
+        int[] ordinals = probabilities.top(from, from + count, limit);
+        List<String> words = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            words.add(delegate.select(ordinal));
+        }
+        return words;
+    }
+
+    @Override
+    public List<String> findAnagrams(String letters, int limit) {
+        return delegate.findAnagrams(letters, limit);
+    }
+
+    @Override
+    public List<String> findByPattern(String pattern, String rack, int limit) {
+        return delegate.findByPattern(pattern, rack, limit);
+    }
+
+    @Override
+    public int frontHooks(String word) {
+        return gaddag == null ? delegate.frontHooks(word) : gaddag.frontHooks(word);
+    }
+
+    @Override
+    public int backHooks(String word) {
+        return gaddag == null ? delegate.backHooks(word) : gaddag.backHooks(word);
+    }
+
+    /**
+     * Always the delegate's pattern walk, which finds matches in word order and stops at {@code limit}; the GADDAG
+     * reaches them out of order and would have to visit every one.
+     */
+    @Override
+    public List<String> findContaining(String infix, int limit) {
+        return delegate.findContaining(infix, limit);
+    }
+
+    /**
+     * Always the delegate's pattern walk, as for {@link #findContaining}.
+     */
+    @Override
+    public List<String> findBySuffix(String suffix, int limit) {
+        return delegate.findBySuffix(suffix, limit);
+    }
+
+    @Override
+    public WordGraph graph() {
+        return delegate.graph();
+    }
+
+    @Override
+    public int score(String word) {
+        return delegate.score(word);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public int rank(String word) {
+        return delegate.rank(word);
+    }
+
+    @Override
+    public String select(String prefix, int ordinal) {
+        return delegate.select(prefix, ordinal);
+    }
+
+    @Override
+    public int countByPrefix(String prefix) {
+        return delegate.countByPrefix(prefix);
+    }
+}
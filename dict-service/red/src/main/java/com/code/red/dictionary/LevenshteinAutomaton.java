@@ -0,0 +1,140 @@
+package com.code.red.dictionary;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the words within a small edit distance of a query by running a Levenshtein automaton over a
+ * {@link WordGraph}.
+ *
+ * <p>The automaton is the bit-parallel nondeterministic one: for each error count {@code d} up to the maximum, one
+ * {@code long} holds the set of query positions reachable with at most {@code d} edits (insertions, deletions,
+ * substitutions), and a letter advances all of them with a few shifts and masks. The graph is walked depth-first and
+ * a branch is dropped as soon as no position is reachable within the maximum distance, so only the few thousand
+ * nodes near the query are visited rather than the whole lexicon. All state lives in per-depth arrays allocated
+ * once per query.
+ *
+ * <p>The walk checks its deadline every few hundred nodes and returns what it has found when it passes.
+ */
+public final class LevenshteinAutomaton {
+
+    public static final int MAX_DISTANCE = 2;
+
+    /**
+     * Longest query accepted; bit {@code i} of a state stands for "first {@code i} query letters consumed".
+     */
+    public static final int MAX_WORD_LENGTH = 32;
+
+    private static final int DEADLINE_CHECK_MASK = 255;
+
+    private final WordGraph graph;
+    private final int maxDistance;
+    private final long deadlineNanos;
+    private final long[] matchMasks = new long[26];
+    private final long acceptBit;
+    private final long allBits;
+    private final long[][] states;
+    private final char[] word;
+    private final List<WordSuggestion> found = new ArrayList<>();
+    private int visits;
+    private boolean expired;
+
+    private LevenshteinAutomaton(WordGraph graph, String query, int maxDistance, long deadlineNanos) {
+        this.graph = graph;
+        this.maxDistance = maxDistance;
+        this.deadlineNanos = deadlineNanos;
+        for (int i = 0; i < query.length(); i++) {
+            matchMasks[query.charAt(i) - 'a'] |= 1L << (i + 1);
+        }
+        this.acceptBit = 1L << query.length();
+        this.allBits = (acceptBit << 1) - 1;
+        int maxDepth = query.length() + maxDistance;
+        this.states = new long[maxDepth + 1][maxDistance + 1];
+        for (int d = 0; d <= maxDistance; d++) {
+            // Up to d query letters may be deleted before the first letter is read.
+            states[0][d] = ((1L << (d + 1)) - 1) & allBits;
+        }
+        this.word = new char[maxDepth];
+    }
+
+    /**
+     * Words other than {@code query} itself within {@code maxDistance} edits of it, closest first and
+     * lexicographically within a distance, at most {@code limit}. {@code deadlineNanos} is a
+     * {@link System#nanoTime()} value; a search that reaches it is returned incomplete.
+     *
+     * @throws IllegalArgumentException if the query is empty, longer than {@value #MAX_WORD_LENGTH}, not
+     *         {@code a-z}, or {@code maxDistance} is outside {@code [1, }{@value #MAX_DISTANCE}{@code ]}
+     */
+    public static SuggestionResult suggest(WordGraph graph, String query, int maxDistance, int limit,
+            long deadlineNanos) {
+        if (query == null || query.isEmpty() || query.length() > MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException("Word must have 1 to " + MAX_WORD_LENGTH + " letters");
+        }
+        for (int i = 0; i < query.length(); i++) {
+            char letter = query.charAt(i);
+            if (letter < 'a' || letter > 'z') {
+                throw new IllegalArgumentException("Word must contain only letters");
+            }
+        }
+        if (maxDistance < 1 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("Distance must be between 1 and " + MAX_DISTANCE);
+        }
+        if (limit <= 0) {
+            return new SuggestionResult(List.of(), true);
+        }
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(graph, query, maxDistance, deadlineNanos);
+        automaton.walk(graph.root(), 0);
+        List<WordSuggestion> ranked = new ArrayList<>(automaton.found);
+        // The walk emits words in lexicographic order; a stable sort keeps that order within a distance.
+        ranked.sort(Comparator.comparingInt(WordSuggestion::distance));
+        return new SuggestionResult(List.copyOf(ranked.subList(0, Math.min(limit, ranked.size()))),
+                !automaton.expired);
+    }
+
+    private boolean walk(int node, int depth) {
+        if ((visits++ & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadlineNanos > 0) {
+            expired = true;
+            return false;
+        }
+        if (depth == word.length) {
+            return true;
+        }
+        long[] current = states[depth];
+        long[] next = states[depth + 1];
+        for (int mask = graph.childMask(node); mask != 0; mask &= mask - 1) {
+            int index = Integer.numberOfTrailingZeros(mask);
+            long matches = matchMasks[index];
+            next[0] = (current[0] << 1) & matches;
+            for (int d = 1; d <= maxDistance; d++) {
+                // match | insertion (letter not in query) | substitution | deletion (query letter skipped)
+                next[d] = (((current[d] << 1) & matches) | current[d - 1] | (current[d - 1] << 1)
+                        | (next[d - 1] << 1)) & allBits;
+            }
+            if (next[maxDistance] == 0) {
+                continue;
+            }
+            char letter = (char) ('a' + index);
+            int child = graph.child(node, letter);
+            word[depth] = letter;
+            if (graph.isTerminal(child)) {
+                record(depth + 1, next);
+            }
+            if (!walk(child, depth + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void record(int length, long[] state) {
+        for (int d = 0; d <= maxDistance; d++) {
+            if ((state[d] & acceptBit) != 0) {
+                if (d > 0) {
+                    found.add(new WordSuggestion(new String(word, 0, length), d));
+                }
+                return;
+            }
+        }
+    }
+}
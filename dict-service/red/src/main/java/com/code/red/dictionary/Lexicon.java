@@ -0,0 +1,15 @@
+package com.code.red.dictionary;
+
+import java.time.Instant;
+
+/**
+ * One loaded word list. {@code id} names the list (such as {@code csw}) and is what games and requests select it
+ * by; {@code version} increases with every successful load, so games and clients can tell which build of the list
+ * they are checked against.
+ */
+public record Lexicon(String id, int version, String source, Instant loadedAt, WordDictionary dictionary) {
+
+    public int wordCount() {
+        return dictionary.size();
+    }
+}
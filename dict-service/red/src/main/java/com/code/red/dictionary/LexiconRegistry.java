@@ -0,0 +1,269 @@
+package com.code.red.dictionary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Holds the active {@link Lexicon} for every configured word list and replaces them without a restart. The lists
+ * are built together by one factory call, which lets them share storage, and are published as one map with a single
+ * volatile write; a reload rebuilds the whole set on a background thread while the current one keeps serving.
+ * Callers read a lexicon once per operation, so requests already running finish on the lexicon they started with,
+ * and anything that keeps the returned lexicon, such as a game, stays pinned to it.
+ */
+public class LexiconRegistry implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LexiconRegistry.class);
+
+    private final Map<String, Resource> configuredSources;
+    private final String defaultId;
+    private final Function<Map<String, Resource>, Map<String, WordDictionary>> factory;
+    private final ResourceLoader resourceLoader;
+    private final Path reloadDirectory;
+    private final Clock clock;
+    private final AtomicInteger versions = new AtomicInteger();
+    private final ExecutorService reloadExecutor;
+    private final List<Consumer<List<Lexicon>>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Map<String, Resource> sources;
+    private volatile Map<String, Lexicon> active;
+    private volatile CompletableFuture<Lexicon> reload = CompletableFuture.completedFuture(null);
+    private volatile String lastFailure;
+
+    /**
+     * Builds the initial lexicons from {@code sources}, keyed by lexicon id, on the calling thread. {@code factory}
+     * receives every source at once, in the same order, and returns a dictionary per id. Reloads may read the
+     * configured sources and, if {@code reloadDirectory} is not {@code null}, word list files inside it.
+     *
+     * @throws IllegalArgumentException if there are no sources or {@code defaultId} is not one of them
+     */
+    public LexiconRegistry(Map<String, Resource> sources, String defaultId,
+            Function<Map<String, Resource>, Map<String, WordDictionary>> factory, ResourceLoader resourceLoader,
+            Path reloadDirectory, Clock clock) {
+        Map<String, Resource> normalized = new LinkedHashMap<>();
+        sources.forEach((id, source) -> normalized.put(normalizeId(id), source));
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one lexicon must be configured");
+        }
+        this.defaultId = normalizeId(defaultId);
+        if (!normalized.containsKey(this.defaultId)) {
+            throw new IllegalArgumentException("Default lexicon is not configured: " + defaultId);
+        }
+        this.configuredSources = Collections.unmodifiableMap(normalized);
+        this.sources = configuredSources;
+        this.factory = factory;
+        this.resourceLoader = resourceLoader;
+        this.reloadDirectory = reloadDirectory == null ? null : reloadDirectory.toAbsolutePath().normalize();
+        this.clock = clock;
+        this.active = load(configuredSources);
+        this.reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dictionary-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public String defaultId() {
+        return defaultId;
+    }
+
+    /**
+     * The default lexicon.
+     */
+    public Lexicon active() {
+        return active.get(defaultId);
+    }
+
+    /**
+     * The lexicon with the given id (case-insensitive), or the default one when {@code id} is {@code null} or blank.
+     *
+     * @throws IllegalArgumentException if no lexicon has that id
+     */
+    public Lexicon active(String id) {
+        if (id == null || id.isBlank()) {
+            return active();
+        }
+        Lexicon lexicon = active.get(normalizeId(id));
+        if (lexicon == null) {
+            throw new IllegalArgumentException("Unknown lexicon: " + id);
+        }
+        return lexicon;
+    }
+
+    /**
+     * Every active lexicon, in configuration order.
+     */
+    public List<Lexicon> lexicons() {
+        return List.copyOf(active.values());
+    }
+
+    /**
+     * Registers {@code listener} to be called on the reload thread with every lexicon of a newly published set,
+     * once it is live. Meant for dropping state derived from the previous lexicons, such as cached query results.
+     */
+    public void addListener(Consumer<List<Lexicon>> listener) {
+        listeners.add(listener);
+    }
+
+    public boolean isReloading() {
+        return !reload.isDone();
+    }
+
+    /**
+     * Message of the last failed reload, cleared by the next successful one.
+     */
+    public String lastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Starts rebuilding the lexicons with lexicon {@code id} (the default one when {@code null}) read from
+     * {@code location}, or from its configured word list when {@code location} is {@code null}. {@code location} is a
+     * Spring resource location and must name one of the configured word lists or a file inside the reload
+     * directory; anything else is refused before it is opened. The other lexicons are rebuilt from their current
+     * sources so the set keeps sharing storage, and all of them get new versions once published. A failed build
+     * leaves the active lexicons in place. The future completes with the new lexicon {@code id}.
+     *
+     * @throws IllegalStateException if a reload is already running
+     * @throws IllegalArgumentException if {@code id} is unknown or {@code location} is not allowed or does not exist
+     */
+    public synchronized CompletableFuture<Lexicon> reload(String id, String location) {
+        if (isReloading()) {
+            throw new IllegalStateException("A dictionary reload is already in progress");
+        }
+        String target = active(id).id();
+        Resource source = location == null || location.isBlank() ? configuredSources.get(target)
+                : allowedSource(location);
+        if (!source.exists()) {
+            throw new IllegalArgumentException("Dictionary source not found: " + location);
+        }
+        Map<String, Resource> next = new LinkedHashMap<>(sources);
+        next.put(target, source);
+        Map<String, Lexicon> previous = active;
+        reload = CompletableFuture.supplyAsync(() -> {
+            try {
+                Map<String, Lexicon> lexicons = load(Collections.unmodifiableMap(next));
+                active = lexicons;
+                sources = Collections.unmodifiableMap(next);
+                lastFailure = null;
+                for (Lexicon lexicon : lexicons.values()) {
+                    log.info("Lexicon {} version {} ({} words from {}) replaced version {}", lexicon.id(),
+                            lexicon.version(), lexicon.wordCount(), lexicon.source(),
+                            previous.get(lexicon.id()).version());
+                }
+                notifyListeners(List.copyOf(lexicons.values()));
+                return lexicons.get(target);
+            } catch (RuntimeException e) {
+                lastFailure = e.getMessage();
+                log.error("Reload of lexicon {} from {} failed; keeping version {}", target, source.getDescription(),
+                        previous.get(target).version(), e);
+                throw e;
+            }
+        }, reloadExecutor);
+        return reload;
+    }
+
+    @Override
+    public void close() {
+        reloadExecutor.shutdownNow();
+    }
+
+    /**
+     * The resource at {@code location} if it is a configured word list or a file inside the reload directory
+     * (after resolving {@code ..} and symbolic links).
+     *
+     * @throws IllegalArgumentException otherwise
+     */
+    private Resource allowedSource(String location) {
+        Resource resource = resourceLoader.getResource(location);
+        if (isConfigured(resource) || isInReloadDirectory(resource)) {
+            return resource;
+        }
+        throw new IllegalArgumentException("Dictionary source is not allowed: " + location);
+    }
+
+    /**
+     * Files are compared by path, since {@code file:} locations and configured file resources are different
+     * resource types.
+     */
+    private boolean isConfigured(Resource resource) {
+        for (Resource configured : configuredSources.values()) {
+            try {
+                if (configured.equals(resource) || configured.isFile() && resource.isFile()
+                        && filePath(configured).equals(filePath(resource))) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // not comparable as files; keep looking
+            }
+        }
+        return false;
+    }
+
+    private boolean isInReloadDirectory(Resource resource) {
+        if (reloadDirectory == null || !resource.isFile()) {
+            return false;
+        }
+        try {
+            Path file = filePath(resource);
+            if (!file.startsWith(reloadDirectory)) {
+                return false;
+            }
+            return !resource.exists() || file.toRealPath().startsWith(reloadDirectory.toRealPath());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Path filePath(Resource resource) throws IOException {
+        return resource.getFile().toPath().toAbsolutePath().normalize();
+    }
+
+    private void notifyListeners(List<Lexicon> published) {
+        for (Consumer<List<Lexicon>> listener : listeners) {
+            try {
+                listener.accept(published);
+            } catch (RuntimeException e) {
+                log.warn("Lexicon listener failed", e);
+            }
+        }
+    }
+
+    private Map<String, Lexicon> load(Map<String, Resource> sources) {
+        Map<String, WordDictionary> dictionaries = factory.apply(sources);
+        Instant loadedAt = clock.instant();
+        Map<String, Lexicon> lexicons = new LinkedHashMap<>();
+        for (Map.Entry<String, Resource> entry : sources.entrySet()) {
+            WordDictionary dictionary = dictionaries.get(entry.getKey());
+            if (dictionary == null || dictionary.size() == 0) {
+                throw new IllegalStateException("Dictionary source has no words: "
+                        + entry.getValue().getDescription());
+            }
+            lexicons.put(entry.getKey(), new Lexicon(entry.getKey(), versions.incrementAndGet(),
+                    entry.getValue().getDescription(), loadedAt, dictionary));
+        }
+        return Collections.unmodifiableMap(lexicons);
+    }
+
+    private static String normalizeId(String id) {
+        return id.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,133 @@
+package com.code.red.dictionary;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of words packed into single {@code long}s.
+ *
+ * <p>A word of up to {@value #MAX_LETTERS} letters {@code a-z} is encoded as 5 bits per letter (values 1-26, so
+ * words of different lengths never collide) and probed linearly in a power-of-two {@code long[]} table with
+ * {@code 0} marking empty slots. Membership checks read the caller's characters directly: no {@code String},
+ * boxing or node walk is involved. Words that cannot be packed are not stored; callers must answer those from
+ * the backing dictionary.
+ */
+final class PackedWordIndex {
+
+    static final int MAX_LETTERS = 12;
+    static final long NOT_PACKABLE = -1L;
+
+    private static final long EMPTY = 0L;
+
+    private final long[] table;
+    private final int mask;
+    private final int size;
+
+    private PackedWordIndex(long[] table, int size) {
+        this.table = table;
+        this.mask = table.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Collects the packable subset of a word stream and builds an index over it, keeping the load factor at or
+     * below one half. Only the packed keys are held, so the words themselves may be reused buffers.
+     */
+    static final class Builder {
+
+        private long[] keys;
+        private int count;
+
+        Builder(int expectedWords) {
+            this.keys = new long[Math.max(16, expectedWords)];
+        }
+
+        void add(CharSequence word) {
+            long key = encode(word);
+            if (key == NOT_PACKABLE) {
+                return;
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+            }
+            keys[count++] = key;
+        }
+
+        PackedWordIndex build() {
+            int capacity = Integer.highestOneBit(Math.max(16, count * 2 - 1)) << 1;
+            long[] table = new long[capacity];
+            int mask = capacity - 1;
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                long key = keys[i];
+                int slot = slot(key, mask);
+                while (table[slot] != EMPTY && table[slot] != key) {
+                    slot = (slot + 1) & mask;
+                }
+                if (table[slot] == EMPTY) {
+                    table[slot] = key;
+                    size++;
+                }
+            }
+            return new PackedWordIndex(table, size);
+        }
+    }
+
+    /**
+     * Packs {@code word} (case-insensitive), or returns {@link #NOT_PACKABLE} if it is empty, longer than
+     * {@value #MAX_LETTERS} letters or contains anything other than ASCII letters.
+     */
+    static long encode(CharSequence word) {
+        int length = word.length();
+        if (length == 0 || length > MAX_LETTERS) {
+            return NOT_PACKABLE;
+        }
+        long key = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = word.charAt(i);
+            if (ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            } else if (ch < 'a' || ch > 'z') {
+                return NOT_PACKABLE;
+            }
+            key = (key << 5) | (ch - 'a' + 1);
+        }
+        return key;
+    }
+
+    boolean contains(long key) {
+        int slot = slot(key, mask);
+        while (true) {
+            long value = table[slot];
+            if (value == key) {
+                return true;
+            }
+            if (value == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    long footprintBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    private static int slot(long key, int mask) {
+        // fmix64 finalizer from MurmurHash3 spreads the densely packed low bits across the table.
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,216 @@
+package com.code.red.dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.stereotype.Component;
+
+import com.code.red.config.ScrabbleProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Anagram search for long racks (up to 15 tiles with blanks) on a dedicated fork-join pool, so large searches
+ * neither run on request threads nor compete with the common pool.
+ *
+ * <p>The search tree is split by first letter, and by second letter when enough tiles remain; every subtree is then
+ * walked depth-first over the {@link WordGraph}. At each edge a natural tile is used when the rack has one and a
+ * blank otherwise, since keeping the blank never leaves fewer options, so every word is reached exactly once and
+ * in lexicographic order. Subtree results are concatenated in letter order, which makes the answer the
+ * {@code limit} lexicographically smallest words regardless of scheduling.
+ *
+ * <p>Each task checks the deadline when it starts and every few thousand nodes after; past it the workers stop and
+ * the result is marked incomplete.
+ */
+@Component
+public class ParallelAnagramSearch {
+
+    /**
+     * Largest rack the search accepts.
+     */
+    public static final int MAX_TILES = 15;
+
+    private static final int SPLIT_DEPTH = 2;
+    private static final int SPLIT_MIN_TILES = 7;
+    private static final int DEADLINE_CHECK_MASK = 4095;
+
+    private final ForkJoinPool pool;
+
+    public ParallelAnagramSearch(ScrabbleProperties properties) {
+        this.pool = new ForkJoinPool(properties.getAnagramThreads(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("anagram-worker-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Words that can be formed from {@code letters} ({@code a-z}, {@code ?} for a blank), lexicographically
+     * smallest first, at most {@code limit}. With {@code exact} only words using every tile qualify. Returns what
+     * was found by {@code deadlineNanos} (a {@link System#nanoTime()} value), flagged incomplete if the search was
+     * cut short.
+     *
+     * @throws IllegalArgumentException if the rack has more than {@value #MAX_TILES} tiles
+     */
+    public AnagramResult search(WordGraph graph, String letters, boolean exact, int limit, long deadlineNanos) {
+        int[] counts = AlphagramIndex.rackCounts(letters);
+        int tiles = DawgDictionary.tileCount(counts);
+        if (tiles > MAX_TILES) {
+            throw new IllegalArgumentException("At most " + MAX_TILES + " letters supported");
+        }
+        if (tiles == 0 || limit <= 0) {
+            return new AnagramResult(List.of(), true);
+        }
+        Search search = new Search(graph, tiles, exact, limit, deadlineNanos);
+        List<String> words = pool.invoke(new Subtree(search, graph.root(), new char[tiles], 0, counts));
+        return new AnagramResult(words.size() > limit ? List.copyOf(words.subList(0, limit)) : List.copyOf(words),
+                !search.expired.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Parameters and the expiry flag shared by all tasks of one search.
+     */
+    private static final class Search {
+
+        private final WordGraph graph;
+        private final int tiles;
+        private final boolean exact;
+        private final int limit;
+        private final long deadlineNanos;
+        private final AtomicBoolean expired = new AtomicBoolean();
+
+        Search(WordGraph graph, int tiles, boolean exact, int limit, long deadlineNanos) {
+            this.graph = graph;
+            this.tiles = tiles;
+            this.exact = exact;
+            this.limit = limit;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        boolean qualifies(int node, int length) {
+            return graph.isTerminal(node) && (!exact || length == tiles);
+        }
+    }
+
+    /**
+     * Words below {@code node}, whose path from the root is {@code word[0, depth)} and which may still use the tiles
+     * in {@code counts}. The node's own word, if any, has already been recorded by the parent.
+     */
+    private static final class Subtree extends RecursiveTask<List<String>> {
+
+        private final Search search;
+        private final int node;
+        private final char[] word;
+        private final int depth;
+        private final int[] counts;
+        private final List<String> results = new ArrayList<>();
+        private int visits;
+
+        Subtree(Search search, int node, char[] word, int depth, int[] counts) {
+            this.search = search;
+            this.node = node;
+            this.word = word;
+            this.depth = depth;
+            this.counts = counts;
+        }
+
+        @Override
+        protected List<String> compute() {
+            if (depth < SPLIT_DEPTH && search.tiles - depth >= SPLIT_MIN_TILES) {
+                return split();
+            }
+            walk(node, depth);
+            return results;
+        }
+
+        /**
+         * One task per viable next letter; each child's own word goes first in its slice so the concatenation
+         * stays in order.
+         */
+        private List<String> split() {
+            List<Subtree> children = new ArrayList<>(26);
+            for (int mask = search.graph.childMask(node); mask != 0; mask &= mask - 1) {
+                int index = Integer.numberOfTrailingZeros(mask);
+                int[] remaining = take(counts, index);
+                if (remaining == null) {
+                    continue;
+                }
+                char[] next = Arrays.copyOf(word, word.length);
+                next[depth] = (char) ('a' + index);
+                children.add(new Subtree(search, search.graph.child(node, next[depth]), next, depth + 1,
+                        remaining));
+            }
+            ForkJoinTask.invokeAll(children);
+            List<String> merged = new ArrayList<>();
+            for (Subtree child : children) {
+                if (merged.size() >= search.limit) {
+                    break;
+                }
+                if (search.qualifies(child.node, child.depth)) {
+                    merged.add(new String(child.word, 0, child.depth));
+                }
+                merged.addAll(child.join());
+            }
+            return merged;
+        }
+
+        /**
+         * Sequential depth-first walk; returns {@code false} once the limit is reached or the deadline has passed.
+         */
+        private boolean walk(int current, int length) {
+            if ((visits++ & DEADLINE_CHECK_MASK) == 0
+                    && (search.expired.get() || System.nanoTime() - search.deadlineNanos > 0)) {
+                search.expired.set(true);
+                return false;
+            }
+            if (length == search.tiles) {
+                return true;
+            }
+            for (int mask = search.graph.childMask(current); mask != 0; mask &= mask - 1) {
+                int index = Integer.numberOfTrailingZeros(mask);
+                int tile = counts[index] > 0 ? index : AlphagramIndex.BLANK;
+                if (counts[tile] == 0) {
+                    continue;
+                }
+                char letter = (char) ('a' + index);
+                int child = search.graph.child(current, letter);
+                word[length] = letter;
+                counts[tile]--;
+                if (search.qualifies(child, length + 1)) {
+                    results.add(new String(word, 0, length + 1));
+                }
+                boolean proceed = results.size() < search.limit && walk(child, length + 1);
+                counts[tile]++;
+                if (!proceed) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Counts after placing {@code index}, natural tile first, or {@code null} if the rack cannot pay for it.
+         */
+        private static int[] take(int[] counts, int index) {
+            int tile = counts[index] > 0 ? index : AlphagramIndex.BLANK;
+            if (counts[tile] == 0) {
+                return null;
+            }
+            int[] remaining = counts.clone();
+            remaining[tile]--;
+            return remaining;
+        }
+    }
+}
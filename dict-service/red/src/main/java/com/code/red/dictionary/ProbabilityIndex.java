@@ -0,0 +1,114 @@
+package com.code.red.dictionary;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Top-k index over word weights (tile-draw probability, {@link TileDistribution#drawProbability(CharSequence)}).
+ *
+ * <p>Words are weighted by ordinal, and the words starting with any prefix occupy one contiguous ordinal range, so
+ * the heaviest words under a prefix are the heaviest in a range. A segment tree stores, for every aligned block of
+ * ordinals, the ordinal of its heaviest word. The top {@code k} of a range are then taken best-first: a queue of
+ * sub-ranges ordered by their heaviest word yields that word, and the two pieces either side of it go back on the
+ * queue. That costs {@code O(k log n)} regardless of how many words share the prefix. Ties go to the smaller
+ * ordinal, so results are deterministic.
+ */
+final class ProbabilityIndex {
+
+    private final float[] weights;
+    private final int[] tree;
+    private final int size;
+
+    private ProbabilityIndex(float[] weights) {
+        this.weights = weights;
+        this.size = weights.length;
+        this.tree = new int[2 * Math.max(1, size)];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            tree[size + ordinal] = ordinal;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = heavier(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Weighs words streamed in ordinal (lexicographic) order and builds the index over them.
+     */
+    static final class Builder {
+
+        private final float[] weights;
+        private final int[] letterCounts = new int[26];
+        private int ordinal;
+
+        Builder(int wordCount) {
+            this.weights = new float[wordCount];
+        }
+
+        void add(CharSequence word) {
+            weights[ordinal++] = (float) TileDistribution.drawProbability(word, letterCounts);
+        }
+
+        ProbabilityIndex build() {
+            return new ProbabilityIndex(ordinal == weights.length ? weights : Arrays.copyOf(weights, ordinal));
+        }
+    }
+
+    /**
+     * Ordinals of the at most {@code k} heaviest words in {@code [from, to)}, heaviest first.
+     */
+    int[] top(int from, int to, int k) {
+        int count = Math.max(0, Math.min(k, to - from));
+        int[] result = new int[count];
+        if (count == 0) {
+            return result;
+        }
+        PriorityQueue<Range> queue = new PriorityQueue<>(
+                (a, b) -> a.best == b.best ? 0 : heavier(a.best, b.best) == a.best ? -1 : 1);
+        queue.add(new Range(from, to, heaviest(from, to)));
+        for (int i = 0; i < count; i++) {
+            Range range = queue.poll();
+            result[i] = range.best;
+            if (range.from < range.best) {
+                queue.add(new Range(range.from, range.best, heaviest(range.from, range.best)));
+            }
+            if (range.best + 1 < range.to) {
+                queue.add(new Range(range.best + 1, range.to, heaviest(range.best + 1, range.to)));
+            }
+        }
+        return result;
+    }
+
+    float weight(int ordinal) {
+        return weights[ordinal];
+    }
+
+    long footprintBytes() {
+        return 4L * weights.length + 4L * tree.length;
+    }
+
+    /**
+     * Ordinal of the heaviest word in the non-empty range {@code [from, to)}.
+     */
+    private int heaviest(int from, int to) {
+        int best = from;
+        for (int low = from + size, high = to + size; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) != 0) {
+                best = heavier(best, tree[low++]);
+            }
+            if ((high & 1) != 0) {
+                best = heavier(best, tree[--high]);
+            }
+        }
+        return best;
+    }
+
+    private int heavier(int a, int b) {
+        if (weights[a] != weights[b]) {
+            return weights[a] > weights[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    private record Range(int from, int to, int best) {
+    }
+}
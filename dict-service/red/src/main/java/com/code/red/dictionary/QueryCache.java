@@ -0,0 +1,269 @@
+package com.code.red.dictionary;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bounded cache for dictionary query results.
+ *
+ * <p>Entries are kept in least-recently-used order and bounded both by count and by total weight. Admission is
+ * frequency-aware (TinyLFU): every lookup is counted in a small count-min sketch of 4-bit counters that is halved
+ * periodically, and when a new result would push out the least recently used entries it only gets in if its key
+ * has been asked for more often than each of theirs; otherwise nothing is evicted. A burst of one-off queries
+ * therefore cannot flush the racks and prefixes that are requested all the time.
+ *
+ * <p>Loads are single-flight: concurrent misses on the same key wait for the one thread computing it instead of
+ * repeating the search. {@link #invalidateAll()} drops every entry, and results of loads that were already running
+ * are not stored.
+ */
+public final class QueryCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToIntFunction<V> weigher;
+    private final Predicate<V> cacheable;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private long puts;
+    private long evictions;
+    private long evictedWeight;
+    private long rejections;
+    private long weight;
+    private long generation;
+
+    /**
+     * @param weigher relative cost of keeping a value, e.g. the characters it holds; must not be negative
+     */
+    public QueryCache(int maxEntries, long maxWeight, ToIntFunction<V> weigher) {
+        this(maxEntries, maxWeight, weigher, value -> true);
+    }
+
+    /**
+     * @param cacheable whether a loaded value may be stored; values it rejects are still handed to every caller
+     *        waiting on that load, but the next lookup computes them again
+     */
+    public QueryCache(int maxEntries, long maxWeight, ToIntFunction<V> weigher, Predicate<V> cacheable) {
+        if (maxEntries <= 0 || maxWeight <= 0) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.cacheable = cacheable;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    /**
+     * The cached value for {@code key}, computing it with {@code loader} on a miss. Exceptions thrown by the loader
+     * reach every caller waiting on that load and nothing is cached.
+     */
+    public V get(K key, Supplier<V> loader) {
+        long startedGeneration;
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                hits.increment();
+                return entry.value();
+            }
+            startedGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+        misses.increment();
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> running = loading.putIfAbsent(key, flight);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            long started = System.nanoTime();
+            V value = loader.get();
+            loadNanos.add(System.nanoTime() - started);
+            loads.increment();
+            store(key, value, startedGeneration);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            weight = 0;
+            generation++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), loads.sum(), loadFailures.sum(), loadNanos.sum(), puts,
+                    evictions, evictedWeight, rejections, entries.size(), weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(K key, V value, long startedGeneration) {
+        if (!cacheable.test(value)) {
+            return;
+        }
+        int valueWeight = weigher.applyAsInt(value);
+        if (valueWeight > maxWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (generation != startedGeneration || entries.containsKey(key)) {
+                return;
+            }
+            // Pick every victim needed to make room before evicting any, so the newcomer either beats them all
+            // and replaces them or is rejected with the cache untouched.
+            int frequency = sketch.frequency(key.hashCode());
+            int victims = 0;
+            long freed = 0;
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            while (entries.size() - victims >= maxEntries || weight - freed + valueWeight > maxWeight) {
+                Map.Entry<K, Entry<V>> victim = eldest.next();
+                if (frequency <= sketch.frequency(victim.getKey().hashCode())) {
+                    rejections++;
+                    return;
+                }
+                victims++;
+                freed += victim.getValue().weight();
+            }
+            eldest = entries.entrySet().iterator();
+            for (int i = 0; i < victims; i++) {
+                int victimWeight = eldest.next().getValue().weight();
+                eldest.remove();
+                weight -= victimWeight;
+                evictions++;
+                evictedWeight += victimWeight;
+            }
+            entries.put(key, new Entry<>(value, valueWeight));
+            weight += valueWeight;
+            puts++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Counters since the cache was created; {@code loads} counts searches actually run, so {@code misses - loads -
+     * loadFailures} is the number of misses that waited on another caller's load.
+     */
+    public record Stats(long hits, long misses, long loads, long loadFailures, long totalLoadNanos, long puts,
+            long evictions, long evictedWeight, long rejections, int size, long weight) {
+
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private record Entry<V>(V value, int weight) {
+    }
+
+    /**
+     * Count-min sketch with four 4-bit counters per key. After ten lookups per cache slot every counter is halved,
+     * so popularity fades and keys that were hot an hour ago do not block today's.
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+                0xcbf29ce484222325L };
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maxEntries) {
+            int size = Integer.highestOneBit(Math.max(16, Math.min(maxEntries, 1 << 24)) - 1) << 1;
+            this.table = new long[size];
+            this.sampleSize = 10 * Math.max(16, maxEntries);
+        }
+
+        int frequency(int hash) {
+            int frequency = 15;
+            for (int depth = 0; depth < SEEDS.length; depth++) {
+                long mixed = mix(hash, depth);
+                frequency = Math.min(frequency, (int) (table[index(mixed)] >>> offset(mixed)) & 0xF);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            for (int depth = 0; depth < SEEDS.length; depth++) {
+                long mixed = mix(hash, depth);
+                int index = index(mixed);
+                int offset = offset(mixed);
+                if (((table[index] >>> offset) & 0xF) < 15) {
+                    table[index] += 1L << offset;
+                }
+            }
+            if (++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & RESET_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        private static long mix(int hash, int depth) {
+            long mixed = (hash + SEEDS[depth]) * SEEDS[(depth + 1) & 3];
+            return mixed ^ (mixed >>> 29);
+        }
+
+        private int index(long mixed) {
+            return (int) (mixed >>> 32) & (table.length - 1);
+        }
+
+        private static int offset(long mixed) {
+            return ((int) mixed & 15) << 2;
+        }
+    }
+}
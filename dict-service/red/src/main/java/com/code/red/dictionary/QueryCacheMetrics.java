@@ -0,0 +1,82 @@
+package com.code.red.dictionary;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes a {@link QueryCache} under the standard {@code cache.*} meter names (gets by result, puts, evictions,
+ * size) plus its hit ratio, weight, admission rejections and load timings.
+ */
+public class QueryCacheMetrics extends CacheMeterBinder<QueryCache<?, ?>> {
+
+    public QueryCacheMetrics(QueryCache<?, ?> cache, String cacheName, Iterable<Tag> tags) {
+        super(cache, cacheName, tags);
+    }
+
+    @Override
+    protected Long size() {
+        QueryCache<?, ?> cache = getCache();
+        return cache == null ? null : (long) cache.stats().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        QueryCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.stats().hits();
+    }
+
+    @Override
+    protected Long missCount() {
+        QueryCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.stats().misses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        QueryCache<?, ?> cache = getCache();
+        return cache == null ? null : cache.stats().evictions();
+    }
+
+    @Override
+    protected long putCount() {
+        QueryCache<?, ?> cache = getCache();
+        return cache == null ? 0 : cache.stats().puts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        QueryCache<?, ?> cache = getCache();
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRatio())
+                .tags(getTagsWithCacheName())
+                .description("Fraction of lookups answered from the cache")
+                .register(registry);
+        Gauge.builder("cache.weight", cache, c -> c.stats().weight())
+                .tags(getTagsWithCacheName())
+                .description("Total weight of the cached results")
+                .register(registry);
+        FunctionCounter.builder("cache.eviction.weight", cache, c -> c.stats().evictedWeight())
+                .tags(getTagsWithCacheName())
+                .description("Total weight of evicted results")
+                .register(registry);
+        FunctionCounter.builder("cache.admission.rejections", cache, c -> c.stats().rejections())
+                .tags(getTagsWithCacheName())
+                .description("Results not cached because their key was less frequent than the eviction victim")
+                .register(registry);
+        FunctionTimer.builder("cache.load.duration", cache, c -> c.stats().loads(), c -> c.stats().totalLoadNanos(),
+                TimeUnit.NANOSECONDS)
+                .tags(getTagsWithCacheName())
+                .tag("result", "success")
+                .description("Time spent computing results on a miss, for loads that succeeded")
+                .register(registry);
+        FunctionCounter.builder("cache.load.failures", cache, c -> c.stats().loadFailures())
+                .tags(getTagsWithCacheName())
+                .description("Loads that threw, which are not cached")
+                .register(registry);
+    }
+}
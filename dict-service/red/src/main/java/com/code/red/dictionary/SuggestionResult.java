@@ -0,0 +1,14 @@
+package com.code.red.dictionary;
+
+import java.util.List;
+
+/**
+ * Suggestions closest first; {@code complete} is {@code false} when the search ran out of time and closer words may
+ * have been missed.
+ */
+public record SuggestionResult(List<WordSuggestion> suggestions, boolean complete) {
+
+    public List<String> words() {
+        return suggestions.stream().map(WordSuggestion::word).toList();
+    }
+}
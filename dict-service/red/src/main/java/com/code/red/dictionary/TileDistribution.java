@@ -0,0 +1,67 @@
+package com.code.red.dictionary;
+
+import java.util.Arrays;
+
+/**
+ * Tile counts of the standard 100-tile English bag, and the probability of drawing a word's tiles from it.
+ */
+public final class TileDistribution {
+
+    public static final int TOTAL_TILES = 100;
+
+    public static final int BLANK_TILES = 2;
+
+    private static final int[] LETTER_TILES = {
+            9, 2, 2, 4, 12, 2, 3, 2, 9, 1, 1, 4, 2, 6, 8, 2, 1, 6, 4, 6, 4, 2, 2, 1, 2, 1 };
+
+    private TileDistribution() {
+    }
+
+    /**
+     * Tiles of {@code letter} in a full bag; {@code ?} counts the blanks.
+     */
+    public static int tilesFor(char letter) {
+        char normalized = Character.toLowerCase(letter);
+        if (normalized == '?') {
+            return BLANK_TILES;
+        }
+        return normalized >= 'a' && normalized <= 'z' ? LETTER_TILES[normalized - 'a'] : 0;
+    }
+
+    /**
+     * Probability that {@code word.length()} tiles drawn from a full bag are exactly the word's letters, without
+     * using blanks: the product of {@code C(tiles(l), k(l))} over its letters divided by
+     * {@code C(100, length)}. Zero for words the bag cannot spell.
+     */
+    public static double drawProbability(CharSequence word) {
+        return drawProbability(word, new int[26]);
+    }
+
+    /**
+     * {@link #drawProbability(CharSequence)} counting letters in {@code counts}, which is cleared first, so callers
+     * weighing many words can reuse one array.
+     */
+    static double drawProbability(CharSequence word, int[] counts) {
+        int length = word.length();
+        if (length == 0 || length > TOTAL_TILES) {
+            return 0.0;
+        }
+        Arrays.fill(counts, 0);
+        double probability = 1.0;
+        for (int i = 0; i < length; i++) {
+            char letter = Character.toLowerCase(word.charAt(i));
+            if (letter < 'a' || letter > 'z') {
+                return 0.0;
+            }
+            int index = letter - 'a';
+            int drawn = ++counts[index];
+            if (drawn > LETTER_TILES[index]) {
+                return 0.0;
+            }
+            // C(n, k) / C(n, k - 1) = (n - k + 1) / k, and C(100, L) grows by (100 - i) / (i + 1).
+            probability *= (double) (LETTER_TILES[index] - drawn + 1) / drawn;
+            probability *= (double) (i + 1) / (TOTAL_TILES - i);
+        }
+        return probability;
+    }
+}
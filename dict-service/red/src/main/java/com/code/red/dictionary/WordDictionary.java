@@ -1,6 +1,11 @@
 package com.code.red.dictionary;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
  * Strategy interface for dictionary implementations.
@@ -11,9 +16,170 @@ public interface WordDictionary {
 
     boolean isPrefix(String prefix);
 
-    List<String> findByPrefix(String prefix, int limit);
+    default List<String> findByPrefix(String prefix, int limit) {
+        return findByPrefix(prefix, null, limit);
+    }
+
+    /**
+     * Up to {@code limit} words starting with {@code prefix}, in lexicographic order, that sort strictly after
+     * {@code after} ({@code null} to start from the first word). Implementations resume the traversal at
+     * {@code after} rather than skipping earlier words, so paging through a large prefix costs the same per page.
+     *
+     * @throws IllegalArgumentException if {@code after} does not start with {@code prefix}
+     */
+    List<String> findByPrefix(String prefix, String after, int limit);
+
+    /**
+     * Hands every word to {@code visitor} in lexicographic order, so the {@code n}th call receives the word at
+     * ordinal {@code n}. The sequence passed in is only valid during the call and must be copied to be kept;
+     * walking dictionaries reuse one buffer for the whole pass instead of allocating a {@code String} per word.
+     */
+    default void forEachWord(Consumer<? super CharSequence> visitor) {
+        findByPrefix("", size()).forEach(visitor);
+    }
+
+    /**
+     * Up to {@code limit} words starting with {@code prefix}, most likely to be drawn first (see
+     * {@link TileDistribution#drawProbability(CharSequence)}), equally likely words in lexicographic order. The
+     * default ranks every word under the prefix; indexed dictionaries take the top words from a probability index
+     * without enumerating the rest.
+     */
+    default List<String> findTopByPrefix(String prefix, int limit) {
+        if (limit <= 0 || !isPrefix(prefix)) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>(findByPrefix(prefix, countByPrefix(prefix)));
+        words.sort(Comparator.comparingDouble((String word) -> (float) TileDistribution.drawProbability(word))
+                .reversed());
+        return List.copyOf(words.subList(0, Math.min(limit, words.size())));
+    }
 
     List<String> findAnagrams(String letters, int limit);
 
+    /**
+     * Words that use every tile in {@code letters} ({@code ?} is a blank), in lexicographic order, at most
+     * {@code limit}. The default filters a full anagram walk; indexed dictionaries answer from an alphagram
+     * index.
+     */
+    default List<String> findExactAnagrams(String letters, int limit) {
+        if (letters == null || letters.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int tiles = DawgDictionary.tileCount(AlphagramIndex.rackCounts(letters));
+        List<String> exact = new ArrayList<>();
+        for (String word : findAnagrams(letters, Integer.MAX_VALUE)) {
+            if (word.length() == tiles) {
+                exact.add(word);
+                if (exact.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return exact;
+    }
+
     int score(String word);
+
+    /**
+     * Node-level view of the word graph behind this dictionary.
+     */
+    WordGraph graph();
+
+    /**
+     * Letters that can be put in front of {@code word} to form a word, as a bitmask with bit {@code i} standing
+     * for {@code 'a' + i}. The default probes each letter; dictionaries with a GADDAG answer in one walk.
+     */
+    default int frontHooks(String word) {
+        int mask = 0;
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            if (contains(letter + word)) {
+                mask |= 1 << (letter - 'a');
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Letters that can be appended to {@code word} to form a word, as a bitmask like {@link #frontHooks(String)}.
+     */
+    default int backHooks(String word) {
+        int mask = 0;
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            if (contains(word + letter)) {
+                mask |= 1 << (letter - 'a');
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Up to {@code limit} words containing the letters {@code infix}: the lexicographically first, in order.
+     */
+    default List<String> findContaining(String infix, int limit) {
+        return findByPattern("*" + infix + "*", null, limit);
+    }
+
+    /**
+     * Up to {@code limit} words ending with the letters {@code suffix}: the lexicographically first, in order.
+     */
+    default List<String> findBySuffix(String suffix, int limit) {
+        return findByPattern("*" + suffix, null, limit);
+    }
+
+    /**
+     * Up to {@code limit} words matching {@code pattern}, in lexicographic order: letters match themselves,
+     * {@code ?} or {@code _} any one letter and {@code *} any run of letters. With a non-null {@code rack} (letters,
+     * {@code ?} for blanks) every wildcard letter must be paid for with a rack tile, while pattern letters are free.
+     *
+     * @throws IllegalArgumentException if the pattern is empty or contains other characters
+     */
+    List<String> findByPattern(String pattern, String rack, int limit);
+
+    /**
+     * Number of words in the dictionary.
+     */
+    int size();
+
+    /**
+     * Zero-based position of {@code word} in lexicographic order, or {@code -1} if it is not in the dictionary.
+     */
+    int rank(String word);
+
+    /**
+     * The word at {@code ordinal} (zero-based, lexicographic) among the words starting with {@code prefix}.
+     *
+     * @throws IllegalArgumentException if {@code ordinal} is outside {@code [0, countByPrefix(prefix))}
+     */
+    String select(String prefix, int ordinal);
+
+    default String select(int ordinal) {
+        return select("", ordinal);
+    }
+
+    /**
+     * Number of words starting with {@code prefix}, answered without enumerating them.
+     */
+    int countByPrefix(String prefix);
+
+    /**
+     * Uniformly samples up to {@code count} distinct words starting with {@code prefix}, returned in lexicographic
+     * order.
+     */
+    default List<String> randomWords(String prefix, int count, RandomGenerator random) {
+        int available = countByPrefix(prefix);
+        int wanted = Math.min(count, available);
+        // Floyd's algorithm: wanted distinct ordinals in O(wanted) draws.
+        TreeSet<Integer> ordinals = new TreeSet<>();
+        for (int bound = available - wanted; bound < available; bound++) {
+            int candidate = random.nextInt(bound + 1);
+            if (!ordinals.add(candidate)) {
+                ordinals.add(bound);
+            }
+        }
+        List<String> words = new ArrayList<>(wanted);
+        for (int ordinal : ordinals) {
+            words.add(select(prefix, ordinal));
+        }
+        return words;
+    }
 }
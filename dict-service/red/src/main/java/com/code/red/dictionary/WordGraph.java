@@ -0,0 +1,24 @@
+package com.code.red.dictionary;
+
+/**
+ * Read-only, node-level view of a dictionary's word graph for callers that grow words one letter at a time, such
+ * as the move generator. Nodes are opaque non-negative ints valid only for the graph that returned them.
+ */
+public interface WordGraph {
+
+    int NO_NODE = -1;
+
+    int root();
+
+    /**
+     * The node reached from {@code node} over {@code letter}, or {@link #NO_NODE}.
+     */
+    int child(int node, char letter);
+
+    boolean isTerminal(int node);
+
+    /**
+     * Letters {@code a-z} with an outgoing edge from {@code node}, bit {@code i} standing for {@code 'a' + i}.
+     */
+    int childMask(int node);
+}
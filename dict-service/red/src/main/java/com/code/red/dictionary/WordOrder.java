@@ -0,0 +1,33 @@
+package com.code.red.dictionary;
+
+import java.util.Locale;
+
+/**
+ * Orderings for prefix results.
+ */
+public enum WordOrder {
+    /**
+     * Lexicographic, pageable with a cursor.
+     */
+    ALPHABETICAL,
+    /**
+     * Most likely to be drawn from a full bag first (see {@link TileDistribution#drawProbability(CharSequence)}).
+     */
+    PROBABILITY;
+
+    /**
+     * The order named {@code value}, ignoring case; {@link #ALPHABETICAL} when {@code null} or blank.
+     *
+     * @throws IllegalArgumentException if no order has that name
+     */
+    public static WordOrder parse(String value) {
+        if (value == null || value.isBlank()) {
+            return ALPHABETICAL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown order: " + value);
+        }
+    }
+}
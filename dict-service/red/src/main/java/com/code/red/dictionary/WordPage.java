@@ -0,0 +1,10 @@
+package com.code.red.dictionary;
+
+import java.util.List;
+
+/**
+ * One page of an ordered word listing. {@code nextCursor} is an opaque token for the following page, or
+ * {@code null} on the last page.
+ */
+public record WordPage(List<String> words, String nextCursor) {
+}
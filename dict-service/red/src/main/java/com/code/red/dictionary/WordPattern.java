@@ -0,0 +1,212 @@
+package com.code.red.dictionary;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compiled wildcard pattern for {@link WordDictionary#findByPattern(String, String, int)}: letters match
+ * themselves, {@code ?} or {@code _} matches any single letter and {@code *} matches any run of letters,
+ * including none. Consecutive {@code *} collapse into one.
+ *
+ * <p>When a rack is given, every letter matched by a wildcard has to be paid for with a rack tile (a blank pays
+ * for any letter); pattern letters are treated as already on the board and cost nothing.
+ *
+ * <p>Searches walk the dictionary one letter at a time and carry the set of pattern positions still live after the
+ * letters so far as a bitmask, with bit {@link #length()} meaning the whole pattern has matched. Positions after a
+ * {@code *} are live whenever the {@code *} is, so {@code *} never has to be branched on.
+ */
+final class WordPattern {
+
+    static final char ANY = '?';
+    static final char ANY_RUN = '*';
+
+    /**
+     * Longest pattern after collapsing {@code *} runs; its positions and the end position fit one {@code long}.
+     */
+    static final int MAX_LENGTH = Long.SIZE - 1;
+
+    private final char[] tokens;
+    private final int[] wildcardsFrom;
+    private final long[] letterPositions = new long[26];
+    private final long anyPositions;
+    private final long runPositions;
+    private final long[] affordable;
+
+    private WordPattern(char[] tokens) {
+        this.tokens = tokens;
+        this.wildcardsFrom = new int[tokens.length + 1];
+        for (int i = tokens.length - 1; i >= 0; i--) {
+            wildcardsFrom[i] = wildcardsFrom[i + 1] + (tokens[i] == ANY ? 1 : 0);
+        }
+        long any = 0;
+        long runs = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i] == ANY) {
+                any |= 1L << i;
+            } else if (tokens[i] == ANY_RUN) {
+                runs |= 1L << i;
+            } else {
+                letterPositions[tokens[i] - 'a'] |= 1L << i;
+            }
+        }
+        this.anyPositions = any;
+        this.runPositions = runs;
+        this.affordable = new long[wildcardsFrom[0] + 1];
+        for (int i = 0; i <= tokens.length; i++) {
+            for (int tiles = wildcardsFrom[i]; tiles < affordable.length; tiles++) {
+                affordable[tiles] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code pattern} is empty or contains anything but letters and wildcards
+     */
+    static WordPattern compile(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            throw new IllegalArgumentException("Pattern must be provided");
+        }
+        String normalized = pattern.toLowerCase(Locale.ROOT);
+        char[] tokens = new char[normalized.length()];
+        int length = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            if (ch == '_') {
+                ch = ANY;
+            }
+            if (ch != ANY && ch != ANY_RUN && (ch < 'a' || ch > 'z')) {
+                throw new IllegalArgumentException("Pattern must contain only letters, ?, _ or *");
+            }
+            if (ch == ANY_RUN && length > 0 && tokens[length - 1] == ANY_RUN) {
+                continue;
+            }
+            tokens[length++] = ch;
+        }
+        if (length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Pattern must be at most " + MAX_LENGTH + " characters long");
+        }
+        return new WordPattern(Arrays.copyOf(tokens, length));
+    }
+
+    int length() {
+        return tokens.length;
+    }
+
+    /**
+     * Live positions before the first letter, one set per number of rack tiles spent: a single set without a rack,
+     * {@code tiles + 1} sets with one. Returns {@code null} if the rack cannot pay for the pattern's {@code ?}.
+     */
+    long[] start(int[] rack) {
+        int tiles = 0;
+        if (rack != null) {
+            for (int count : rack) {
+                tiles += count;
+            }
+            if (wildcardsFrom[0] > tiles) {
+                return null;
+            }
+        }
+        long[] live = new long[tiles + 1];
+        live[0] = closure(1L);
+        return live;
+    }
+
+    /**
+     * Live positions after {@code letter}, or {@code null} if none is left. Without a rack wildcards are free; with
+     * one, a letter taken by a wildcard moves its position up to the next set if the rack holds that letter or a
+     * blank, and positions whose remaining {@code ?} outnumber the tiles left at their set are dropped. The rack
+     * sets only track how many tiles were spent, so words ending in a live end position are checked with
+     * {@link #matches} before they count.
+     */
+    long[] advance(long[] live, char letter, int[] rack) {
+        // Dictionary words may hold characters outside a-z; only wildcards match those, and only a blank pays.
+        int index = letter - 'a';
+        boolean plain = index >= 0 && index < 26;
+        long positions = plain ? letterPositions[index] : 0;
+        long[] next = new long[live.length];
+        if (rack == null) {
+            next[0] = closure(((live[0] & (positions | anyPositions)) << 1) | (live[0] & runPositions));
+            return next[0] == 0 ? null : next;
+        }
+        boolean payable = (plain && rack[index] > 0) || rack[AlphagramIndex.BLANK] > 0;
+        boolean any = false;
+        for (int spent = live.length - 1; spent >= 0; spent--) {
+            long reached = (live[spent] & positions) << 1;
+            if (payable && spent > 0) {
+                long paid = live[spent - 1];
+                reached |= ((paid & anyPositions) << 1) | (paid & runPositions);
+            }
+            next[spent] = closure(reached) & affordable[Math.min(live.length - 1 - spent, affordable.length - 1)];
+            any |= next[spent] != 0;
+        }
+        return any ? next : null;
+    }
+
+    /**
+     * Whether the letters behind {@code live} can form a whole match.
+     */
+    boolean accepts(long[] live) {
+        long end = 1L << tokens.length;
+        for (long positions : live) {
+            if ((positions & end) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether {@code word} matches with every wildcard letter paid for from {@code rack}; {@code rack} is restored
+     * before returning.
+     */
+    boolean matches(CharSequence word, int[] rack) {
+        return matches(word, 0, 0, rack);
+    }
+
+    private boolean matches(CharSequence word, int letter, int position, int[] rack) {
+        if (position == tokens.length) {
+            return letter == word.length();
+        }
+        char token = tokens[position];
+        if (token == ANY_RUN && matches(word, letter, position + 1, rack)) {
+            return true;
+        }
+        if (letter == word.length()) {
+            return false;
+        }
+        if (token != ANY && token != ANY_RUN) {
+            return token == word.charAt(letter) && matches(word, letter + 1, position + 1, rack);
+        }
+        int taken = take(rack, word.charAt(letter));
+        if (taken < 0) {
+            return false;
+        }
+        boolean matched = matches(word, letter + 1, token == ANY ? position + 1 : position, rack);
+        rack[taken]++;
+        return matched;
+    }
+
+    /**
+     * Adds the positions right after each live {@code *}, which it can leave without taking a letter.
+     */
+    private long closure(long live) {
+        return live | ((live & runPositions) << 1);
+    }
+
+    /**
+     * Takes a tile for {@code letter} from {@code rack} (counts as built by {@link AlphagramIndex#rackCounts}),
+     * preferring the natural letter over a blank. Returns the slot taken, or {@code -1} if the rack cannot pay.
+     */
+    static int take(int[] rack, char letter) {
+        int index = letter - 'a';
+        if (index >= 0 && index < 26 && rack[index] > 0) {
+            rack[index]--;
+            return index;
+        }
+        if (rack[AlphagramIndex.BLANK] > 0) {
+            rack[AlphagramIndex.BLANK]--;
+            return AlphagramIndex.BLANK;
+        }
+        return -1;
+    }
+}
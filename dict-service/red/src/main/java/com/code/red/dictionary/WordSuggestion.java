@@ -0,0 +1,7 @@
+package com.code.red.dictionary;
+
+/**
+ * A dictionary word close to a query, with its edit distance from it.
+ */
+public record WordSuggestion(String word, int distance) {
+}
@@ -0,0 +1,54 @@
+package com.code.red.scrabble.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.code.red.dictionary.Lexicon;
+import com.code.red.dictionary.LexiconRegistry;
+import com.code.red.scrabble.dto.DictionaryStatusResponse;
+
+@RestController
+@RequestMapping("/admin/dictionary")
+public class DictionaryAdminController {
+
+    private final LexiconRegistry lexicons;
+
+    public DictionaryAdminController(LexiconRegistry lexicons) {
+        this.lexicons = lexicons;
+    }
+
+    @GetMapping
+    public DictionaryStatusResponse status(@RequestParam(value = "lexicon", required = false) String lexicon) {
+        return toStatus(lexicons.active(lexicon));
+    }
+
+    @GetMapping("/lexicons")
+    public List<DictionaryStatusResponse> lexicons() {
+        return lexicons.lexicons().stream().map(this::toStatus).toList();
+    }
+
+    /**
+     * Starts a background rebuild of {@code lexicon} (default: the default lexicon) from {@code source} (default:
+     * its configured word list) and returns at once; the new version is live when {@link #status(String)} reports
+     * it.
+     */
+    @PostMapping("/reload")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public DictionaryStatusResponse reload(@RequestParam(value = "lexicon", required = false) String lexicon,
+            @RequestParam(value = "source", required = false) String source) {
+        lexicons.reload(lexicon, source);
+        return toStatus(lexicons.active(lexicon));
+    }
+
+    private DictionaryStatusResponse toStatus(Lexicon active) {
+        return new DictionaryStatusResponse(active.id(), active.version(), active.source(), active.wordCount(),
+                active.loadedAt(), lexicons.isReloading(), lexicons.lastFailure());
+    }
+}
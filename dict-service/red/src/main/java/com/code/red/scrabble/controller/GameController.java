@@ -10,14 +10,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.code.red.common.RejectedRequestException;
 import com.code.red.scrabble.dto.ExchangeRequest;
 import com.code.red.scrabble.dto.GameStateDto;
+import com.code.red.scrabble.dto.HintResponse;
 import com.code.red.scrabble.dto.MoveRequest;
 import com.code.red.scrabble.dto.MoveResponse;
 import com.code.red.scrabble.dto.PassRequest;
+import com.code.red.scrabble.service.HintService;
+import com.code.red.scrabble.service.MoveRejection;
 import com.code.red.scrabble.service.Placement;
 import com.code.red.scrabble.service.ScrabbleService;
 import com.code.red.scrabble.support.GameDtoMapper;
@@ -30,9 +35,11 @@ import jakarta.validation.Valid;
 public class GameController {
 
     private final ScrabbleService scrabbleService;
+    private final HintService hintService;
 
-    public GameController(ScrabbleService scrabbleService) {
+    public GameController(ScrabbleService scrabbleService, HintService hintService) {
         this.scrabbleService = scrabbleService;
+        this.hintService = hintService;
     }
 
     @GetMapping("/{gameId}/state")
@@ -40,6 +47,16 @@ public class GameController {
         return GameDtoMapper.toDto(scrabbleService.getGame(gameId));
     }
 
+    @GetMapping("/{gameId}/hint")
+    public HintResponse hint(@PathVariable UUID gameId, @RequestParam UUID playerId,
+            @RequestParam(required = false) Integer limit) {
+        return GameDtoMapper.toDto(hintService.hint(gameId, playerId, limit));
+    }
+
+    /**
+     * Plays a move. The service reports an illegal play as a result; it is turned into a
+     * {@link RejectedRequestException} here, answered with 400 naming the broken rule.
+     */
     @PostMapping("/{gameId}/move")
     @ResponseStatus(HttpStatus.OK)
     public MoveResponse playMove(@PathVariable UUID gameId, @Valid @RequestBody MoveRequest request) {
@@ -48,6 +65,11 @@ public class GameController {
                         dto.blank()))
                 .toList();
         ScrabbleService.MoveResult result = scrabbleService.playMove(gameId, request.playerId(), placements);
+        MoveRejection rejection = result.rejection();
+        if (rejection != null) {
+            throw new RejectedRequestException(rejection.message(), GameDtoMapper.toDto(rejection),
+                    rejection.word() == null ? null : rejection.suggestions());
+        }
         return new MoveResponse(GameDtoMapper.toDto(result.game()), result.scoreEarned(), result.wordsFormed());
     }
 
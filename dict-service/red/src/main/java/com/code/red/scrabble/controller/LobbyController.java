@@ -34,7 +34,8 @@ public class LobbyController {
     @PostMapping("/join")
     @ResponseStatus(HttpStatus.CREATED)
     public JoinLobbyResponse joinLobby(@Valid @RequestBody JoinLobbyRequest request) {
-        ScrabbleService.JoinResult result = scrabbleService.joinLobby(request.playerName());
+        ScrabbleService.JoinResult result = scrabbleService.joinLobby(request.playerName(),
+                request.lexicon());
         GameStateDto state = result.game() == null ? null : GameDtoMapper.toDto(result.game());
         return new JoinLobbyResponse(result.playerId(), result.waiting(), result.gameId(), state);
     }
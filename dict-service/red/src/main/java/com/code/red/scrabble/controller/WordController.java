@@ -1,18 +1,40 @@
 package com.code.red.scrabble.controller;
 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Locale;
 
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.code.red.dictionary.AnagramResult;
 import com.code.red.dictionary.DictionaryService;
+import com.code.red.dictionary.SuggestionResult;
+import com.code.red.dictionary.WordPage;
+import com.code.red.scrabble.dto.AnagramResponse;
+import com.code.red.scrabble.dto.WordBatchRequest;
+import com.code.red.scrabble.dto.WordBatchResponse;
+import com.code.red.scrabble.dto.WordCountResponse;
 import com.code.red.scrabble.dto.WordExistsResponse;
+import com.code.red.scrabble.dto.WordHooksResponse;
 import com.code.red.scrabble.dto.WordListResponse;
+import com.code.red.scrabble.dto.WordOrdinalResponse;
+import com.code.red.scrabble.dto.WordPageResponse;
 import com.code.red.scrabble.dto.WordScoreResponse;
+import com.code.red.scrabble.dto.WordSuggestResponse;
+import com.code.red.scrabble.dto.WordSuggestionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 
@@ -22,34 +44,148 @@ import jakarta.validation.constraints.Min;
 public class WordController {
 
     private final DictionaryService dictionaryService;
+    private final ObjectMapper objectMapper;
 
-    public WordController(DictionaryService dictionaryService) {
+    public WordController(DictionaryService dictionaryService, ObjectMapper objectMapper) {
         this.dictionaryService = dictionaryService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/exists")
-    public WordExistsResponse exists(@RequestParam("word") String word) {
-        boolean exists = dictionaryService.exists(word);
+    public WordExistsResponse exists(@RequestParam("word") String word,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        boolean exists = dictionaryService.exists(lexicon, word);
         return new WordExistsResponse(word.toLowerCase(), exists);
     }
 
+    @PostMapping(value = "/exists:batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public WordBatchResponse existsBatch(@Valid @RequestBody WordBatchRequest request,
+            @RequestParam(value = "bitmap", defaultValue = "false") boolean bitmap,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        List<String> words = request.words();
+        BitSet found = dictionaryService.existsBatch(lexicon, words);
+        if (bitmap) {
+            String encoded = Base64.getEncoder().encodeToString(found.toByteArray());
+            return new WordBatchResponse(words.size(), found.cardinality(), encoded, null);
+        }
+        List<WordExistsResponse> results = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            results.add(new WordExistsResponse(lowerCase(words.get(i)), found.get(i)));
+        }
+        return new WordBatchResponse(words.size(), found.cardinality(), null, results);
+    }
+
+    /**
+     * Same lookup for {@code Accept: application/x-ndjson}: one {@link WordExistsResponse} per line, written as the
+     * response streams out instead of being assembled in memory first.
+     */
+    @PostMapping(value = "/exists:batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody existsBatchStream(@Valid @RequestBody WordBatchRequest request,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        List<String> words = request.words();
+        BitSet found = dictionaryService.existsBatch(lexicon, words);
+        return outputStream -> {
+            for (int i = 0; i < words.size(); i++) {
+                outputStream.write(objectMapper.writeValueAsBytes(
+                        new WordExistsResponse(lowerCase(words.get(i)), found.get(i))));
+                outputStream.write('\n');
+            }
+        };
+    }
+
     @GetMapping("/prefix")
-    public WordListResponse prefix(@RequestParam(value = "prefix", required = false) String prefix,
-            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit) {
-        List<String> results = dictionaryService.prefix(prefix, limit);
-        return new WordListResponse(results, results.size());
+    public WordPageResponse prefix(@RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "order", required = false) String order,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        WordPage page = dictionaryService.prefixPage(lexicon, prefix, limit, cursor, order);
+        return new WordPageResponse(page.words(), page.words().size(), page.nextCursor());
     }
 
     @GetMapping("/anagrams")
-    public WordListResponse anagrams(@RequestParam("letters") String letters,
-            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit) {
-        List<String> results = dictionaryService.anagrams(letters, limit);
+    public AnagramResponse anagrams(@RequestParam("letters") String letters,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(500) Integer limit,
+            @RequestParam(value = "exact", defaultValue = "false") boolean exact,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        AnagramResult result = dictionaryService.anagrams(lexicon, letters, limit, exact);
+        return new AnagramResponse(result.words(), result.words().size(), result.complete());
+    }
+
+    @GetMapping("/pattern")
+    public WordListResponse pattern(@RequestParam("pattern") String pattern,
+            @RequestParam(value = "rack", required = false) String rack,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        List<String> results = dictionaryService.pattern(lexicon, pattern, rack, limit);
+        return new WordListResponse(results, results.size());
+    }
+
+    @GetMapping("/hooks")
+    public WordHooksResponse hooks(@RequestParam("word") String word,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        return new WordHooksResponse(word.toLowerCase(), dictionaryService.frontHooks(lexicon, word),
+                dictionaryService.backHooks(lexicon, word));
+    }
+
+    @GetMapping("/suggest")
+    public WordSuggestResponse suggest(@RequestParam("word") String word,
+            @RequestParam(value = "distance", required = false) @Min(1) @Max(2) Integer distance,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        SuggestionResult result = dictionaryService.suggest(lexicon, word, distance, limit);
+        List<WordSuggestionDto> suggestions = result.suggestions().stream()
+                .map(suggestion -> new WordSuggestionDto(suggestion.word(), suggestion.distance()))
+                .toList();
+        return new WordSuggestResponse(word.toLowerCase(), suggestions, result.complete());
+    }
+
+    @GetMapping("/contains")
+    public WordListResponse contains(@RequestParam(value = "infix", required = false) String infix,
+            @RequestParam(value = "suffix", required = false) String suffix,
+            @RequestParam(value = "limit", required = false) @Min(1) @Max(50) Integer limit,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        List<String> results = dictionaryService.containing(lexicon, infix, suffix, limit);
+        return new WordListResponse(results, results.size());
+    }
+
+    @GetMapping("/rank")
+    public WordOrdinalResponse rank(@RequestParam("word") String word,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        int ordinal = dictionaryService.rank(lexicon, word);
+        return new WordOrdinalResponse(word.toLowerCase(), ordinal);
+    }
+
+    @GetMapping("/select")
+    public WordOrdinalResponse select(@RequestParam("ordinal") @Min(0) int ordinal,
+            @RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        return new WordOrdinalResponse(dictionaryService.select(lexicon, prefix, ordinal), ordinal);
+    }
+
+    @GetMapping("/count")
+    public WordCountResponse count(@RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        int count = dictionaryService.countByPrefix(lexicon, prefix);
+        return new WordCountResponse(prefix == null ? "" : prefix.toLowerCase(), count);
+    }
+
+    @GetMapping("/random")
+    public WordListResponse random(@RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "count", required = false) @Min(1) @Max(50) Integer count,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        List<String> results = dictionaryService.randomWords(lexicon, prefix, count);
         return new WordListResponse(results, results.size());
     }
 
     @GetMapping("/score")
-    public WordScoreResponse score(@RequestParam("word") String word) {
-        int score = dictionaryService.score(word);
+    public WordScoreResponse score(@RequestParam("word") String word,
+            @RequestParam(value = "lexicon", required = false) String lexicon) {
+        int score = dictionaryService.score(lexicon, word);
         return new WordScoreResponse(word.toLowerCase(), score);
     }
+
+    private static String lowerCase(String word) {
+        return word == null ? null : word.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,6 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+public record AnagramResponse(List<String> words, int count, boolean complete) {
+}
@@ -0,0 +1,7 @@
+package com.code.red.scrabble.dto;
+
+import java.time.Instant;
+
+public record DictionaryStatusResponse(String lexicon, int version, String source, int words, Instant loadedAt,
+        boolean reloading, String lastFailure) {
+}
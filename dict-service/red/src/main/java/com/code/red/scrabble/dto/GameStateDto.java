@@ -10,5 +10,8 @@ public record GameStateDto(UUID gameId,
         List<PlayerDto> players,
         UUID currentPlayerId,
         GameStatus status,
-        int tileBagRemaining) {
+        int tileBagRemaining,
+        String lexicon,
+        int lexiconVersion,
+        long version) {
 }
@@ -0,0 +1,7 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+public record HintMoveDto(String word, int row, int col, String direction, int score,
+        List<PlacementDto> placements) {
+}
@@ -0,0 +1,6 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+public record HintResponse(List<HintMoveDto> moves, int evaluated, boolean complete) {
+}
@@ -8,5 +8,8 @@ public record JoinLobbyRequest(
         @NotBlank
         @Size(min = 1, max = 32)
         @Pattern(regexp = "^[A-Za-z0-9_]+$", message = "Player name must be alphanumeric or underscore")
-        String playerName) {
+        String playerName,
+        @Size(max = 32)
+        @Pattern(regexp = "^[A-Za-z0-9_-]*$", message = "Lexicon must be alphanumeric, underscore or dash")
+        String lexicon) {
 }
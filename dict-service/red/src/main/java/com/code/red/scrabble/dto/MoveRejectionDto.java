@@ -0,0 +1,11 @@
+package com.code.red.scrabble.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Machine-readable reason a move was rejected: the rule broken ({@code MoveRejection.Reason} name), plus the
+ * offending word or square when there is one.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MoveRejectionDto(String reason, String word, Integer row, Integer col) {
+}
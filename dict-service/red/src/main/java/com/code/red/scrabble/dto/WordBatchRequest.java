@@ -0,0 +1,8 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+public record WordBatchRequest(@NotNull List<String> words) {
+}
@@ -0,0 +1,14 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of a batch lookup. {@code bitmap} is set in bitmap mode: base64 of a little-endian bitmap in which bit
+ * {@code i} (byte {@code i / 8}, bit {@code i % 8}) marks the {@code i}-th word as valid. Otherwise
+ * {@code results} lists every word in request order.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WordBatchResponse(int count, int found, String bitmap, List<WordExistsResponse> results) {
+}
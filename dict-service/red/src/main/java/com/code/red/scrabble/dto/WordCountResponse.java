@@ -0,0 +1,4 @@
+package com.code.red.scrabble.dto;
+
+public record WordCountResponse(String prefix, int count) {
+}
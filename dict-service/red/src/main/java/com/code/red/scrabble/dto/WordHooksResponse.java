@@ -0,0 +1,4 @@
+package com.code.red.scrabble.dto;
+
+public record WordHooksResponse(String word, String frontHooks, String backHooks) {
+}
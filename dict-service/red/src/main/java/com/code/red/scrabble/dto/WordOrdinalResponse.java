@@ -0,0 +1,4 @@
+package com.code.red.scrabble.dto;
+
+public record WordOrdinalResponse(String word, int ordinal) {
+}
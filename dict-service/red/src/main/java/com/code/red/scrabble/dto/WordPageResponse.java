@@ -0,0 +1,6 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+public record WordPageResponse(List<String> words, int count, String nextCursor) {
+}
@@ -0,0 +1,6 @@
+package com.code.red.scrabble.dto;
+
+import java.util.List;
+
+public record WordSuggestResponse(String word, List<WordSuggestionDto> suggestions, boolean complete) {
+}
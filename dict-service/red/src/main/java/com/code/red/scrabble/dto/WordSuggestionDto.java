@@ -0,0 +1,4 @@
+package com.code.red.scrabble.dto;
+
+public record WordSuggestionDto(String word, int distance) {
+}
@@ -1,37 +1,169 @@
 package com.code.red.scrabble.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import com.code.red.dictionary.WordGraph;
+
+/**
+ * The 15x15 grid, stored as one byte per square (letter and blank flag, zero when empty) plus occupancy bitboards:
+ * bit {@code col} of {@link #rowOccupancy(int)} and bit {@code row} of {@link #columnOccupancy(int)} are set when that
+ * square holds a tile. Emptiness, adjacency and gap checks along a line are then a few bit operations on one
+ * {@code int}, and {@link #hasAnyTile()} is a counter read. Tiles handed out by {@link #get} are shared canonical
+ * instances, so reads do not allocate.
+ *
+ * <p>A board created with a {@link WordGraph} also keeps cross checks: for every empty square and
+ * play direction, the letters that would form a valid word across the play there, and the score of the tiles
+ * already in that word. They are refreshed on each {@link #place} for just the squares bordering the touched row
+ * and column runs, since no other cross word changes.
+ */
 public class Board {
 
     public static final int SIZE = 15;
 
-    private final Tile[][] grid = new Tile[SIZE][SIZE];
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final int NO_CROSS_WORD = -1;
+    private static final int BLANK_FLAG = 0x20;
+
+    /**
+     * Canonical tiles by square code: {@code letter - 'a' + 1}, plus {@link #BLANK_FLAG} for a blank.
+     */
+    private static final Tile[] TILES = new Tile[2 * BLANK_FLAG];
+
+    static {
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            TILES[letter - 'a' + 1] = Tile.of(letter);
+            TILES[(letter - 'a' + 1) | BLANK_FLAG] = Tile.blankAs(letter);
+        }
+    }
+
+    private final byte[] squares = new byte[SIZE * SIZE];
+    private final int[] rowBits = new int[SIZE];
+    private final int[] columnBits = new int[SIZE];
+    private int tileCount;
+    private final WordGraph graph;
+    private final int[][] crossMasks;
+    private final int[][] crossScores;
+
+    public Board() {
+        this(null);
+    }
+
+    public Board(WordGraph graph) {
+        this.graph = graph;
+        if (graph == null) {
+            this.crossMasks = null;
+            this.crossScores = null;
+            return;
+        }
+        this.crossMasks = new int[2][SIZE * SIZE];
+        this.crossScores = new int[2][SIZE * SIZE];
+        for (int direction = 0; direction < 2; direction++) {
+            Arrays.fill(crossMasks[direction], ALL_LETTERS);
+            Arrays.fill(crossScores[direction], NO_CROSS_WORD);
+        }
+    }
 
     public Tile get(int row, int col) {
         validateBounds(row, col);
-        return grid[row][col];
+        return TILES[squares[row * SIZE + col]];
     }
 
     public boolean isEmpty(int row, int col) {
-        return get(row, col) == null;
+        validateBounds(row, col);
+        return (rowBits[row] & (1 << col)) == 0;
     }
 
+    /**
+     * Puts {@code tile} on the square, or clears it when {@code tile} is {@code null}.
+     *
+     * @throws IllegalArgumentException if the square is off the board or the tile is an unassigned blank
+     */
     public void place(int row, int col, Tile tile) {
         validateBounds(row, col);
-        grid[row][col] = tile;
+        int square = row * SIZE + col;
+        if (squares[square] != 0) {
+            tileCount--;
+        }
+        squares[square] = (byte) encode(tile);
+        if (tile == null) {
+            rowBits[row] &= ~(1 << col);
+            columnBits[col] &= ~(1 << row);
+        } else {
+            rowBits[row] |= 1 << col;
+            columnBits[col] |= 1 << row;
+            tileCount++;
+        }
+        if (graph != null) {
+            refreshCrossChecks(row, col);
+        }
     }
 
     public boolean hasAnyTile() {
-        for (int row = 0; row < SIZE; row++) {
-            for (int col = 0; col < SIZE; col++) {
-                if (grid[row][col] != null) {
-                    return true;
-                }
+        return tileCount > 0;
+    }
+
+    /**
+     * Occupied squares of {@code row}, bit {@code col} per tile; {@code 0} for rows off the board, so callers can
+     * look at the neighbours of edge rows without a bounds check.
+     */
+    public int rowOccupancy(int row) {
+        return row >= 0 && row < SIZE ? rowBits[row] : 0;
+    }
+
+    /**
+     * Occupied squares of {@code col}, bit {@code row} per tile; {@code 0} for columns off the board.
+     */
+    public int columnOccupancy(int col) {
+        return col >= 0 && col < SIZE ? columnBits[col] : 0;
+    }
+
+    /**
+     * Whether this board keeps cross checks computed against {@code graph}.
+     */
+    public boolean tracksCrossChecks(WordGraph graph) {
+        return this.graph != null && this.graph == graph;
+    }
+
+    /**
+     * Letters (bit {@code i} for {@code 'a' + i}) that may go on the empty square in a play along the given
+     * direction without forming an invalid word across it. All letters when no tile borders the square across the
+     * play.
+     *
+     * @throws IllegalStateException if the board was created without a word graph
+     */
+    public int crossCheckMask(int row, int col, boolean horizontalPlay) {
+        validateBounds(row, col);
+        requireCrossChecks();
+        return crossMasks[horizontalPlay ? 0 : 1][row * SIZE + col];
+    }
+
+    /**
+     * Score of the tiles already on the board in the word a play along the given direction would form across the
+     * square, or {@code -1} if it would form none.
+     *
+     * @throws IllegalStateException if the board was created without a word graph
+     */
+    public int crossCheckScore(int row, int col, boolean horizontalPlay) {
+        validateBounds(row, col);
+        requireCrossChecks();
+        return crossScores[horizontalPlay ? 0 : 1][row * SIZE + col];
+    }
+
+    public Board copy() {
+        Board copy = new Board(graph);
+        System.arraycopy(squares, 0, copy.squares, 0, squares.length);
+        System.arraycopy(rowBits, 0, copy.rowBits, 0, SIZE);
+        System.arraycopy(columnBits, 0, copy.columnBits, 0, SIZE);
+        copy.tileCount = tileCount;
+        if (graph != null) {
+            for (int direction = 0; direction < 2; direction++) {
+                System.arraycopy(crossMasks[direction], 0, copy.crossMasks[direction], 0, SIZE * SIZE);
+                System.arraycopy(crossScores[direction], 0, copy.crossScores[direction], 0, SIZE * SIZE);
             }
         }
-        return false;
+        return copy;
     }
 
     public List<String> asStringRows() {
@@ -39,7 +171,7 @@ public class Board {
         for (int row = 0; row < SIZE; row++) {
             StringBuilder builder = new StringBuilder(SIZE);
             for (int col = 0; col < SIZE; col++) {
-                Tile tile = grid[row][col];
+                Tile tile = TILES[squares[row * SIZE + col]];
                 builder.append(tile == null ? '.' : tile.letter());
             }
             rows.add(builder.toString());
@@ -47,6 +179,110 @@ public class Board {
         return rows;
     }
 
+    /**
+     * Recomputes the squares whose cross words run through {@code (row, col)}: the square itself and the first
+     * empty square past either end of its column run (checks for horizontal plays) and of its row run (checks for
+     * vertical plays).
+     */
+    private void refreshCrossChecks(int row, int col) {
+        if (squares[row * SIZE + col] == 0) {
+            computeCrossCheck(row, col, true);
+            computeCrossCheck(row, col, false);
+        }
+        int up = runStart(columnBits[col], row) - 1;
+        if (up >= 0) {
+            computeCrossCheck(up, col, true);
+        }
+        int down = runEnd(columnBits[col], row) + 1;
+        if (down < SIZE) {
+            computeCrossCheck(down, col, true);
+        }
+        int left = runStart(rowBits[row], col) - 1;
+        if (left >= 0) {
+            computeCrossCheck(row, left, false);
+        }
+        int right = runEnd(rowBits[row], col) + 1;
+        if (right < SIZE) {
+            computeCrossCheck(row, right, false);
+        }
+    }
+
+    private void computeCrossCheck(int row, int col, boolean horizontalPlay) {
+        int deltaRow = horizontalPlay ? 1 : 0;
+        int deltaCol = horizontalPlay ? 0 : 1;
+        int line = horizontalPlay ? columnBits[col] : rowBits[row];
+        int position = horizontalPlay ? row : col;
+        int before = position - runStart(line, position);
+        int after = runEnd(line, position) - position;
+        int direction = horizontalPlay ? 0 : 1;
+        int square = row * SIZE + col;
+        if (before == 0 && after == 0) {
+            crossMasks[direction][square] = ALL_LETTERS;
+            crossScores[direction][square] = NO_CROSS_WORD;
+            return;
+        }
+        int score = 0;
+        int node = graph.root();
+        for (int i = before; i > 0; i--) {
+            Tile tile = TILES[squares[(row - i * deltaRow) * SIZE + col - i * deltaCol]];
+            score += tile.score();
+            if (node != WordGraph.NO_NODE) {
+                node = graph.child(node, tile.letter());
+            }
+        }
+        for (int i = 1; i <= after; i++) {
+            score += TILES[squares[(row + i * deltaRow) * SIZE + col + i * deltaCol]].score();
+        }
+        int mask = 0;
+        if (node != WordGraph.NO_NODE) {
+            for (int candidates = graph.childMask(node); candidates != 0; candidates &= candidates - 1) {
+                int index = Integer.numberOfTrailingZeros(candidates);
+                int next = graph.child(node, (char) ('a' + index));
+                for (int i = 1; i <= after && next != WordGraph.NO_NODE; i++) {
+                    next = graph.child(next, TILES[squares[(row + i * deltaRow) * SIZE + col + i * deltaCol]].letter());
+                }
+                if (next != WordGraph.NO_NODE && graph.isTerminal(next)) {
+                    mask |= 1 << index;
+                }
+            }
+        }
+        crossMasks[direction][square] = mask;
+        crossScores[direction][square] = score;
+    }
+
+    /**
+     * First index of the run of set bits in {@code line} that contains or ends just before {@code position}.
+     */
+    public static int runStart(int line, int position) {
+        int gaps = ~line & ((1 << position) - 1);
+        return gaps == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(gaps);
+    }
+
+    /**
+     * Last index of the run of set bits in {@code line} that contains or starts just after {@code position}.
+     */
+    public static int runEnd(int line, int position) {
+        int gaps = ~line & ~((2 << position) - 1) & ((1 << SIZE) - 1);
+        return gaps == 0 ? SIZE - 1 : Integer.numberOfTrailingZeros(gaps) - 1;
+    }
+
+    private static int encode(Tile tile) {
+        if (tile == null) {
+            return 0;
+        }
+        char letter = tile.letter();
+        if (letter < 'a' || letter > 'z') {
+            throw new IllegalArgumentException("Only lettered tiles can be placed");
+        }
+        return (letter - 'a' + 1) | (tile.blank() ? BLANK_FLAG : 0);
+    }
+
+    private void requireCrossChecks() {
+        if (graph == null) {
+            throw new IllegalStateException("Board does not track cross checks");
+        }
+    }
+
     private static void validateBounds(int row, int col) {
         if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
             throw new IllegalArgumentException("Board coordinates out of range");
@@ -1,12 +1,21 @@
 package com.code.red.scrabble.model;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * The game as of one commit. {@code version} increases with every committed change; player clocks are as of
+ * {@code turnStartedAt}, when the current player's clock last started running.
+ */
 public record GameSnapshot(UUID gameId,
         List<String> board,
         List<PlayerSnapshot> players,
         UUID currentPlayerId,
         GameStatus status,
-        int tileBagRemaining) {
+        int tileBagRemaining,
+        String lexicon,
+        int lexiconVersion,
+        long version,
+        Instant turnStartedAt) {
 }
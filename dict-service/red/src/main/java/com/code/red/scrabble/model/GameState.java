@@ -6,10 +6,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import com.code.red.dictionary.Lexicon;
+
 public class GameState {
 
     private final UUID id;
-    private final Board board = new Board();
+    private final Lexicon lexicon;
+    private final Board board;
     private final Map<UUID, PlayerState> players = new LinkedHashMap<>();
     private final List<UUID> turnOrder;
     private final TileBag tileBag;
@@ -19,8 +22,13 @@ public class GameState {
     private GameStatus status = GameStatus.ACTIVE;
     private int consecutivePasses;
 
-    public GameState(UUID id, List<PlayerState> playerStates, TileBag tileBag) {
+    /**
+     * The game keeps {@code lexicon} for its whole life, whatever dictionary is published later.
+     */
+    public GameState(UUID id, List<PlayerState> playerStates, TileBag tileBag, Lexicon lexicon) {
         this.id = id;
+        this.lexicon = lexicon;
+        this.board = new Board(lexicon.dictionary().graph());
         this.tileBag = tileBag;
         this.turnOrder = List.copyOf(playerStates.stream().map(PlayerState::getId).toList());
         for (PlayerState player : playerStates) {
@@ -33,6 +41,10 @@ public class GameState {
         return id;
     }
 
+    public Lexicon getLexicon() {
+        return lexicon;
+    }
+
     public Board getBoard() {
         return board;
     }
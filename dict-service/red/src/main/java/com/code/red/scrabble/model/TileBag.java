@@ -3,39 +3,11 @@ package com.code.red.scrabble.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.SplittableRandom;
 
-public class TileBag {
+import com.code.red.dictionary.TileDistribution;
 
-    private static final Map<Character, Integer> DISTRIBUTION = Map.ofEntries(
-            Map.entry('a', 9),
-            Map.entry('b', 2),
-            Map.entry('c', 2),
-            Map.entry('d', 4),
-            Map.entry('e', 12),
-            Map.entry('f', 2),
-            Map.entry('g', 3),
-            Map.entry('h', 2),
-            Map.entry('i', 9),
-            Map.entry('j', 1),
-            Map.entry('k', 1),
-            Map.entry('l', 4),
-            Map.entry('m', 2),
-            Map.entry('n', 6),
-            Map.entry('o', 8),
-            Map.entry('p', 2),
-            Map.entry('q', 1),
-            Map.entry('r', 6),
-            Map.entry('s', 4),
-            Map.entry('t', 6),
-            Map.entry('u', 4),
-            Map.entry('v', 2),
-            Map.entry('w', 2),
-            Map.entry('x', 1),
-            Map.entry('y', 2),
-            Map.entry('z', 1),
-            Map.entry('?', 2));
+public class TileBag {
 
     private final List<Tile> tiles;
     private final SplittableRandom random;
@@ -69,10 +41,15 @@ public class TileBag {
     }
 
     private void populate() {
-        for (Map.Entry<Character, Integer> entry : DISTRIBUTION.entrySet()) {
-            for (int i = 0; i < entry.getValue(); i++) {
-                tiles.add(Tile.of(entry.getKey()));
-            }
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            addTiles(letter);
+        }
+        addTiles('?');
+    }
+
+    private void addTiles(char letter) {
+        for (int i = 0; i < TileDistribution.tilesFor(letter); i++) {
+            tiles.add(Tile.of(letter));
         }
     }
 
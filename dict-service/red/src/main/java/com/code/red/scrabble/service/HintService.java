@@ -0,0 +1,93 @@
+package com.code.red.scrabble.service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.code.red.config.ScrabbleProperties;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs move generation for hints on a small fixed pool with a bounded queue. The game lock is only held while the
+ * position is copied, and requests beyond the queue are rejected rather than queued, so hint traffic cannot hold up
+ * move processing or pile up behind a slow search.
+ */
+@Service
+public class HintService {
+
+    private static final Logger log = LoggerFactory.getLogger(HintService.class);
+    private static final long RESULT_GRACE_MILLIS = 1000;
+
+    private final ScrabbleService scrabbleService;
+    private final MoveGenerator moveGenerator;
+    private final ScrabbleProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public HintService(ScrabbleService scrabbleService, MoveGenerator moveGenerator, ScrabbleProperties properties) {
+        this.scrabbleService = scrabbleService;
+        this.moveGenerator = moveGenerator;
+        this.properties = properties;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getHintThreads(), properties.getHintThreads(), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getHintQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "hint-worker-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Best plays for the player's current rack. The time budget runs from the request, so time spent queued for a
+     * worker counts against it and a late search returns whatever it found, flagged as incomplete.
+     *
+     * @throws RejectedExecutionException if every worker is busy and the queue is full
+     */
+    public MoveGenerator.TopMoves hint(UUID gameId, UUID playerId, Integer limit) {
+        ScrabbleService.HintPosition position = scrabbleService.hintPosition(gameId, playerId);
+        int effectiveLimit = limit == null || limit <= 0
+                ? properties.getMaxHintMoves()
+                : Math.min(limit, properties.getMaxHintMoves());
+        long budgetMillis = properties.getHintTimeBudgetMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Future<MoveGenerator.TopMoves> future;
+        try {
+            future = executor.submit(
+                    () -> moveGenerator.topMoves(position.dictionary().graph(), position.board(), position.rack(),
+                            effectiveLimit, deadline));
+        } catch (RejectedExecutionException e) {
+            log.debug("Rejected hint for game {}: {} queued", gameId, executor.getQueue().size());
+            throw new RejectedExecutionException("Hint service busy, try again later");
+        }
+        try {
+            return future.get(budgetMillis + RESULT_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing hint");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Hint timed out");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Hint failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
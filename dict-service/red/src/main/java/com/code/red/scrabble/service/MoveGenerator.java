@@ -0,0 +1,346 @@
+package com.code.red.scrabble.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.code.red.dictionary.ScrabbleScore;
+import com.code.red.dictionary.WordGraph;
+import com.code.red.scrabble.model.Board;
+import com.code.red.scrabble.model.Tile;
+
+/**
+ * Enumerates every legal play of a rack on a board, scored the way {@link MoveValidator} scores it.
+ *
+ * <p>Follows Appel and Jacobson: each line is searched once per direction (columns by transposing the board),
+ * words may only start from an anchor (an empty square next to a tile, or the centre on an empty board), and every
+ * empty square carries a cross-check mask of the letters that keep its perpendicular word valid. Words are grown
+ * through the dictionary's {@link WordGraph}, so a branch is dropped as soon as it stops being a prefix.
+ */
+@Component
+public class MoveGenerator {
+
+    static final Comparator<GeneratedMove> RANKING = Comparator.comparingInt(GeneratedMove::score).reversed()
+            .thenComparing(GeneratedMove::word)
+            .thenComparingInt(GeneratedMove::row)
+            .thenComparingInt(GeneratedMove::col)
+            .thenComparing(GeneratedMove::horizontal);
+
+    private static final int BOARD_CENTER = 7;
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final int BLANK = 26;
+    private static final int DEADLINE_CHECK_MASK = (1 << 12) - 1;
+
+    /**
+     * Passes every legal play of words in {@code graph} to {@code sink}. Returns {@code false} if
+     * {@code deadlineNanos} (a {@link System#nanoTime()} value) passed first, in which case only part of the board
+     * was searched.
+     */
+    public boolean generate(WordGraph graph, Board board, List<Tile> rack, long deadlineNanos,
+            Consumer<GeneratedMove> sink) {
+        return new Search(graph, board, rack, deadlineNanos, sink).run();
+    }
+
+    /**
+     * The {@code limit} highest scoring plays found before {@code deadlineNanos}, best first.
+     */
+    public TopMoves topMoves(WordGraph graph, Board board, List<Tile> rack, int limit, long deadlineNanos) {
+        PriorityQueue<GeneratedMove> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        int[] evaluated = new int[1];
+        boolean complete = generate(graph, board, rack, deadlineNanos, move -> {
+            evaluated[0]++;
+            best.offer(move);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<GeneratedMove> moves = new ArrayList<>(best);
+        moves.sort(RANKING);
+        return new TopMoves(moves, evaluated[0], complete);
+    }
+
+    /**
+     * A play whose main word starts at ({@code row}, {@code col}) and runs across or down.
+     */
+    public record GeneratedMove(String word, int row, int col, boolean horizontal, int score,
+            List<Placement> placements) {
+    }
+
+    public record TopMoves(List<GeneratedMove> moves, int evaluated, boolean complete) {
+    }
+
+    /**
+     * State of one generation run. Lines are always searched left to right in {@link #letters}; for the vertical
+     * pass the board is transposed into it and coordinates are swapped back when a move is reported.
+     */
+    private static final class Search {
+
+        private final WordGraph graph;
+        private final Board board;
+        private final boolean boardCrossChecks;
+        private final Tile[][] tiles = new Tile[Board.SIZE][Board.SIZE];
+        private final long deadlineNanos;
+        private final Consumer<GeneratedMove> sink;
+        private final int[] rack = new int[27];
+        private final int rackSize;
+        private final boolean boardEmpty;
+
+        private final char[][] letters = new char[Board.SIZE][Board.SIZE];
+        private final int[][] scores = new int[Board.SIZE][Board.SIZE];
+        private final int[] crossMask = new int[Board.SIZE];
+        private final int[] crossScore = new int[Board.SIZE];
+        private final boolean[] anchor = new boolean[Board.SIZE];
+        private final char[] placedLetter = new char[Board.SIZE];
+        private final boolean[] placedBlank = new boolean[Board.SIZE];
+        private boolean horizontal;
+        private int steps;
+        private boolean expired;
+
+        Search(WordGraph graph, Board board, List<Tile> rackTiles, long deadlineNanos,
+                Consumer<GeneratedMove> sink) {
+            this.graph = graph;
+            this.board = board;
+            this.boardCrossChecks = board.tracksCrossChecks(graph);
+            this.deadlineNanos = deadlineNanos;
+            this.sink = sink;
+            boolean empty = true;
+            for (int row = 0; row < Board.SIZE; row++) {
+                for (int col = 0; col < Board.SIZE; col++) {
+                    tiles[row][col] = board.get(row, col);
+                    empty &= tiles[row][col] == null;
+                }
+            }
+            this.boardEmpty = empty;
+            int size = 0;
+            for (Tile tile : rackTiles) {
+                if (tile.blank()) {
+                    rack[BLANK]++;
+                } else if (tile.letter() >= 'a' && tile.letter() <= 'z') {
+                    rack[tile.letter() - 'a']++;
+                } else {
+                    continue;
+                }
+                size++;
+            }
+            this.rackSize = size;
+        }
+
+        boolean run() {
+            if (rackSize == 0) {
+                return true;
+            }
+            for (int pass = 0; pass < 2; pass++) {
+                horizontal = pass == 0;
+                for (int row = 0; row < Board.SIZE; row++) {
+                    for (int col = 0; col < Board.SIZE; col++) {
+                        Tile tile = horizontal ? tiles[row][col] : tiles[col][row];
+                        letters[row][col] = tile == null ? 0 : tile.letter();
+                        scores[row][col] = tile == null ? 0 : tile.score();
+                    }
+                }
+                for (int row = 0; row < Board.SIZE; row++) {
+                    if (System.nanoTime() - deadlineNanos > 0) {
+                        expired = true;
+                    }
+                    if (expired) {
+                        return false;
+                    }
+                    prepareRow(row);
+                    generateRow(row);
+                }
+            }
+            return !expired;
+        }
+
+        /**
+         * Computes anchors and, for every empty square of {@code row}, the letters allowed by the word running
+         * through it perpendicular to the row together with that word's existing tile score ({@code -1} if none).
+         * Boards that keep their own cross checks for this graph supply the latter directly.
+         */
+        private void prepareRow(int row) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                if (letters[row][col] != 0) {
+                    anchor[col] = false;
+                    continue;
+                }
+                int top = row;
+                while (top > 0 && letters[top - 1][col] != 0) {
+                    top--;
+                }
+                int bottom = row;
+                while (bottom < Board.SIZE - 1 && letters[bottom + 1][col] != 0) {
+                    bottom++;
+                }
+                if (boardEmpty) {
+                    anchor[col] = row == BOARD_CENTER && col == BOARD_CENTER;
+                } else {
+                    anchor[col] = top < row || bottom > row
+                            || (col > 0 && letters[row][col - 1] != 0)
+                            || (col < Board.SIZE - 1 && letters[row][col + 1] != 0);
+                }
+                if (boardCrossChecks) {
+                    int boardRow = horizontal ? row : col;
+                    int boardCol = horizontal ? col : row;
+                    crossMask[col] = board.crossCheckMask(boardRow, boardCol, horizontal);
+                    crossScore[col] = board.crossCheckScore(boardRow, boardCol, horizontal);
+                    continue;
+                }
+                if (top == row && bottom == row) {
+                    crossMask[col] = ALL_LETTERS;
+                    crossScore[col] = -1;
+                    continue;
+                }
+                int sum = 0;
+                for (int r = top; r <= bottom; r++) {
+                    sum += scores[r][col];
+                }
+                int node = graph.root();
+                for (int r = top; r < row && node != WordGraph.NO_NODE; r++) {
+                    node = graph.child(node, letters[r][col]);
+                }
+                int mask = 0;
+                if (node != WordGraph.NO_NODE) {
+                    for (int candidates = graph.childMask(node); candidates != 0; candidates &= candidates - 1) {
+                        int index = Integer.numberOfTrailingZeros(candidates);
+                        int next = graph.child(node, (char) ('a' + index));
+                        for (int r = row + 1; r <= bottom && next != WordGraph.NO_NODE; r++) {
+                            next = graph.child(next, letters[r][col]);
+                        }
+                        if (next != WordGraph.NO_NODE && graph.isTerminal(next)) {
+                            mask |= 1 << index;
+                        }
+                    }
+                }
+                crossMask[col] = mask;
+                crossScore[col] = sum;
+            }
+        }
+
+        private void generateRow(int row) {
+            int previousAnchor = -1;
+            for (int col = 0; col < Board.SIZE && !expired; col++) {
+                if (!anchor[col]) {
+                    continue;
+                }
+                if (col > 0 && letters[row][col - 1] != 0) {
+                    int start = col - 1;
+                    while (start > 0 && letters[row][start - 1] != 0) {
+                        start--;
+                    }
+                    int node = graph.root();
+                    for (int c = start; c < col && node != WordGraph.NO_NODE; c++) {
+                        node = graph.child(node, letters[row][c]);
+                    }
+                    if (node != WordGraph.NO_NODE) {
+                        extendRight(row, start, col, col, node, 0);
+                    }
+                } else {
+                    // Squares back to the previous anchor are empty and unconstrained, so any prefix fits there.
+                    int maxLeft = Math.min(col - previousAnchor - 1, rackSize - 1);
+                    for (int length = 0; length <= maxLeft; length++) {
+                        leftPart(row, col - length, col - length, col, graph.root(), 0);
+                    }
+                }
+                previousAnchor = col;
+            }
+        }
+
+        private void leftPart(int row, int start, int col, int anchorCol, int node, int placed) {
+            if (col == anchorCol) {
+                extendRight(row, start, col, anchorCol, node, placed);
+                return;
+            }
+            for (int candidates = graph.childMask(node); candidates != 0 && !expired;
+                    candidates &= candidates - 1) {
+                int index = Integer.numberOfTrailingZeros(candidates);
+                char letter = (char) ('a' + index);
+                int next = graph.child(node, letter);
+                for (int slot = index; slot != -1; slot = slot == BLANK ? -1 : BLANK) {
+                    if (rack[slot] == 0) {
+                        continue;
+                    }
+                    rack[slot]--;
+                    placedLetter[col] = letter;
+                    placedBlank[col] = slot == BLANK;
+                    leftPart(row, start, col + 1, anchorCol, next, placed + 1);
+                    placedLetter[col] = 0;
+                    rack[slot]++;
+                }
+            }
+        }
+
+        private void extendRight(int row, int start, int col, int anchorCol, int node, int placed) {
+            if ((++steps & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() - deadlineNanos > 0) {
+                expired = true;
+            }
+            if (expired) {
+                return;
+            }
+            if (col < Board.SIZE && letters[row][col] != 0) {
+                int next = graph.child(node, letters[row][col]);
+                if (next != WordGraph.NO_NODE) {
+                    extendRight(row, start, col + 1, anchorCol, next, placed);
+                }
+                return;
+            }
+            if (col > anchorCol && graph.isTerminal(node)) {
+                record(row, start, col, placed);
+            }
+            if (col == Board.SIZE || placed == rackSize) {
+                return;
+            }
+            for (int candidates = graph.childMask(node) & crossMask[col]; candidates != 0;
+                    candidates &= candidates - 1) {
+                int index = Integer.numberOfTrailingZeros(candidates);
+                char letter = (char) ('a' + index);
+                int next = graph.child(node, letter);
+                for (int slot = index; slot != -1; slot = slot == BLANK ? -1 : BLANK) {
+                    if (rack[slot] == 0) {
+                        continue;
+                    }
+                    rack[slot]--;
+                    placedLetter[col] = letter;
+                    placedBlank[col] = slot == BLANK;
+                    extendRight(row, start, col + 1, anchorCol, next, placed + 1);
+                    placedLetter[col] = 0;
+                    rack[slot]++;
+                }
+            }
+        }
+
+        private void record(int row, int start, int end, int placed) {
+            // MoveValidator reads a single tile as a vertical play, so one-tile moves come from the vertical pass
+            // only; that also keeps them from being reported twice.
+            if (horizontal && placed == 1) {
+                return;
+            }
+            StringBuilder word = new StringBuilder(end - start);
+            List<Placement> placements = new ArrayList<>(placed);
+            int mainScore = 0;
+            int crossScores = 0;
+            for (int col = start; col < end; col++) {
+                char letter = placedLetter[col];
+                if (letter == 0) {
+                    word.append(letters[row][col]);
+                    mainScore += scores[row][col];
+                    continue;
+                }
+                word.append(letter);
+                int value = placedBlank[col] ? 0 : ScrabbleScore.valueFor(letter);
+                mainScore += value;
+                if (crossScore[col] >= 0) {
+                    crossScores += crossScore[col] + value;
+                }
+                placements.add(horizontal
+                        ? new Placement(row, col, letter, placedBlank[col])
+                        : new Placement(col, row, letter, placedBlank[col]));
+            }
+            sink.accept(new GeneratedMove(word.toString(), horizontal ? row : start, horizontal ? start : row,
+                    horizontal, mainScore + crossScores, List.copyOf(placements)));
+        }
+    }
+}
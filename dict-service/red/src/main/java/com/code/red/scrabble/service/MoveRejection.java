@@ -0,0 +1,66 @@
+package com.code.red.scrabble.service;
+
+import java.util.List;
+
+/**
+ * Why {@link MoveValidator} turned a play down: a machine-readable {@link Reason}, the offending word for dictionary
+ * rejections, and the offending square where there is one ({@code -1} otherwise). {@code suggestions} lists the
+ * closest dictionary words for an unknown word once {@link MoveValidator#withSuggestions} has looked them up.
+ */
+public record MoveRejection(Reason reason, String word, int row, int col, List<String> suggestions) {
+
+    public MoveRejection {
+        suggestions = List.copyOf(suggestions);
+    }
+
+    static MoveRejection of(Reason reason) {
+        return new MoveRejection(reason, null, -1, -1, List.of());
+    }
+
+    static MoveRejection at(Reason reason, int row, int col) {
+        return new MoveRejection(reason, null, row, col, List.of());
+    }
+
+    static MoveRejection word(Reason reason, String word) {
+        return new MoveRejection(reason, word, -1, -1, List.of());
+    }
+
+    MoveRejection withSuggestions(List<String> suggestions) {
+        return new MoveRejection(reason, word, row, col, suggestions);
+    }
+
+    public boolean hasSquare() {
+        return row >= 0;
+    }
+
+    /**
+     * The human-readable message, as in the error body.
+     */
+    public String message() {
+        return word == null ? reason.description() : reason.description() + word;
+    }
+
+    public enum Reason {
+        EMPTY_PLACEMENT("Placement list cannot be empty"),
+        OUT_OF_BOUNDS("Placement out of bounds"),
+        INVALID_LETTER("Invalid placement letter"),
+        DUPLICATE_PLACEMENT("Duplicate placement detected"),
+        SQUARE_OCCUPIED("Cannot place tile over existing tile"),
+        NOT_ALIGNED("Tiles must align in a straight line"),
+        GAP("Gaps are not allowed in the word"),
+        CENTER_NOT_COVERED("First move must cover the center"),
+        NOT_CONNECTED("Move must connect to existing tiles"),
+        UNKNOWN_WORD("Word not found in dictionary: "),
+        INVALID_CROSS_WORD("Invalid cross word: ");
+
+        private final String description;
+
+        Reason(String description) {
+            this.description = description;
+        }
+
+        public String description() {
+            return description;
+        }
+    }
+}
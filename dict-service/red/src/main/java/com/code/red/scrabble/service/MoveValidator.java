@@ -2,225 +2,287 @@ package com.code.red.scrabble.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Component;
 
+import com.code.red.dictionary.LevenshteinAutomaton;
+import com.code.red.dictionary.ScrabbleScore;
 import com.code.red.dictionary.WordDictionary;
+import com.code.red.dictionary.WordGraph;
 import com.code.red.scrabble.model.Board;
 import com.code.red.scrabble.model.Tile;
 
+/**
+ * Checks and scores a play.
+ *
+ * <p>Validation runs over primitive per-thread scratch space: the placed letters are written into a square-indexed
+ * byte array, the play line is compared with the board's occupancy bitboards, and every word is walked through the
+ * dictionary's {@link WordGraph} straight from the board cells, so no coordinates, collections or strings are
+ * created before the move is known to be legal. Only the result (and the word in a rejection message) allocates.
+ *
+ * <p>Illegal plays are routine, so they are not exceptional here: {@link #validate} returns a {@link MoveRejection}
+ * naming the broken rule and the offending square or word instead of throwing.
+ */
 @Component
 public class MoveValidator {
 
     private static final int BOARD_CENTER = 7;
+    private static final int SQUARES = Board.SIZE * Board.SIZE;
 
-    private final WordDictionary dictionary;
+    /**
+     * Suggestions are looked up on the request thread before the error is returned, so they get a tight budget.
+     */
+    private static final long SUGGESTION_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int MAX_SUGGESTIONS = 5;
 
-    public MoveValidator(WordDictionary dictionary) {
-        this.dictionary = dictionary;
+    private static final int[] LETTER_SCORES = new int[26];
+
+    static {
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            LETTER_SCORES[letter - 'a'] = ScrabbleScore.valueFor(letter);
+        }
     }
 
-    public MoveValidation validate(Board board, List<Placement> placements) {
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Validates and scores {@code placements} against {@code dictionary}, the lexicon the game is pinned to.
+     */
+    public MoveValidation validate(WordDictionary dictionary, Board board, List<Placement> placements) {
         if (placements == null || placements.isEmpty()) {
-            throw new IllegalArgumentException("Placement list cannot be empty");
+            return MoveValidation.rejected(MoveRejection.of(MoveRejection.Reason.EMPTY_PLACEMENT));
         }
-        Map<Coordinate, Placement> placementMap = new HashMap<>();
-        Set<Integer> distinctRows = new HashSet<>();
-        Set<Integer> distinctCols = new HashSet<>();
-        for (Placement placement : placements) {
+        Scratch scratch = SCRATCH.get();
+        try {
+            return validate(dictionary.graph(), board, placements, scratch);
+        } finally {
+            scratch.clear();
+        }
+    }
+
+    private MoveValidation validate(WordGraph graph, Board board, List<Placement> placements, Scratch scratch) {
+        int firstRow = placements.get(0).row();
+        int firstCol = placements.get(0).col();
+        boolean sameRow = true;
+        boolean sameCol = true;
+        for (int i = 0; i < placements.size(); i++) {
+            Placement placement = placements.get(i);
             int row = placement.row();
             int col = placement.col();
             if (row < 0 || row >= Board.SIZE || col < 0 || col >= Board.SIZE) {
-                throw new IllegalArgumentException("Placement out of bounds");
+                return rejected(MoveRejection.Reason.OUT_OF_BOUNDS, row, col);
             }
             char letter = Character.toLowerCase(placement.letter());
             if (letter < 'a' || letter > 'z') {
-                throw new IllegalArgumentException("Invalid placement letter");
+                return rejected(MoveRejection.Reason.INVALID_LETTER, row, col);
             }
-            Coordinate key = new Coordinate(row, col);
-            if (placementMap.containsKey(key)) {
-                throw new IllegalArgumentException("Duplicate placement detected");
+            int square = row * Board.SIZE + col;
+            if (scratch.letters[square] != 0) {
+                return rejected(MoveRejection.Reason.DUPLICATE_PLACEMENT, row, col);
             }
             if (!board.isEmpty(row, col)) {
-                throw new IllegalArgumentException("Cannot place tile over existing tile");
-            }
-            placementMap.put(key, new Placement(row, col, letter, placement.blank()));
-            distinctRows.add(row);
-            distinctCols.add(col);
-        }
-        boolean horizontal = distinctRows.size() == 1;
-        boolean vertical = distinctCols.size() == 1;
-        if (!horizontal && !vertical) {
-            throw new IllegalArgumentException("Tiles must align in a straight line");
-        }
-        if (horizontal && vertical) {
-            horizontal = placements.size() > 1;
-            vertical = !horizontal;
-        }
-        int minRow = Integer.MAX_VALUE;
-        int maxRow = Integer.MIN_VALUE;
-        int minCol = Integer.MAX_VALUE;
-        int maxCol = Integer.MIN_VALUE;
-        for (Placement placement : placementMap.values()) {
-            minRow = Math.min(minRow, placement.row());
-            maxRow = Math.max(maxRow, placement.row());
-            minCol = Math.min(minCol, placement.col());
-            maxCol = Math.max(maxCol, placement.col());
-        }
-        if (horizontal) {
-            int row = placementMap.values().iterator().next().row();
-            for (int col = minCol; col <= maxCol; col++) {
-                if (board.isEmpty(row, col) && !placementMap.containsKey(new Coordinate(row, col))) {
-                    throw new IllegalArgumentException("Gaps are not allowed in the word");
-                }
-            }
-        } else {
-            int col = placementMap.values().iterator().next().col();
-            for (int row = minRow; row <= maxRow; row++) {
-                if (board.isEmpty(row, col) && !placementMap.containsKey(new Coordinate(row, col))) {
-                    throw new IllegalArgumentException("Gaps are not allowed in the word");
-                }
+                return rejected(MoveRejection.Reason.SQUARE_OCCUPIED, row, col);
             }
+            scratch.put(square, letter, placement.blank());
+            sameRow &= row == firstRow;
+            sameCol &= col == firstCol;
+        }
+        if (!sameRow && !sameCol) {
+            return MoveValidation.rejected(MoveRejection.of(MoveRejection.Reason.NOT_ALIGNED));
         }
-        boolean boardEmpty = !board.hasAnyTile();
-        boolean touchesExisting = boardEmpty;
-        if (boardEmpty) {
-            boolean includesCenter = placementMap.containsKey(new Coordinate(BOARD_CENTER, BOARD_CENTER));
-            if (!includesCenter) {
-                throw new IllegalArgumentException("First move must cover the center");
+        // A single tile counts as a vertical play.
+        boolean horizontal = sameRow && scratch.count > 1;
+        int lineIndex = horizontal ? firstRow : firstCol;
+        int placed = 0;
+        for (int i = 0; i < scratch.count; i++) {
+            int square = scratch.squares[i];
+            placed |= 1 << (horizontal ? square % Board.SIZE : square / Board.SIZE);
+        }
+        int occupied = horizontal ? board.rowOccupancy(lineIndex) : board.columnOccupancy(lineIndex);
+        int low = Integer.numberOfTrailingZeros(placed);
+        int high = 31 - Integer.numberOfLeadingZeros(placed);
+        int span = (2 << high) - (1 << low);
+        int gaps = span & ~(occupied | placed);
+        if (gaps != 0) {
+            int gap = Integer.numberOfTrailingZeros(gaps);
+            return horizontal ? rejected(MoveRejection.Reason.GAP, lineIndex, gap)
+                    : rejected(MoveRejection.Reason.GAP, gap, lineIndex);
+        }
+        if (!board.hasAnyTile()) {
+            if (scratch.letters[BOARD_CENTER * Board.SIZE + BOARD_CENTER] == 0) {
+                return rejected(MoveRejection.Reason.CENTER_NOT_COVERED, BOARD_CENTER, BOARD_CENTER);
             }
         } else {
-            for (Placement placement : placementMap.values()) {
-                if (hasAdjacentTile(board, placement.row(), placement.col())) {
-                    touchesExisting = true;
-                    break;
-                }
-            }
+            int beside = horizontal ? board.rowOccupancy(lineIndex - 1) | board.rowOccupancy(lineIndex + 1)
+                    : board.columnOccupancy(lineIndex - 1) | board.columnOccupancy(lineIndex + 1);
+            boolean touchesExisting = (beside & placed) != 0 || (occupied & ((placed << 1) | (placed >>> 1))) != 0;
             if (!touchesExisting) {
-                throw new IllegalArgumentException("Move must connect to existing tiles");
+                return MoveValidation.rejected(MoveRejection.of(MoveRejection.Reason.NOT_CONNECTED));
             }
         }
-        Map<Coordinate, Tile> newlyPlacedTiles = new HashMap<>();
-        for (Placement placement : placementMap.values()) {
-            Tile tile = placement.blank() ? Tile.blankAs(placement.letter()) : Tile.of(placement.letter());
-            newlyPlacedTiles.put(new Coordinate(placement.row(), placement.col()), tile);
-        }
-        MoveEvaluation evaluation = evaluateWords(board, placementMap, newlyPlacedTiles, horizontal);
-        return new MoveValidation(evaluation.totalScore(), evaluation.words(), newlyPlacedTiles);
-    }
 
-    private boolean hasAdjacentTile(Board board, int row, int col) {
-        if (row > 0 && !board.isEmpty(row - 1, col)) {
-            return true;
+        int filled = occupied | placed;
+        int start = Board.runStart(filled, low);
+        int end = Board.runEnd(filled, high);
+        int mainScore = walkWord(graph, board, scratch, lineIndex, start, end, horizontal);
+        if (mainScore < 0) {
+            return rejectedWord(MoveRejection.Reason.UNKNOWN_WORD, scratch.word(end - start + 1));
         }
-        if (row < Board.SIZE - 1 && !board.isEmpty(row + 1, col)) {
-            return true;
+        int totalScore = mainScore;
+        List<String> words = new ArrayList<>(1 + scratch.count);
+        words.add(scratch.word(end - start + 1));
+        boolean crossChecked = board.tracksCrossChecks(graph);
+        for (int i = 0; i < scratch.count; i++) {
+            int square = scratch.squares[i];
+            int row = square / Board.SIZE;
+            int col = square % Board.SIZE;
+            int crossLine = horizontal ? col : row;
+            int position = horizontal ? row : col;
+            int crossOccupied = horizontal ? board.columnOccupancy(col) : board.rowOccupancy(row);
+            int crossStart = Board.runStart(crossOccupied, position);
+            int crossEnd = Board.runEnd(crossOccupied, position);
+            if (crossStart == position && crossEnd == position) {
+                continue;
+            }
+            if (crossChecked) {
+                int letterIndex = scratch.letters[square] - 1;
+                if ((board.crossCheckMask(row, col, horizontal) & (1 << letterIndex)) == 0) {
+                    copyWord(board, scratch, crossLine, crossStart, crossEnd, !horizontal);
+                    return rejectedWord(MoveRejection.Reason.INVALID_CROSS_WORD,
+                            scratch.word(crossEnd - crossStart + 1));
+                }
+                totalScore += board.crossCheckScore(row, col, horizontal) + scratch.score(square);
+                copyWord(board, scratch, crossLine, crossStart, crossEnd, !horizontal);
+            } else {
+                int crossScore = walkWord(graph, board, scratch, crossLine, crossStart, crossEnd, !horizontal);
+                if (crossScore < 0) {
+                    return rejectedWord(MoveRejection.Reason.INVALID_CROSS_WORD,
+                            scratch.word(crossEnd - crossStart + 1));
+                }
+                totalScore += crossScore;
+            }
+            words.add(scratch.word(crossEnd - crossStart + 1));
         }
-        if (col > 0 && !board.isEmpty(row, col - 1)) {
-            return true;
+        Map<Coordinate, Tile> tiles = new HashMap<>(2 * scratch.count);
+        for (int i = 0; i < scratch.count; i++) {
+            int square = scratch.squares[i];
+            char letter = (char) ('a' + scratch.letters[square] - 1);
+            tiles.put(new Coordinate(square / Board.SIZE, square % Board.SIZE),
+                    scratch.blanks[square] ? Tile.blankAs(letter) : Tile.of(letter));
         }
-        return col < Board.SIZE - 1 && !board.isEmpty(row, col + 1);
+        return new MoveValidation(totalScore, words, tiles, null);
     }
 
-    private MoveEvaluation evaluateWords(Board board, Map<Coordinate, Placement> placements,
-            Map<Coordinate, Tile> newlyPlaced, boolean horizontal) {
-        int directionRow = horizontal ? 0 : 1;
-        int directionCol = horizontal ? 1 : 0;
-        Coordinate reference = placements.keySet().iterator().next();
-        int startRow = reference.row();
-        int startCol = reference.col();
-        if (horizontal) {
-            startCol = placements.keySet().stream().mapToInt(Coordinate::col).min().orElse(reference.col());
-        } else {
-            startRow = placements.keySet().stream().mapToInt(Coordinate::row).min().orElse(reference.row());
-        }
-        Coordinate wordStart = extend(board, newlyPlaced, startRow, startCol, -directionRow, -directionCol);
-        WordCapture mainWord = collectWord(board, newlyPlaced, wordStart, directionRow, directionCol);
-        if (!dictionary.contains(mainWord.word())) {
-            throw new IllegalArgumentException("Word not found in dictionary: " + mainWord.word());
-        }
-        int totalScore = mainWord.score();
-        List<String> words = new ArrayList<>();
-        words.add(mainWord.word());
-        for (Coordinate coordinate : placements.keySet()) {
-            WordCapture cross = collectCrossWord(board, newlyPlaced, coordinate, horizontal);
-            if (cross.tiles().size() > 1) {
-                if (!dictionary.contains(cross.word())) {
-                    throw new IllegalArgumentException("Invalid cross word: " + cross.word());
-                }
-                totalScore += cross.score();
-                words.add(cross.word());
+    /**
+     * Copies the word on {@code line} from {@code start} to {@code end} into the scratch buffer while walking it
+     * through {@code graph}. Returns the word's tile score, or {@code -1} if it is not in the dictionary.
+     */
+    private static int walkWord(WordGraph graph, Board board, Scratch scratch, int line, int start, int end,
+            boolean horizontal) {
+        int node = graph.root();
+        int score = 0;
+        for (int i = start; i <= end; i++) {
+            int square = horizontal ? line * Board.SIZE + i : i * Board.SIZE + line;
+            char letter = scratch.letterAt(board, square);
+            scratch.word[i - start] = letter;
+            score += scratch.scoreAt(board, square);
+            if (node != WordGraph.NO_NODE) {
+                node = graph.child(node, letter);
             }
         }
-        return new MoveEvaluation(totalScore, words);
+        return node != WordGraph.NO_NODE && graph.isTerminal(node) ? score : -1;
     }
 
-    private Coordinate extend(Board board, Map<Coordinate, Tile> newlyPlaced, int row, int col, int deltaRow,
-            int deltaCol) {
-        int currentRow = row;
-        int currentCol = col;
-        while (true) {
-            int nextRow = currentRow + deltaRow;
-            int nextCol = currentCol + deltaCol;
-            if (nextRow < 0 || nextRow >= Board.SIZE || nextCol < 0 || nextCol >= Board.SIZE) {
-                break;
-            }
-            Coordinate next = new Coordinate(nextRow, nextCol);
-            Tile tile = newlyPlaced.get(next);
-            if (tile == null && board.isEmpty(nextRow, nextCol)) {
-                break;
-            }
-            currentRow = nextRow;
-            currentCol = nextCol;
+    private static void copyWord(Board board, Scratch scratch, int line, int start, int end, boolean horizontal) {
+        for (int i = start; i <= end; i++) {
+            int square = horizontal ? line * Board.SIZE + i : i * Board.SIZE + line;
+            scratch.word[i - start] = scratch.letterAt(board, square);
         }
-        return new Coordinate(currentRow, currentCol);
     }
 
-    private WordCapture collectWord(Board board, Map<Coordinate, Tile> newlyPlaced, Coordinate start, int deltaRow,
-            int deltaCol) {
-        List<Tile> tiles = new ArrayList<>();
-        StringBuilder letters = new StringBuilder();
-        int row = start.row();
-        int col = start.col();
-        while (row >= 0 && row < Board.SIZE && col >= 0 && col < Board.SIZE) {
-            Coordinate key = new Coordinate(row, col);
-            Tile tile = newlyPlaced.get(key);
-            if (tile == null) {
-                tile = board.get(row, col);
-            }
-            if (tile == null) {
-                break;
-            }
-            tiles.add(tile);
-            letters.append(tile.letter());
-            row += deltaRow;
-            col += deltaCol;
+    /**
+     * {@code rejection} with the closest dictionary words to its offending word, if it has one. Kept apart from
+     * {@link #validate} so callers can run the search after releasing the game lock.
+     */
+    public MoveRejection withSuggestions(WordDictionary dictionary, MoveRejection rejection) {
+        if (rejection.word() == null) {
+            return rejection;
         }
-        return new WordCapture(letters.toString(), tiles);
+        return rejection.withSuggestions(LevenshteinAutomaton.suggest(dictionary.graph(), rejection.word(),
+                LevenshteinAutomaton.MAX_DISTANCE, MAX_SUGGESTIONS, System.nanoTime() + SUGGESTION_BUDGET_NANOS)
+                .words());
     }
 
-    private WordCapture collectCrossWord(Board board, Map<Coordinate, Tile> newlyPlaced, Coordinate origin,
-            boolean horizontalMove) {
-        int deltaRow = horizontalMove ? 1 : 0;
-        int deltaCol = horizontalMove ? 0 : 1;
-        Coordinate start = extend(board, newlyPlaced, origin.row(), origin.col(), -deltaRow, -deltaCol);
-        return collectWord(board, newlyPlaced, start, deltaRow, deltaCol);
+    private static MoveValidation rejected(MoveRejection.Reason reason, int row, int col) {
+        return MoveValidation.rejected(MoveRejection.at(reason, row, col));
     }
 
-    public record MoveValidation(int score, List<String> words, Map<Coordinate, Tile> tiles) {
+    private static MoveValidation rejectedWord(MoveRejection.Reason reason, String word) {
+        return MoveValidation.rejected(MoveRejection.word(reason, word));
     }
 
-    private record WordCapture(String word, List<Tile> tiles) {
-        int score() {
-            int total = 0;
-            for (Tile tile : tiles) {
-                total += tile.score();
+    /**
+     * Per-thread working space: the letters being placed by square ({@code letter - 'a' + 1}, zero elsewhere), the
+     * squares written so {@link #clear()} only resets those, and a buffer for the word being checked.
+     */
+    private static final class Scratch {
+
+        private final byte[] letters = new byte[SQUARES];
+        private final boolean[] blanks = new boolean[SQUARES];
+        private final int[] squares = new int[SQUARES];
+        private final char[] word = new char[Board.SIZE];
+        private int count;
+
+        void put(int square, char letter, boolean blank) {
+            letters[square] = (byte) (letter - 'a' + 1);
+            blanks[square] = blank;
+            squares[count++] = square;
+        }
+
+        char letterAt(Board board, int square) {
+            int placed = letters[square];
+            return placed != 0 ? (char) ('a' + placed - 1)
+                    : board.get(square / Board.SIZE, square % Board.SIZE).letter();
+        }
+
+        int scoreAt(Board board, int square) {
+            return letters[square] != 0 ? score(square)
+                    : board.get(square / Board.SIZE, square % Board.SIZE).score();
+        }
+
+        int score(int square) {
+            return blanks[square] ? 0 : LETTER_SCORES[letters[square] - 1];
+        }
+
+        String word(int length) {
+            return new String(word, 0, length);
+        }
+
+        void clear() {
+            for (int i = 0; i < count; i++) {
+                letters[squares[i]] = 0;
+                blanks[squares[i]] = false;
             }
-            return total;
+            count = 0;
+        }
+    }
+
+    /**
+     * Outcome of {@link #validate}: the score, words formed and tiles to place for a legal play, or the
+     * {@code rejection} (with no words or tiles) for an illegal one.
+     */
+    public record MoveValidation(int score, List<String> words, Map<Coordinate, Tile> tiles,
+            MoveRejection rejection) {
+
+        static MoveValidation rejected(MoveRejection rejection) {
+            return new MoveValidation(0, List.of(), Map.of(), rejection);
+        }
+
+        public boolean isValid() {
+            return rejection == null;
         }
     }
 
@@ -241,7 +303,4 @@ public class MoveValidator {
             return row * 31 + col;
         }
     }
-
-    private record MoveEvaluation(int totalScore, List<String> words) {
-    }
 }
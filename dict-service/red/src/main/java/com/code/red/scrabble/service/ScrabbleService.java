@@ -4,6 +4,8 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -12,12 +14,17 @@ import java.util.SplittableRandom;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.code.red.dictionary.Lexicon;
+import com.code.red.dictionary.LexiconRegistry;
+import com.code.red.dictionary.WordDictionary;
+import com.code.red.scrabble.model.Board;
 import com.code.red.scrabble.model.GameSnapshot;
 import com.code.red.scrabble.model.GameState;
 import com.code.red.scrabble.model.GameStatus;
@@ -28,12 +35,22 @@ import com.code.red.scrabble.model.TileBag;
 import com.code.red.scrabble.support.GameNotifier;
 import com.code.red.scrabble.support.GameSession;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class ScrabbleService {
 
     private static final Logger log = LoggerFactory.getLogger(ScrabbleService.class);
 
+    /**
+     * How often a move is checked again after the game changed while it was being validated.
+     */
+    private static final int MAX_MOVE_ATTEMPTS = 3;
+
     private final MoveValidator moveValidator;
+    private final LexiconRegistry lexicons;
     private final SplittableRandom random;
     private final Clock clock;
     private final GameNotifier gameNotifier;
@@ -41,20 +58,46 @@ public class ScrabbleService {
     private final Lobby lobby = new Lobby();
     private final ConcurrentMap<UUID, GameSession> games = new ConcurrentHashMap<>();
     private final ConcurrentMap<UUID, UUID> playerToGame = new ConcurrentHashMap<>();
+    private final Map<LockedOperation, Timer> lockWaits = new EnumMap<>(LockedOperation.class);
+    private final Map<LockedOperation, Timer> lockHolds = new EnumMap<>(LockedOperation.class);
+    private final Counter moveConflicts;
 
-    public ScrabbleService(MoveValidator moveValidator, SplittableRandom random, Clock clock, GameNotifier gameNotifier) {
+    public ScrabbleService(MoveValidator moveValidator, LexiconRegistry lexicons, SplittableRandom random, Clock clock,
+            GameNotifier gameNotifier, MeterRegistry meterRegistry) {
         this.moveValidator = moveValidator;
+        this.lexicons = lexicons;
         this.random = random;
         this.clock = clock;
         this.gameNotifier = gameNotifier;
+        for (LockedOperation operation : LockedOperation.values()) {
+            String tag = operation.name().toLowerCase();
+            lockWaits.put(operation, Timer.builder("scrabble.game.lock.wait")
+                    .tag("operation", tag)
+                    .description("Time spent waiting for a game lock")
+                    .register(meterRegistry));
+            lockHolds.put(operation, Timer.builder("scrabble.game.lock.hold")
+                    .tag("operation", tag)
+                    .description("Time a game lock was held")
+                    .register(meterRegistry));
+        }
+        this.moveConflicts = Counter.builder("scrabble.move.conflicts")
+                .description("Moves validated again because the game changed while they were checked")
+                .register(meterRegistry);
     }
 
-    public JoinResult joinLobby(String playerName) {
+    /**
+     * Queues the player for a game on lexicon {@code lexiconId} (the default lexicon when {@code null}). Players are
+     * only paired with someone waiting for the same lexicon, and the game is checked against the version of it that
+     * is active when the pair is made.
+     *
+     * @throws IllegalArgumentException if no lexicon has that id
+     */
+    public JoinResult joinLobby(String playerName, String lexiconId) {
         Objects.requireNonNull(playerName, "playerName");
-        Lobby.JoinOutcome outcome = lobby.addPlayer(playerName);
+        String lexicon = lexicons.active(lexiconId).id();
+        Lobby.JoinOutcome outcome = lobby.addPlayer(playerName, lexicon);
         if (outcome.gameCreated() != null) {
-            registerGame(outcome.gameCreated());
-            GameSnapshot snapshot = snapshot(outcome.gameCreated());
+            GameSnapshot snapshot = registerGame(outcome.gameCreated()).published().snapshot();
             gameNotifier.notifyGame(snapshot);
             return new JoinResult(outcome.playerId(), outcome.gameCreated().getId(), snapshot, false);
         }
@@ -65,71 +108,122 @@ public class ScrabbleService {
         return Optional.ofNullable(playerToGame.get(playerId));
     }
 
+    /**
+     * The last published snapshot of the game, read without the game lock, with the current player's clock run on
+     * to now. Only when that clock has run out is the lock taken, to end the game and publish the result.
+     */
     public GameSnapshot getGame(UUID gameId) {
         GameSession session = requireSession(gameId);
-        session.getLock().lock();
-        try {
-            GameState game = session.getGame();
-            boolean timedOut = updateClock(game);
-            GameSnapshot snapshot = snapshot(game);
-            if (timedOut) {
-                gameNotifier.notifyGame(snapshot);
+        GameSnapshot snapshot = session.published().snapshot();
+        Instant now = clock.instant();
+        if (turnExpired(snapshot, now)) {
+            long locked = lock(session, LockedOperation.STATE);
+            try {
+                if (updateClock(session)) {
+                    gameNotifier.notifyGame(session.published().snapshot());
+                }
+                snapshot = session.published().snapshot();
+            } finally {
+                unlock(session, LockedOperation.STATE, locked);
             }
-            return snapshot;
-        } finally {
-            session.getLock().unlock();
         }
+        return withRunningClock(snapshot, now);
     }
 
-    public MoveResult playMove(UUID gameId, UUID playerId, List<Placement> placements) {
+    /**
+     * Copies the board and the player's rack under the game lock so a hint can be searched without holding it.
+     */
+    public HintPosition hintPosition(UUID gameId, UUID playerId) {
         GameSession session = requireSession(gameId);
-        session.getLock().lock();
+        long locked = lock(session, LockedOperation.HINT);
         try {
             GameState game = session.getGame();
-            if (updateClock(game)) {
-                GameSnapshot snapshot = snapshot(game);
-                gameNotifier.notifyGame(snapshot);
-                throw new IllegalStateException("Player timed out");
-            }
-            ensureActive(game);
-            if (!game.getCurrentTurn().equals(playerId)) {
-                throw new IllegalArgumentException("It is not the player's turn");
-            }
             PlayerState player = game.requirePlayer(playerId);
-            MoveValidator.MoveValidation validation = moveValidator.validate(game.getBoard(), placements);
-            for (Placement placement : placements) {
-                player.removeTile(placement.letter(), placement.blank());
-            }
-            for (Map.Entry<MoveValidator.Coordinate, Tile> entry : validation.tiles().entrySet()) {
-                MoveValidator.Coordinate coordinate = entry.getKey();
-                game.getBoard().place(coordinate.row(), coordinate.col(), entry.getValue());
-            }
-            player.addScore(validation.score());
-            game.resetPasses();
-            player.refillRack(game.getTileBag());
-            handlePostMove(game, player);
-            if (game.getStatus() == GameStatus.ACTIVE) {
-                game.advanceTurn();
-                game.markTurnStart(clock.instant());
-            }
-            GameSnapshot snapshot = snapshot(game);
-            gameNotifier.notifyGame(snapshot);
-            log.debug("Player {} played words {} for {} points", player.getName(), validation.words(),
-                    validation.score());
-            return new MoveResult(snapshot, validation.score(), validation.words());
+            return new HintPosition(game.getLexicon().dictionary(), game.getBoard().copy(),
+                    List.copyOf(player.rackView()));
         } finally {
-            session.getLock().unlock();
+            unlock(session, LockedOperation.HINT, locked);
         }
     }
 
+    /**
+     * Plays a move, or returns a result carrying the {@link MoveRejection} if the play is illegal.
+     *
+     * <p>The move is validated and scored against the board last published by {@link GameSession} without the game
+     * lock. The lock is then taken only to check the turn and clock and, if the board version is still the one
+     * validated against, to apply the move; if another change was committed in between the move is checked again.
+     * Suggestions for a rejected word are looked up after the lock is released.
+     */
+    public MoveResult playMove(UUID gameId, UUID playerId, List<Placement> placements) {
+        GameSession session = requireSession(gameId);
+        WordDictionary dictionary = session.getGame().getLexicon().dictionary();
+        for (int attempt = 1;; attempt++) {
+            GameSession.Published view = session.published();
+            MoveValidator.MoveValidation validation = moveValidator.validate(dictionary, view.board(), placements);
+            long locked = lock(session, LockedOperation.MOVE);
+            try {
+                GameState game = session.getGame();
+                if (updateClock(session)) {
+                    gameNotifier.notifyGame(session.published().snapshot());
+                    throw new IllegalStateException("Player timed out");
+                }
+                ensureActive(game);
+                if (!game.getCurrentTurn().equals(playerId)) {
+                    throw new IllegalArgumentException("It is not the player's turn");
+                }
+                PlayerState player = game.requirePlayer(playerId);
+                if (session.published().version() != view.version()) {
+                    moveConflicts.increment();
+                    if (attempt < MAX_MOVE_ATTEMPTS) {
+                        continue;
+                    }
+                    throw new IllegalStateException("Game changed while the move was being checked, try again");
+                }
+                if (validation.isValid()) {
+                    return applyMove(session, player, placements, validation);
+                }
+            } finally {
+                unlock(session, LockedOperation.MOVE, locked);
+            }
+            return MoveResult.rejected(moveValidator.withSuggestions(dictionary, validation.rejection()));
+        }
+    }
+
+    /**
+     * Puts a validated play on the board and advances the game; called with the game lock held.
+     */
+    private MoveResult applyMove(GameSession session, PlayerState player, List<Placement> placements,
+            MoveValidator.MoveValidation validation) {
+        GameState game = session.getGame();
+        for (Placement placement : placements) {
+            player.removeTile(placement.letter(), placement.blank());
+        }
+        for (Map.Entry<MoveValidator.Coordinate, Tile> entry : validation.tiles().entrySet()) {
+            MoveValidator.Coordinate coordinate = entry.getKey();
+            game.getBoard().place(coordinate.row(), coordinate.col(), entry.getValue());
+        }
+        player.addScore(validation.score());
+        game.resetPasses();
+        player.refillRack(game.getTileBag());
+        handlePostMove(game, player);
+        if (game.getStatus() == GameStatus.ACTIVE) {
+            game.advanceTurn();
+            game.markTurnStart(clock.instant());
+        }
+        GameSnapshot snapshot = commit(session, true);
+        gameNotifier.notifyGame(snapshot);
+        log.debug("Player {} played words {} for {} points", player.getName(), validation.words(),
+                validation.score());
+        return new MoveResult(snapshot, validation.score(), validation.words(), null);
+    }
+
     public GameSnapshot exchangeTiles(UUID gameId, UUID playerId, List<Character> letters) {
         GameSession session = requireSession(gameId);
-        session.getLock().lock();
+        long locked = lock(session, LockedOperation.EXCHANGE);
         try {
             GameState game = session.getGame();
-            if (updateClock(game)) {
-                GameSnapshot snapshot = snapshot(game);
-                gameNotifier.notifyGame(snapshot);
+            if (updateClock(session)) {
+                gameNotifier.notifyGame(session.published().snapshot());
                 throw new IllegalStateException("Player timed out");
             }
             ensureActive(game);
@@ -156,22 +250,21 @@ public class ScrabbleService {
                 game.advanceTurn();
                 game.markTurnStart(clock.instant());
             }
-            GameSnapshot snapshot = snapshot(game);
+            GameSnapshot snapshot = commit(session, false);
             gameNotifier.notifyGame(snapshot);
             return snapshot;
         } finally {
-            session.getLock().unlock();
+            unlock(session, LockedOperation.EXCHANGE, locked);
         }
     }
 
     public GameSnapshot pass(UUID gameId, UUID playerId) {
         GameSession session = requireSession(gameId);
-        session.getLock().lock();
+        long locked = lock(session, LockedOperation.PASS);
         try {
             GameState game = session.getGame();
-            if (updateClock(game)) {
-                GameSnapshot snapshot = snapshot(game);
-                gameNotifier.notifyGame(snapshot);
+            if (updateClock(session)) {
+                gameNotifier.notifyGame(session.published().snapshot());
                 throw new IllegalStateException("Player timed out");
             }
             ensureActive(game);
@@ -186,11 +279,11 @@ public class ScrabbleService {
                 game.advanceTurn();
                 game.markTurnStart(clock.instant());
             }
-            GameSnapshot snapshot = snapshot(game);
+            GameSnapshot snapshot = commit(session, false);
             gameNotifier.notifyGame(snapshot);
             return snapshot;
         } finally {
-            session.getLock().unlock();
+            unlock(session, LockedOperation.PASS, locked);
         }
     }
 
@@ -202,13 +295,14 @@ public class ScrabbleService {
         }
     }
 
-    private void registerGame(GameState game) {
+    private GameSession registerGame(GameState game) {
         game.markTurnStart(clock.instant());
-        GameSession session = new GameSession(game);
+        GameSession session = new GameSession(game, version -> snapshot(game, version));
         games.put(game.getId(), session);
         for (UUID playerId : game.getTurnOrder()) {
             playerToGame.put(playerId, game.getId());
         }
+        return session;
     }
 
     private GameSession requireSession(UUID gameId) {
@@ -225,7 +319,12 @@ public class ScrabbleService {
         }
     }
 
-    private boolean updateClock(GameState game) {
+    /**
+     * Charges the time since the turn started to the player on turn and ends the game if their clock ran out, which
+     * is committed as a change. Must be called with the game lock held.
+     */
+    private boolean updateClock(GameSession session) {
+        GameState game = session.getGame();
         if (game.getStatus() != GameStatus.ACTIVE) {
             return false;
         }
@@ -244,11 +343,73 @@ public class ScrabbleService {
         game.markTurnStart(now);
         if (expired) {
             game.setStatus(GameStatus.COMPLETED);
+            commit(session, false);
         }
         return expired;
     }
 
-    private GameSnapshot snapshot(GameState game) {
+    private GameSnapshot commit(GameSession session, boolean boardChanged) {
+        return session.commit(boardChanged, version -> snapshot(session.getGame(), version));
+    }
+
+    /**
+     * Whether the clock of the player on turn in {@code snapshot} has run out by {@code now}.
+     */
+    private static boolean turnExpired(GameSnapshot snapshot, Instant now) {
+        long elapsed = elapsedOnTurn(snapshot, now);
+        return elapsed > 0 && elapsed >= currentPlayer(snapshot).remainingTimeMillis();
+    }
+
+    /**
+     * {@code snapshot} with the clock of the player on turn charged for the time since the turn started, as
+     * {@link #updateClock} would charge it.
+     */
+    private static GameSnapshot withRunningClock(GameSnapshot snapshot, Instant now) {
+        long elapsed = elapsedOnTurn(snapshot, now);
+        if (elapsed <= 0) {
+            return snapshot;
+        }
+        List<PlayerSnapshot> players = new ArrayList<>(snapshot.players().size());
+        for (PlayerSnapshot player : snapshot.players()) {
+            players.add(!player.playerId().equals(snapshot.currentPlayerId()) ? player
+                    : new PlayerSnapshot(player.playerId(), player.name(), player.score(), player.rack(),
+                            Math.max(0, player.remainingTimeMillis() - elapsed)));
+        }
+        return new GameSnapshot(snapshot.gameId(), snapshot.board(), players, snapshot.currentPlayerId(),
+                snapshot.status(), snapshot.tileBagRemaining(), snapshot.lexicon(), snapshot.lexiconVersion(),
+                snapshot.version(), snapshot.turnStartedAt());
+    }
+
+    private static long elapsedOnTurn(GameSnapshot snapshot, Instant now) {
+        if (snapshot.status() != GameStatus.ACTIVE || snapshot.turnStartedAt() == null) {
+            return 0;
+        }
+        return Duration.between(snapshot.turnStartedAt(), now).toMillis();
+    }
+
+    private static PlayerSnapshot currentPlayer(GameSnapshot snapshot) {
+        for (PlayerSnapshot player : snapshot.players()) {
+            if (player.playerId().equals(snapshot.currentPlayerId())) {
+                return player;
+            }
+        }
+        throw new IllegalStateException("Player on turn missing from snapshot");
+    }
+
+    private long lock(GameSession session, LockedOperation operation) {
+        long started = System.nanoTime();
+        session.getLock().lock();
+        long acquired = System.nanoTime();
+        lockWaits.get(operation).record(acquired - started, TimeUnit.NANOSECONDS);
+        return acquired;
+    }
+
+    private void unlock(GameSession session, LockedOperation operation, long acquired) {
+        lockHolds.get(operation).record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+        session.getLock().unlock();
+    }
+
+    private GameSnapshot snapshot(GameState game, long version) {
         List<String> boardRows = game.getBoard().asStringRows();
         List<PlayerSnapshot> players = new ArrayList<>();
         for (UUID playerId : game.getTurnOrder()) {
@@ -259,10 +420,12 @@ public class ScrabbleService {
             players.add(new PlayerSnapshot(state.getId(), state.getName(), state.getScore(), rack, state.getRemainingTimeMillis()));
         }
         return new GameSnapshot(game.getId(), boardRows, players, game.getCurrentTurn(), game.getStatus(),
-                game.getTileBag().remaining());
+                game.getTileBag().remaining(), game.getLexicon().id(), game.getLexicon().version(), version,
+                game.getLastTurnTimestamp());
     }
 
-    private GameState createGame(String playerAName, UUID playerAId, String playerBName, UUID playerBId) {
+    private GameState createGame(String playerAName, UUID playerAId, String playerBName, UUID playerBId,
+            Lexicon lexicon) {
         PlayerState playerA = new PlayerState(playerAId, playerAName);
         PlayerState playerB = new PlayerState(playerBId, playerBName);
         playerA.resetClock();
@@ -270,34 +433,52 @@ public class ScrabbleService {
         TileBag tileBag = new TileBag(random.split());
         playerA.refillRack(tileBag);
         playerB.refillRack(tileBag);
-        GameState game = new GameState(UUID.randomUUID(), List.of(playerA, playerB), tileBag);
-        log.info("Game {} initialized for players {} and {}", game.getId(), playerAName, playerBName);
+        GameState game = new GameState(UUID.randomUUID(), List.of(playerA, playerB), tileBag, lexicon);
+        log.info("Game {} initialized for players {} and {} on lexicon {} version {}", game.getId(), playerAName,
+                playerBName, lexicon.id(), lexicon.version());
         return game;
     }
 
     public record JoinResult(UUID playerId, UUID gameId, GameSnapshot game, boolean waiting) {
     }
 
-    public record MoveResult(GameSnapshot game, int scoreEarned, List<String> wordsFormed) {
+    /**
+     * A played move, or only a {@code rejection} (no game, score or words) if the play was illegal.
+     */
+    public record MoveResult(GameSnapshot game, int scoreEarned, List<String> wordsFormed, MoveRejection rejection) {
+
+        static MoveResult rejected(MoveRejection rejection) {
+            return new MoveResult(null, 0, List.of(), rejection);
+        }
+    }
+
+    public record HintPosition(WordDictionary dictionary, Board board, List<Tile> rack) {
+    }
+
+    /**
+     * What a game lock was taken for, as the {@code operation} tag of the lock timers.
+     */
+    private enum LockedOperation {
+        STATE, HINT, MOVE, EXCHANGE, PASS
     }
 
     private final class Lobby {
 
         private final ReentrantLock lock = new ReentrantLock();
-        private LobbyPlayer waiting;
+        private final Map<String, LobbyPlayer> waiting = new HashMap<>();
 
-        JoinOutcome addPlayer(String playerName) {
+        JoinOutcome addPlayer(String playerName, String lexicon) {
             lock.lock();
             try {
                 UUID playerId = UUID.randomUUID();
-                if (waiting == null) {
-                    waiting = new LobbyPlayer(playerId, playerName);
-                    log.info("Player {} waiting for opponent", playerName);
+                LobbyPlayer opponent = waiting.remove(lexicon);
+                if (opponent == null) {
+                    waiting.put(lexicon, new LobbyPlayer(playerId, playerName));
+                    log.info("Player {} waiting for opponent on lexicon {}", playerName, lexicon);
                     return new JoinOutcome(playerId, null);
                 }
-                LobbyPlayer opponent = waiting;
-                waiting = null;
-                GameState game = createGame(opponent.name(), opponent.id(), playerName, playerId);
+                GameState game = createGame(opponent.name(), opponent.id(), playerName, playerId,
+                        lexicons.active(lexicon));
                 return new JoinOutcome(playerId, game);
             } finally {
                 lock.unlock();
@@ -4,9 +4,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.code.red.scrabble.dto.GameStateDto;
+import com.code.red.scrabble.dto.HintMoveDto;
+import com.code.red.scrabble.dto.HintResponse;
+import com.code.red.scrabble.dto.MoveRejectionDto;
+import com.code.red.scrabble.dto.PlacementDto;
 import com.code.red.scrabble.dto.PlayerDto;
 import com.code.red.scrabble.model.GameSnapshot;
 import com.code.red.scrabble.model.PlayerSnapshot;
+import com.code.red.scrabble.service.MoveGenerator;
+import com.code.red.scrabble.service.MoveRejection;
+import com.code.red.scrabble.service.Placement;
 
 public final class GameDtoMapper {
 
@@ -19,6 +26,26 @@ public final class GameDtoMapper {
             players.add(new PlayerDto(player.playerId(), player.name(), player.score(), player.rack(), player.remainingTimeMillis()));
         }
         return new GameStateDto(snapshot.gameId(), snapshot.board(), players, snapshot.currentPlayerId(),
-                snapshot.status(), snapshot.tileBagRemaining());
+                snapshot.status(), snapshot.tileBagRemaining(), snapshot.lexicon(),
+                snapshot.lexiconVersion(), snapshot.version());
+    }
+
+    public static HintResponse toDto(MoveGenerator.TopMoves hint) {
+        List<HintMoveDto> moves = new ArrayList<>(hint.moves().size());
+        for (MoveGenerator.GeneratedMove move : hint.moves()) {
+            List<PlacementDto> placements = new ArrayList<>(move.placements().size());
+            for (Placement placement : move.placements()) {
+                placements.add(new PlacementDto(placement.row(), placement.col(),
+                        String.valueOf(placement.letter()), placement.blank()));
+            }
+            moves.add(new HintMoveDto(move.word(), move.row(), move.col(),
+                    move.horizontal() ? "horizontal" : "vertical", move.score(), placements));
+        }
+        return new HintResponse(moves, hint.evaluated(), hint.complete());
+    }
+
+    public static MoveRejectionDto toDto(MoveRejection rejection) {
+        return new MoveRejectionDto(rejection.reason().name(), rejection.word(),
+                rejection.hasSquare() ? rejection.row() : null, rejection.hasSquare() ? rejection.col() : null);
     }
 }
@@ -1,16 +1,31 @@
 package com.code.red.scrabble.support;
 
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
 
+import com.code.red.scrabble.model.Board;
+import com.code.red.scrabble.model.GameSnapshot;
 import com.code.red.scrabble.model.GameState;
 
+/**
+ * A game with its lock. Every change to the game is made under the lock and then {@linkplain #commit committed},
+ * which bumps the version and publishes it through one volatile reference together with a snapshot of the game
+ * and, if the board changed, a fresh copy of the board. Nothing published is modified afterwards, so readers take
+ * the {@link Published} state without the lock, and moves are checked against its board with the version telling
+ * the committing thread whether anything happened in between.
+ */
 public class GameSession {
 
     private final GameState game;
     private final ReentrantLock lock = new ReentrantLock();
+    private volatile Published published;
 
-    public GameSession(GameState game) {
+    /**
+     * @param snapshot builds the snapshot of the game for a version
+     */
+    public GameSession(GameState game, LongFunction<GameSnapshot> snapshot) {
         this.game = game;
+        this.published = new Published(0, game.getBoard().copy(), snapshot.apply(0));
     }
 
     public GameState getGame() {
@@ -20,4 +35,29 @@ public class GameSession {
     public ReentrantLock getLock() {
         return lock;
     }
+
+    /**
+     * The game as of the last commit; safe to read without the lock.
+     */
+    public Published published() {
+        return published;
+    }
+
+    /**
+     * Records a change to the game and publishes it; must be called with the lock held. Returns the new snapshot.
+     */
+    public GameSnapshot commit(boolean boardChanged, LongFunction<GameSnapshot> snapshot) {
+        Published current = published;
+        long version = current.version() + 1;
+        Published next = new Published(version, boardChanged ? game.getBoard().copy() : current.board(),
+                snapshot.apply(version));
+        published = next;
+        return next.snapshot();
+    }
+
+    /**
+     * The game at {@code version}. Callers must not modify the board.
+     */
+    public record Published(long version, Board board, GameSnapshot snapshot) {
+    }
 }
@@ -0,0 +1,88 @@
+package com.code.red.benchmark;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import com.code.red.dictionary.ArrayDawgDictionary;
+import com.code.red.dictionary.DawgDictionary;
+import com.code.red.dictionary.DictionaryBuildMode;
+import com.code.red.dictionary.DictionaryLoader;
+import com.code.red.dictionary.IndexedWordDictionary;
+import com.code.red.dictionary.WordDictionary;
+
+/**
+ * Compares {@code contains()} on the pointer DAWG, the packed-array DAWG and the packed word index. Probes are a
+ * 50/50 mix of dictionary words and one-letter mutations of them. Run with {@code mvn -Pbenchmark -DskipTests verify
+ * -Dbenchmark.include=DictionaryContainsBenchmark}; the word list is read from {@code -Dbenchmark.dictionary}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class DictionaryContainsBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @Param({ "dawg", "array", "indexed" })
+    public String engine;
+
+    private WordDictionary dictionary;
+    private String[] probes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String path = System.getProperty("benchmark.dictionary", "src/main/resources/CSW24.txt");
+        DawgDictionary dawg = new DictionaryLoader(new FileSystemResource(path), DictionaryBuildMode.PARALLEL).load();
+        ArrayDawgDictionary packed = dawg.toArrayDictionary();
+        dictionary = switch (engine) {
+            case "dawg" -> dawg;
+            case "array" -> packed;
+            case "indexed" -> IndexedWordDictionary.wrap(packed, EnumSet.of(IndexedWordDictionary.Index.WORDS));
+            default -> throw new IllegalArgumentException("Unknown engine " + engine);
+        };
+        if (dictionary instanceof IndexedWordDictionary indexed) {
+            System.out.printf("%n[memory] packed DAWG %d KiB, word index %d KiB (%d slots), %d overflow words%n",
+                    packed.footprintBytes() / 1024, indexed.indexFootprintBytes() / 1024, indexed.indexCapacity(),
+                    indexed.overflowWords());
+        }
+        SplittableRandom random = new SplittableRandom(7);
+        List<String> sample = dictionary.randomWords("", PROBES, random);
+        probes = new String[sample.size()];
+        for (int i = 0; i < probes.length; i++) {
+            String word = sample.get(i);
+            if ((i & 1) == 0) {
+                probes[i] = word;
+            } else {
+                char[] letters = word.toCharArray();
+                letters[random.nextInt(letters.length)] = (char) ('a' + random.nextInt(26));
+                probes[i] = new String(letters);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        String probe = probes[cursor];
+        cursor = (cursor + 1) & (PROBES - 1);
+        return dictionary.contains(probe);
+    }
+}
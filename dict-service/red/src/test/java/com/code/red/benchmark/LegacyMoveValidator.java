@@ -0,0 +1,264 @@
+package com.code.red.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.code.red.dictionary.LevenshteinAutomaton;
+import com.code.red.dictionary.WordDictionary;
+import com.code.red.scrabble.model.Board;
+import com.code.red.scrabble.model.Tile;
+import com.code.red.scrabble.service.Placement;
+
+/**
+ * {@code MoveValidator} as it was before validation moved to primitive scratch arrays: maps and sets of boxed
+ * coordinates, a {@code Coordinate} per probe, a string lookup per word, and an exception (with suggestions) for every
+ * illegal play. Kept only as the baseline for {@link MoveValidatorBenchmark}.
+ */
+public class LegacyMoveValidator {
+
+    private static final int BOARD_CENTER = 7;
+
+    /**
+     * Suggestions for a rejected word are computed while the game lock is held, so they get a tight budget.
+     */
+    private static final long SUGGESTION_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int MAX_SUGGESTIONS = 5;
+
+    /**
+     * Validates and scores {@code placements} against {@code dictionary}, the lexicon the game is pinned to.
+     */
+    public MoveValidation validate(WordDictionary dictionary, Board board, List<Placement> placements) {
+        if (placements == null || placements.isEmpty()) {
+            throw new IllegalArgumentException("Placement list cannot be empty");
+        }
+        Map<Coordinate, Placement> placementMap = new HashMap<>();
+        Set<Integer> distinctRows = new HashSet<>();
+        Set<Integer> distinctCols = new HashSet<>();
+        for (Placement placement : placements) {
+            int row = placement.row();
+            int col = placement.col();
+            if (row < 0 || row >= Board.SIZE || col < 0 || col >= Board.SIZE) {
+                throw new IllegalArgumentException("Placement out of bounds");
+            }
+            char letter = Character.toLowerCase(placement.letter());
+            if (letter < 'a' || letter > 'z') {
+                throw new IllegalArgumentException("Invalid placement letter");
+            }
+            Coordinate key = new Coordinate(row, col);
+            if (placementMap.containsKey(key)) {
+                throw new IllegalArgumentException("Duplicate placement detected");
+            }
+            if (!board.isEmpty(row, col)) {
+                throw new IllegalArgumentException("Cannot place tile over existing tile");
+            }
+            placementMap.put(key, new Placement(row, col, letter, placement.blank()));
+            distinctRows.add(row);
+            distinctCols.add(col);
+        }
+        boolean horizontal = distinctRows.size() == 1;
+        boolean vertical = distinctCols.size() == 1;
+        if (!horizontal && !vertical) {
+            throw new IllegalArgumentException("Tiles must align in a straight line");
+        }
+        if (horizontal && vertical) {
+            horizontal = placements.size() > 1;
+            vertical = !horizontal;
+        }
+        // Placements along the play line as a bit mask, compared against the board's occupancy of that line and of
+        // the two lines beside it.
+        Placement first = placementMap.values().iterator().next();
+        int lineIndex = horizontal ? first.row() : first.col();
+        int placed = 0;
+        for (Placement placement : placementMap.values()) {
+            placed |= 1 << (horizontal ? placement.col() : placement.row());
+        }
+        int occupied = horizontal ? board.rowOccupancy(lineIndex) : board.columnOccupancy(lineIndex);
+        int low = Integer.numberOfTrailingZeros(placed);
+        int high = 31 - Integer.numberOfLeadingZeros(placed);
+        int span = (2 << high) - (1 << low);
+        if ((span & ~(occupied | placed)) != 0) {
+            throw new IllegalArgumentException("Gaps are not allowed in the word");
+        }
+        if (!board.hasAnyTile()) {
+            boolean includesCenter = placementMap.containsKey(new Coordinate(BOARD_CENTER, BOARD_CENTER));
+            if (!includesCenter) {
+                throw new IllegalArgumentException("First move must cover the center");
+            }
+        } else {
+            int beside = horizontal ? board.rowOccupancy(lineIndex - 1) | board.rowOccupancy(lineIndex + 1)
+                    : board.columnOccupancy(lineIndex - 1) | board.columnOccupancy(lineIndex + 1);
+            boolean touchesExisting = (beside & placed) != 0 || (occupied & ((placed << 1) | (placed >>> 1))) != 0;
+            if (!touchesExisting) {
+                throw new IllegalArgumentException("Move must connect to existing tiles");
+            }
+        }
+        Map<Coordinate, Tile> newlyPlacedTiles = new HashMap<>();
+        for (Placement placement : placementMap.values()) {
+            Tile tile = placement.blank() ? Tile.blankAs(placement.letter()) : Tile.of(placement.letter());
+            newlyPlacedTiles.put(new Coordinate(placement.row(), placement.col()), tile);
+        }
+        MoveEvaluation evaluation = evaluateWords(dictionary, board, placementMap, newlyPlacedTiles, horizontal);
+        return new MoveValidation(evaluation.totalScore(), evaluation.words(), newlyPlacedTiles);
+    }
+
+    private MoveEvaluation evaluateWords(WordDictionary dictionary, Board board,
+            Map<Coordinate, Placement> placements, Map<Coordinate, Tile> newlyPlaced, boolean horizontal) {
+        int directionRow = horizontal ? 0 : 1;
+        int directionCol = horizontal ? 1 : 0;
+        Coordinate reference = placements.keySet().iterator().next();
+        int startRow = reference.row();
+        int startCol = reference.col();
+        if (horizontal) {
+            startCol = placements.keySet().stream().mapToInt(Coordinate::col).min().orElse(reference.col());
+        } else {
+            startRow = placements.keySet().stream().mapToInt(Coordinate::row).min().orElse(reference.row());
+        }
+        Coordinate wordStart = extend(board, newlyPlaced, startRow, startCol, -directionRow, -directionCol);
+        WordCapture mainWord = collectWord(board, newlyPlaced, wordStart, directionRow, directionCol);
+        if (!dictionary.contains(mainWord.word())) {
+            throw unknownWord(dictionary, "Word not found in dictionary: ", mainWord.word());
+        }
+        int totalScore = mainWord.score();
+        List<String> words = new ArrayList<>();
+        words.add(mainWord.word());
+        boolean crossChecked = board.tracksCrossChecks(dictionary.graph());
+        for (Coordinate coordinate : placements.keySet()) {
+            if (crossChecked) {
+                int crossScore = board.crossCheckScore(coordinate.row(), coordinate.col(), horizontal);
+                if (crossScore < 0) {
+                    continue;
+                }
+                Tile tile = newlyPlaced.get(coordinate);
+                int mask = board.crossCheckMask(coordinate.row(), coordinate.col(), horizontal);
+                String crossWord = collectCrossWord(board, newlyPlaced, coordinate, horizontal).word();
+                if ((mask & (1 << (tile.letter() - 'a'))) == 0) {
+                    throw unknownWord(dictionary, "Invalid cross word: ", crossWord);
+                }
+                totalScore += crossScore + tile.score();
+                words.add(crossWord);
+                continue;
+            }
+            WordCapture cross = collectCrossWord(board, newlyPlaced, coordinate, horizontal);
+            if (cross.tiles().size() > 1) {
+                if (!dictionary.contains(cross.word())) {
+                    throw unknownWord(dictionary, "Invalid cross word: ", cross.word());
+                }
+                totalScore += cross.score();
+                words.add(cross.word());
+            }
+        }
+        return new MoveEvaluation(totalScore, words);
+    }
+
+    private static UnknownWordException unknownWord(WordDictionary dictionary, String reason, String word) {
+        List<String> suggestions = LevenshteinAutomaton.suggest(dictionary.graph(), word,
+                LevenshteinAutomaton.MAX_DISTANCE, MAX_SUGGESTIONS, System.nanoTime() + SUGGESTION_BUDGET_NANOS)
+                .words();
+        return new UnknownWordException(reason + word, suggestions);
+    }
+
+    private Coordinate extend(Board board, Map<Coordinate, Tile> newlyPlaced, int row, int col, int deltaRow,
+            int deltaCol) {
+        int currentRow = row;
+        int currentCol = col;
+        while (true) {
+            int nextRow = currentRow + deltaRow;
+            int nextCol = currentCol + deltaCol;
+            if (nextRow < 0 || nextRow >= Board.SIZE || nextCol < 0 || nextCol >= Board.SIZE) {
+                break;
+            }
+            Coordinate next = new Coordinate(nextRow, nextCol);
+            Tile tile = newlyPlaced.get(next);
+            if (tile == null && board.isEmpty(nextRow, nextCol)) {
+                break;
+            }
+            currentRow = nextRow;
+            currentCol = nextCol;
+        }
+        return new Coordinate(currentRow, currentCol);
+    }
+
+    private WordCapture collectWord(Board board, Map<Coordinate, Tile> newlyPlaced, Coordinate start, int deltaRow,
+            int deltaCol) {
+        List<Tile> tiles = new ArrayList<>();
+        StringBuilder letters = new StringBuilder();
+        int row = start.row();
+        int col = start.col();
+        while (row >= 0 && row < Board.SIZE && col >= 0 && col < Board.SIZE) {
+            Coordinate key = new Coordinate(row, col);
+            Tile tile = newlyPlaced.get(key);
+            if (tile == null) {
+                tile = board.get(row, col);
+            }
+            if (tile == null) {
+                break;
+            }
+            tiles.add(tile);
+            letters.append(tile.letter());
+            row += deltaRow;
+            col += deltaCol;
+        }
+        return new WordCapture(letters.toString(), tiles);
+    }
+
+    private WordCapture collectCrossWord(Board board, Map<Coordinate, Tile> newlyPlaced, Coordinate origin,
+            boolean horizontalMove) {
+        int deltaRow = horizontalMove ? 1 : 0;
+        int deltaCol = horizontalMove ? 0 : 1;
+        Coordinate start = extend(board, newlyPlaced, origin.row(), origin.col(), -deltaRow, -deltaCol);
+        return collectWord(board, newlyPlaced, start, deltaRow, deltaCol);
+    }
+
+    public record MoveValidation(int score, List<String> words, Map<Coordinate, Tile> tiles) {
+    }
+
+    private record WordCapture(String word, List<Tile> tiles) {
+        int score() {
+            int total = 0;
+            for (Tile tile : tiles) {
+                total += tile.score();
+            }
+            return total;
+        }
+    }
+
+    public record Coordinate(int row, int col) {
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Coordinate other)) {
+                return false;
+            }
+            return row == other.row && col == other.col;
+        }
+
+        @Override
+        public int hashCode() {
+            return row * 31 + col;
+        }
+    }
+
+    private record MoveEvaluation(int totalScore, List<String> words) {
+    }
+
+    private static final class UnknownWordException extends IllegalArgumentException {
+
+        private final transient List<String> suggestions;
+
+        UnknownWordException(String message, List<String> suggestions) {
+            super(message);
+            this.suggestions = List.copyOf(suggestions);
+        }
+
+        List<String> getSuggestions() {
+            return suggestions;
+        }
+    }
+}
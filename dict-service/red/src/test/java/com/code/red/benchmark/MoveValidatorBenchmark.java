@@ -0,0 +1,146 @@
+package com.code.red.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import com.code.red.dictionary.DawgDictionary;
+import com.code.red.dictionary.DictionaryBuildMode;
+import com.code.red.dictionary.DictionaryLoader;
+import com.code.red.dictionary.IndexedWordDictionary;
+import com.code.red.dictionary.WordDictionary;
+import com.code.red.scrabble.model.Board;
+import com.code.red.scrabble.model.TileBag;
+import com.code.red.scrabble.service.MoveGenerator;
+import com.code.red.scrabble.service.MoveGenerator.GeneratedMove;
+import com.code.red.scrabble.service.MoveValidator;
+import com.code.red.scrabble.service.Placement;
+
+/**
+ * Compares {@link MoveValidator} with the collection-based {@link LegacyMoveValidator} on legal plays against a
+ * mid-game board (the top move for each of twelve random racks). Probes are every play the move generator finds for
+ * a few more racks on that board, so they cover long and short words with and without cross words. {@code reject}
+ * validates the same plays with their last tile knocked one square off the line, which the legacy validator turns
+ * down by throwing and the current one by returning a rejection. Run with
+ * {@code mvn -Pbenchmark -DskipTests verify -Dbenchmark.include=MoveValidatorBenchmark}; the default {@code gc}
+ * profiler reports {@code gc.alloc.rate.norm}, the bytes allocated per validation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class MoveValidatorBenchmark {
+
+    private static final int TURNS = 12;
+    private static final int PROBE_RACKS = 4;
+    private static final int PROBES = 1024;
+
+    @Param({ "legacy", "current" })
+    public String validator;
+
+    private WordDictionary dictionary;
+    private Board board;
+    private List<Placement>[] probes;
+    private List<Placement>[] misaligned;
+    private MoveValidator current;
+    private LegacyMoveValidator legacy;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        String path = System.getProperty("benchmark.dictionary", "src/main/resources/CSW24.txt");
+        DawgDictionary dawg = new DictionaryLoader(new FileSystemResource(path), DictionaryBuildMode.PARALLEL).load();
+        dictionary = IndexedWordDictionary.wrap(dawg.toArrayDictionary(),
+                EnumSet.of(IndexedWordDictionary.Index.WORDS));
+        current = new MoveValidator();
+        legacy = new LegacyMoveValidator();
+        board = new Board(dictionary.graph());
+        MoveGenerator generator = new MoveGenerator();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int turn = 0; turn < TURNS; turn++) {
+            List<GeneratedMove> best = generator.topMoves(dictionary.graph(), board,
+                    new TileBag(random.split()).draw(7), 1, Long.MAX_VALUE).moves();
+            if (!best.isEmpty()) {
+                current.validate(dictionary, board, best.get(0).placements()).tiles()
+                        .forEach((coordinate, tile) -> board.place(coordinate.row(), coordinate.col(), tile));
+            }
+        }
+        List<List<Placement>> plays = new ArrayList<>();
+        for (int rack = 0; rack < PROBE_RACKS; rack++) {
+            generator.generate(dictionary.graph(), board, new TileBag(random.split()).draw(7), Long.MAX_VALUE,
+                    move -> plays.add(move.placements()));
+        }
+        if (plays.isEmpty()) {
+            throw new IllegalStateException("No plays found on the benchmark board");
+        }
+        probes = new List[PROBES];
+        misaligned = new List[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = plays.get(random.nextInt(plays.size()));
+            misaligned[i] = misalign(probes[i]);
+        }
+        System.out.printf("%n[board] %d turns, %d candidate plays%n", TURNS, plays.size());
+    }
+
+    @Benchmark
+    public int validate() {
+        List<Placement> placements = probes[cursor];
+        cursor = (cursor + 1) & (PROBES - 1);
+        return switch (validator) {
+            case "legacy" -> legacy.validate(dictionary, board, placements).score();
+            case "current" -> current.validate(dictionary, board, placements).score();
+            default -> throw new IllegalArgumentException("Unknown validator " + validator);
+        };
+    }
+
+    @Benchmark
+    public boolean reject() {
+        List<Placement> placements = misaligned[cursor];
+        cursor = (cursor + 1) & (PROBES - 1);
+        return switch (validator) {
+            case "legacy" -> {
+                try {
+                    legacy.validate(dictionary, board, placements);
+                    yield true;
+                } catch (IllegalArgumentException rejected) {
+                    yield false;
+                }
+            }
+            case "current" -> current.validate(dictionary, board, placements).isValid();
+            default -> throw new IllegalArgumentException("Unknown validator " + validator);
+        };
+    }
+
+    /**
+     * {@code placements} with the last tile moved one square across the play line, which breaks the alignment of
+     * any play of two or more tiles (or lands on a tile). Single tiles are moved off the board instead.
+     */
+    private static List<Placement> misalign(List<Placement> placements) {
+        List<Placement> moved = new ArrayList<>(placements);
+        Placement last = moved.remove(moved.size() - 1);
+        boolean horizontal = placements.size() > 1 && placements.get(0).row() == last.row();
+        int row = placements.size() == 1 ? -1 : horizontal ? (last.row() + 1) % Board.SIZE : last.row();
+        int col = horizontal || placements.size() == 1 ? last.col() : (last.col() + 1) % Board.SIZE;
+        moved.add(new Placement(row, col, last.letter(), last.blank()));
+        return moved;
+    }
+}
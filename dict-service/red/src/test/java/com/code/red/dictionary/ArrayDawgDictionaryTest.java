@@ -0,0 +1,143 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class ArrayDawgDictionaryTest {
+
+    private static final List<String> WORDS = List.of("act", "acts", "at", "cat", "cats", "coat", "coats", "taco",
+            "tacos", "tea", "tear", "tears");
+
+    private final DawgDictionary dawg = DawgDictionary.fromSortedWords(WORDS);
+    private final ArrayDawgDictionary packed = dawg.toArrayDictionary();
+
+    @Test
+    void lookupsMatchPointerDawg() {
+        for (String candidate : List.of("act", "ac", "cats", "cat", "coa", "tears", "tearz", "", "zzz")) {
+            assertThat(packed.contains(candidate)).as(candidate).isEqualTo(dawg.contains(candidate));
+            assertThat(packed.isPrefix(candidate)).as(candidate).isEqualTo(dawg.isPrefix(candidate));
+        }
+    }
+
+    @Test
+    void prefixSearchIsSortedAndLimited() {
+        assertThat(packed.findByPrefix("", 100)).containsExactlyElementsOf(WORDS);
+        assertThat(packed.findByPrefix("ca", 2)).containsExactly("cat", "cats");
+        assertThat(packed.findByPrefix("te", 10)).isEqualTo(dawg.findByPrefix("te", 10));
+    }
+
+    @Test
+    void prefixSearchResumesAfterGivenWord() {
+        for (WordDictionary dictionary : List.<WordDictionary>of(dawg, packed)) {
+            assertThat(dictionary.findByPrefix("", "cat", 3)).containsExactly("cats", "coat", "coats");
+            assertThat(dictionary.findByPrefix("c", "cb", 10)).containsExactly("coat", "coats");
+            assertThat(dictionary.findByPrefix("ta", "tacos", 10)).isEmpty();
+            assertThat(dictionary.findByPrefix("t", "ta", 2)).containsExactly("taco", "tacos");
+            assertThatThrownBy(() -> dictionary.findByPrefix("te", "taco", 2))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            List<String> paged = new ArrayList<>();
+            String after = null;
+            List<String> page;
+            while (!(page = dictionary.findByPrefix("", after, 5)).isEmpty()) {
+                paged.addAll(page);
+                after = page.get(page.size() - 1);
+            }
+            assertThat(paged).containsExactlyElementsOf(WORDS);
+        }
+    }
+
+    @Test
+    void patternSearchMatchesRegexAndRespectsRack() {
+        for (WordDictionary dictionary : List.<WordDictionary>of(dawg, packed)) {
+            for (String pattern : List.of("c?t*", "_A_", "*s", "t*", "*o*", "**a**", "t?a?", "*", "cat", "x*")) {
+                String regex = pattern.toLowerCase().replace("?", ".").replace("_", ".").replace("*", ".*");
+                List<String> expected = WORDS.stream().filter(word -> word.matches(regex)).toList();
+                assertThat(dictionary.findByPattern(pattern, null, 50)).as(pattern).isEqualTo(expected);
+            }
+            assertThat(dictionary.findByPattern("c?t*", "as", 50)).containsExactly("cat", "cats");
+            assertThat(dictionary.findByPattern("*", "tac", 50)).containsExactly("act", "at", "cat");
+            assertThat(dictionary.findByPattern("t*", "c?o", 50)).containsExactly("taco");
+            assertThat(dictionary.findByPattern("*", "", 50)).isEmpty();
+            assertThat(dictionary.findByPattern("*", null, 3)).containsExactly("act", "acts", "at");
+            assertThat(dictionary.findByPattern("*s", null, 2)).containsExactly("acts", "cats");
+            assertThat(dictionary.findByPattern("*a*", "t?", 3)).containsExactly("act", "at", "cat");
+            assertThatThrownBy(() -> dictionary.findByPattern("c.t", null, 5))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void patternLimitKeepsTheLexicographicallyFirstMatches() {
+        DawgDictionary small = DawgDictionary.fromSortedWords(List.of("cat", "chat", "ct"));
+        for (WordDictionary dictionary : List.<WordDictionary>of(small, small.toArrayDictionary())) {
+            assertThat(dictionary.findByPattern("c*t", null, 1)).containsExactly("cat");
+            assertThat(dictionary.findByPattern("c*t", null, 2)).containsExactly("cat", "chat");
+            assertThat(dictionary.findByPattern("c*t", "ah", 2)).containsExactly("cat", "chat");
+            assertThat(dictionary.findByPattern("c*t", "h", 1)).containsExactly("ct");
+        }
+    }
+
+    @Test
+    void patternsWalkPastWordsWithCharactersOutsideAToZ() {
+        DawgDictionary small = DawgDictionary.fromSortedWords(List.of("it's", "its", "itself"));
+        for (WordDictionary dictionary : List.<WordDictionary>of(small, small.toArrayDictionary())) {
+            assertThat(dictionary.findByPattern("it*", null, 5)).containsExactly("it's", "its", "itself");
+            assertThat(dictionary.findByPattern("it?s", null, 5)).containsExactly("it's");
+            assertThat(dictionary.findByPattern("it?s", "s", 5)).isEmpty();
+            assertThat(dictionary.findByPattern("it?s", "?", 5)).containsExactly("it's");
+            assertThat(dictionary.findBySuffix("s", 5)).containsExactly("it's", "its");
+        }
+    }
+
+    @Test
+    void anagramsMatchPointerDawg() {
+        assertThat(packed.findAnagrams("cats", 50)).isEqualTo(dawg.findAnagrams("cats", 50));
+        assertThat(packed.findAnagrams("ta?", 3)).isEqualTo(dawg.findAnagrams("ta?", 3));
+        assertThat(packed.findAnagrams("aeost?", 50)).isEqualTo(dawg.findAnagrams("aeost?", 50));
+    }
+
+    @Test
+    void sharedSuffixesAreMinimized() {
+        assertThat(packed.nodeCount()).isLessThan(WORDS.stream().mapToInt(String::length).sum());
+    }
+
+    @Test
+    void rankAndSelectAreInverse() {
+        assertThat(packed.size()).isEqualTo(WORDS.size());
+        for (int ordinal = 0; ordinal < WORDS.size(); ordinal++) {
+            String word = WORDS.get(ordinal);
+            assertThat(packed.rank(word)).isEqualTo(ordinal);
+            assertThat(packed.select(ordinal)).isEqualTo(word);
+            assertThat(dawg.rank(word)).isEqualTo(ordinal);
+            assertThat(dawg.select(ordinal)).isEqualTo(word);
+        }
+        assertThat(packed.rank("tearz")).isEqualTo(-1);
+        assertThat(packed.rank("te")).isEqualTo(-1);
+        assertThatThrownBy(() -> packed.select(WORDS.size())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void prefixCountsAndScopedSelection() {
+        assertThat(packed.countByPrefix("")).isEqualTo(WORDS.size());
+        assertThat(packed.countByPrefix("ca")).isEqualTo(2);
+        assertThat(packed.countByPrefix("tea")).isEqualTo(3);
+        assertThat(packed.countByPrefix("x")).isZero();
+        assertThat(packed.select("tea", 1)).isEqualTo("tear");
+        assertThat(dawg.countByPrefix("co")).isEqualTo(2);
+        assertThat(dawg.select("co", 1)).isEqualTo("coats");
+    }
+
+    @Test
+    void randomSamplesAreDistinctAndScoped() {
+        List<String> sample = packed.randomWords("c", 3, new SplittableRandom(1));
+        assertThat(sample).hasSize(3).doesNotHaveDuplicates().allMatch(word -> word.startsWith("c")).isSorted();
+        assertThat(packed.randomWords("ta", 10, new SplittableRandom(1))).containsExactly("taco", "tacos");
+    }
+}
@@ -0,0 +1,90 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class DawgDictionaryTest {
+
+    @Test
+    void parallelBuildIsIsomorphicToSequentialBuild() {
+        List<String> words = randomSortedWords(5_000);
+
+        DawgDictionary sequential = DawgDictionary.fromSortedWords(words);
+        DawgDictionary parallel = DawgDictionary.fromSortedWordsParallel(words, ForkJoinPool.commonPool());
+
+        assertThat(parallel.isIsomorphicTo(sequential)).isTrue();
+        assertThat(parallel.toArrayDictionary().nodeCount()).isEqualTo(sequential.toArrayDictionary().nodeCount());
+    }
+
+    @Test
+    void isomorphismDetectsDifferentGraphs() {
+        DawgDictionary left = DawgDictionary.fromSortedWords(List.of("cat", "cats"));
+        DawgDictionary right = DawgDictionary.fromSortedWords(List.of("cat", "cot"));
+
+        assertThat(left.isIsomorphicTo(right)).isFalse();
+    }
+
+    @Test
+    void parallelBuildRejectsUnsortedInput() {
+        assertThatThrownBy(() -> DawgDictionary.fromSortedWordsParallel(List.of("dog", "cat"),
+                ForkJoinPool.commonPool()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void anagramsWithBlanksAreDistinctAndOnlyUseRackTiles() {
+        DawgDictionary dictionary = DawgDictionary.fromSortedWords(List.of("at", "cat", "cats", "coat", "taco",
+                "tacos", "tact", "to"));
+
+        assertThat(dictionary.findAnagrams("tac??", 50)).containsExactly("at", "cat", "cats", "coat", "taco",
+                "tacos", "tact", "to");
+        assertThat(dictionary.findAnagrams("ta", 50)).containsExactly("at");
+        assertThat(dictionary.findAnagrams("??", 50)).containsExactly("at", "to");
+    }
+
+    @Test
+    void sharedGraphsKeepTheirOwnWordsAndStoreCommonNodesOnce() {
+        List<String> first = randomSortedWords(5_000);
+        List<String> second = new ArrayList<>();
+        for (int i = 0; i < first.size(); i++) {
+            if (i % 10 != 0) {
+                second.add(first.get(i));
+            }
+        }
+        int separateNodes = DawgDictionary.fromSortedWords(first).toArrayDictionary().nodeCount()
+                + DawgDictionary.fromSortedWords(second).toArrayDictionary().nodeCount();
+
+        List<ArrayDawgDictionary> shared = DawgDictionary.toArrayDictionaries(DawgDictionary.share(
+                List.of(DawgDictionary.fromSortedWords(first), DawgDictionary.fromSortedWords(second))));
+
+        assertThat(shared.get(0).sharesStorageWith(shared.get(1))).isTrue();
+        assertThat(shared.get(0).nodeCount()).isLessThan(separateNodes);
+        assertThat(shared.get(0).findByPrefix("", first.size() + 1)).isEqualTo(first);
+        assertThat(shared.get(1).findByPrefix("", first.size() + 1)).isEqualTo(second);
+        assertThat(shared.get(1).size()).isEqualTo(second.size());
+        assertThat(shared.get(1).rank(second.get(100))).isEqualTo(100);
+        assertThat(shared.get(1).contains(first.get(0))).isFalse();
+    }
+
+    private static List<String> randomSortedWords(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        TreeSet<String> words = new TreeSet<>();
+        while (words.size() < count) {
+            int length = 2 + random.nextInt(8);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append((char) ('a' + random.nextInt(6)));
+            }
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+}
@@ -0,0 +1,104 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DictionaryImageTest {
+
+    private static final DictionaryImage.SourceFingerprint SOURCE = new DictionaryImage.SourceFingerprint(42L, 7);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void mappedImageAnswersLikeHeapArrays() throws Exception {
+        ArrayDawgDictionary packed = ArrayDawgDictionary.fromSortedWords(List.of("cat", "cats", "dog", "dogs"));
+        Path image = tempDir.resolve("words.dawg");
+        DictionaryImage.write(packed, SOURCE, image);
+
+        Optional<ArrayDawgDictionary> mapped = DictionaryImage.map(image, SOURCE);
+
+        assertThat(mapped).isPresent();
+        assertThat(mapped.get().isMapped()).isTrue();
+        assertThat(mapped.get().nodeCount()).isEqualTo(packed.nodeCount());
+        assertThat(mapped.get().contains("dogs")).isTrue();
+        assertThat(mapped.get().contains("do")).isFalse();
+        assertThat(mapped.get().findByPrefix("", 10)).containsExactly("cat", "cats", "dog", "dogs");
+    }
+
+    @Test
+    void sharedImageMapsEveryDictionary() throws Exception {
+        List<ArrayDawgDictionary> packed = DawgDictionary.toArrayDictionaries(DawgDictionary.share(List.of(
+                DawgDictionary.fromSortedWords(List.of("cat", "cats", "dog")),
+                DawgDictionary.fromSortedWords(List.of("cats", "dog", "dogs")))));
+        Path image = tempDir.resolve("shared.dawg");
+        DictionaryImage.write(packed, SOURCE, image);
+
+        List<ArrayDawgDictionary> mapped = DictionaryImage.mapAll(image, SOURCE).orElseThrow();
+
+        assertThat(mapped).hasSize(2);
+        assertThat(mapped.get(0).sharesStorageWith(mapped.get(1))).isTrue();
+        assertThat(mapped.get(0).findByPrefix("", 10)).containsExactly("cat", "cats", "dog");
+        assertThat(mapped.get(1).findByPrefix("", 10)).containsExactly("cats", "dog", "dogs");
+    }
+
+    @Test
+    void staleOrCorruptImagesAreIgnored() throws Exception {
+        ArrayDawgDictionary packed = ArrayDawgDictionary.fromSortedWords(List.of("cat", "dog"));
+        Path image = tempDir.resolve("words.dawg");
+        DictionaryImage.write(packed, SOURCE, image);
+
+        assertThat(DictionaryImage.map(image, new DictionaryImage.SourceFingerprint(43L, 7))).isEmpty();
+
+        byte[] bytes = Files.readAllBytes(image);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(image, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+        assertThat(DictionaryImage.map(image, SOURCE)).isEmpty();
+        assertThat(DictionaryImage.map(tempDir.resolve("missing.dawg"), SOURCE)).isEmpty();
+    }
+
+    @Test
+    void imagesWithMalformedGraphsAreIgnoredEvenWithValidChecksums() throws Exception {
+        ArrayDawgDictionary packed = ArrayDawgDictionary.fromSortedWords(List.of("cat", "cats", "dog"));
+        Path image = tempDir.resolve("words.dawg");
+        DictionaryImage.write(packed, SOURCE, image);
+        byte[] original = Files.readAllBytes(image);
+        int nodeCount = packed.nodeCount();
+        int edgeCount = packed.edgeCount();
+        int edgeStartAt = DictionaryImage.HEADER_BYTES + ((nodeCount + 63) >>> 6) * Long.BYTES;
+        int edgeTargetsAt = edgeStartAt + (nodeCount + 1) * Integer.BYTES;
+        int lettersAt = edgeTargetsAt + edgeCount * Integer.BYTES + nodeCount * Integer.BYTES + Integer.BYTES;
+
+        assertThat(DictionaryImage.map(image, SOURCE)).isPresent();
+        assertThat(mapTampered(image, original, bytes -> bytes.putInt(edgeStartAt + Integer.BYTES, edgeCount + 5)))
+                .isEmpty();
+        assertThat(mapTampered(image, original, bytes -> bytes.putInt(edgeTargetsAt, nodeCount))).isEmpty();
+        assertThat(mapTampered(image, original, bytes -> bytes.putInt(edgeTargetsAt + Integer.BYTES, 0))).isEmpty();
+        assertThat(mapTampered(image, original, bytes -> bytes.putChar(lettersAt, 'z'))).isEmpty();
+    }
+
+    /**
+     * Writes {@code original} with {@code change} applied and the payload checksum recomputed, then maps it.
+     */
+    private static Optional<ArrayDawgDictionary> mapTampered(Path image, byte[] original,
+            Consumer<ByteBuffer> change) throws Exception {
+        ByteBuffer bytes = ByteBuffer.wrap(original.clone());
+        change.accept(bytes);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.array(), DictionaryImage.HEADER_BYTES, original.length - DictionaryImage.HEADER_BYTES);
+        bytes.putInt(28, (int) crc.getValue());
+        Files.write(image, bytes.array(), StandardOpenOption.TRUNCATE_EXISTING);
+        return DictionaryImage.map(image, SOURCE);
+    }
+}
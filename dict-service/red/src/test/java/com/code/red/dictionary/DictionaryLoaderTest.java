@@ -0,0 +1,39 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+class DictionaryLoaderTest {
+
+    @Test
+    void parsesFirstTokenOfEachLineAndSkipsCommentsAndBlanks() {
+        DawgDictionary dictionary = load("﻿# header\r\nAA rough lava\r\n\r\nAB\tabdominal muscle\r\n  indented\r\nZO\r\n",
+                DictionaryBuildMode.SEQUENTIAL);
+
+        assertThat(dictionary.findByPrefix("", 10)).containsExactly("aa", "ab", "zo");
+    }
+
+    @Test
+    void unsortedInputFallsBackToSorting() {
+        DawgDictionary dictionary = load("dog\ncat\nbird\ncats\n", DictionaryBuildMode.PARALLEL);
+
+        assertThat(dictionary.findByPrefix("", 10)).containsExactly("bird", "cat", "cats", "dog");
+    }
+
+    @Test
+    void verifyModeAcceptsPresortedInput() {
+        DawgDictionary dictionary = load("act\ncat\ncats\ntact\n", DictionaryBuildMode.VERIFY);
+
+        assertThat(dictionary.contains("cats")).isTrue();
+        assertThat(dictionary.contains("ca")).isFalse();
+    }
+
+    private static DawgDictionary load(String content, DictionaryBuildMode mode) {
+        ByteArrayResource resource = new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+        return new DictionaryLoader(resource, mode).load();
+    }
+}
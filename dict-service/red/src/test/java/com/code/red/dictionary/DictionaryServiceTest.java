@@ -3,48 +3,145 @@ package com.code.red.dictionary;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @SpringBootTest
 class DictionaryServiceTest {
 
     @Autowired
     private DictionaryService dictionaryService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void existsRejectsEmptyInput() {
-        assertThatThrownBy(() -> dictionaryService.exists(""))
+        assertThatThrownBy(() -> dictionaryService.exists(null, ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void existsBatchMatchesSingleLookupsAcrossParallelBlocks() {
+        List<String> words = new ArrayList<>();
+        for (String prefix : List.of("ab", "qu", "ze")) {
+            for (String word : dictionaryService.prefix(null, prefix, 50)) {
+                words.add(word.toUpperCase());
+                words.add(word + "qx");
+            }
+        }
+        words.add("");
+        words.add("c4t");
+        words.add(null);
+        List<String> batch = new ArrayList<>(words);
+        while (batch.size() < 5_000) {
+            batch.addAll(words);
+        }
+
+        BitSet found = dictionaryService.existsBatch(null, batch);
+
+        for (int i = 0; i < batch.size(); i++) {
+            String word = batch.get(i);
+            boolean expected = word != null && !word.isEmpty() && word.chars().allMatch(Character::isLetter)
+                    && dictionaryService.exists(null, word);
+            assertThat(found.get(i)).as(word).isEqualTo(expected);
+        }
+        assertThat(found.cardinality()).isPositive();
+        assertThatThrownBy(() -> dictionaryService.existsBatch(null, Collections.nCopies(10_001, "aa")))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     void prefixRespectsLimitAndFiltersNonLetters() {
-        List<String> results = dictionaryService.prefix("aa", 200);
+        List<String> results = dictionaryService.prefix(null, "aa", 200);
         assertThat(results).isNotEmpty();
         assertThat(results).hasSizeLessThanOrEqualTo(50);
     }
 
+    @Test
+    void prefixPagesFollowCursorWithoutOverlap() {
+        List<String> expected = dictionaryService.prefix(null, "ab", 12);
+        WordPage first = dictionaryService.prefixPage(null, "ab", 5, null);
+        WordPage second = dictionaryService.prefixPage(null, "ab", 7, first.nextCursor());
+
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(first.words()).containsExactlyElementsOf(expected.subList(0, 5));
+        assertThat(second.words()).containsExactlyElementsOf(expected.subList(5, 12));
+        assertThatThrownBy(() -> dictionaryService.prefixPage(null, "zz", 5, first.nextCursor()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void probabilityOrderReturnsTheMostLikelyWordsFirst() {
+        WordPage page = dictionaryService.prefixPage(null, "t", 10, null, "PROBABILITY");
+
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.words()).hasSize(10).allMatch(word -> word.startsWith("t"));
+        assertThat(page.words()).isSortedAccordingTo((a, b) -> Double.compare(
+                TileDistribution.drawProbability(b), TileDistribution.drawProbability(a)));
+        assertThatThrownBy(() -> dictionaryService.prefixPage(null, "t", 10, "dA", "probability"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dictionaryService.prefixPage(null, "t", 10, null, "random"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void anagramsRejectTooManyLetters() {
-        assertThatThrownBy(() -> dictionaryService.anagrams("abcdefghij", 10))
+        assertThatThrownBy(() -> dictionaryService.anagrams(null, "abcdefghijklmnop", 10))
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     void anagramsFindValidWord() {
-        List<String> anagrams = dictionaryService.anagrams("alert", 5);
+        List<String> anagrams = dictionaryService.anagrams(null, "alert", 5).words();
         assertThat(anagrams).isNotEmpty();
         assertThat(anagrams).anyMatch(word -> word.length() >= 3);
         assertThat(anagrams).contains("tear");
     }
 
+    @Test
+    void fullRacksAreSearchedInParallel() {
+        AnagramResult result = dictionaryService.anagrams(null, "retinasbcdolu??", 50);
+        String word = "";
+        for (int ordinal = 0; word.length() != 12; ordinal++) {
+            word = dictionaryService.select(null, "", ordinal);
+        }
+        String rack = new StringBuilder(word.substring(1)).reverse().append('?').toString();
+        AnagramResult exact = dictionaryService.anagrams(null, rack, 50, true);
+
+        assertThat(result.complete()).isTrue();
+        assertThat(result.words()).hasSize(50).isSorted().contains("aa");
+        assertThat(exact.complete()).isTrue();
+        assertThat(exact.words()).contains(word).allMatch(candidate -> candidate.length() == 12);
+    }
+
+    @Test
+    void reorderedRacksShareOneCachedAnagramResult() {
+        AnagramResult first = dictionaryService.anagrams(null, "tr?ae", 20);
+        double hitsBefore = anagramHits();
+
+        AnagramResult second = dictionaryService.anagrams(null, "E?ART", 20);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(anagramHits()).isEqualTo(hitsBefore + 1);
+    }
+
     @Test
     void scoreMatchesScrabbleValues() {
-        int score = dictionaryService.score("quiz");
+        int score = dictionaryService.score(null, "quiz");
         assertThat(score).isEqualTo(22);
     }
+
+    private double anagramHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "dictionary.anagrams").tag("result", "hit")
+                .functionCounter().count();
+    }
 }
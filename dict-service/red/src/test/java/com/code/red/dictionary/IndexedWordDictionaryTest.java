@@ -0,0 +1,123 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class IndexedWordDictionaryTest {
+
+    private static final List<String> WORDS = List.of("a", "act", "cat", "cats", "quizzifying", "tea",
+            "zzzzzzzzzzzz", "zzzzzzzzzzzzz");
+
+    private final ArrayDawgDictionary packed = ArrayDawgDictionary.fromSortedWords(WORDS);
+    private final IndexedWordDictionary indexed = IndexedWordDictionary.wrap(packed);
+
+    @Test
+    void containsMatchesDelegateIncludingOverflowWords() {
+        assertThat(indexed.indexedWords()).isEqualTo(7);
+        assertThat(indexed.overflowWords()).isEqualTo(1);
+        for (String candidate : List.of("a", "act", "ACT", "ca", "cats", "catsz", "zzzzzzzzzzzz", "zzzzzzzzzzzzz",
+                "zzzzzzzzzzzzzz", "tea!", "", "b")) {
+            assertThat(indexed.contains(candidate)).as(candidate).isEqualTo(packed.contains(candidate));
+        }
+    }
+
+    @Test
+    void exactAnagramsMatchFilteredWalk() {
+        ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(List.of("act", "acts", "at", "cast",
+                "cat", "cats", "coat", "scat", "taco", "tacos", "tact"));
+        IndexedWordDictionary alphagrams = IndexedWordDictionary.wrap(dictionary,
+                EnumSet.of(IndexedWordDictionary.Index.ALPHAGRAMS));
+
+        for (String rack : List.of("tac", "stac", "TACS", "tac?", "ta??", "?", "cat???", "xyz", "tacot")) {
+            assertThat(alphagrams.findExactAnagrams(rack, 50)).as(rack)
+                    .isEqualTo(dictionary.findExactAnagrams(rack, 50));
+        }
+        assertThat(alphagrams.findExactAnagrams("tacs", 50)).containsExactly("acts", "cast", "cats", "scat");
+        assertThat(alphagrams.findExactAnagrams("ta??", 2)).containsExactly("acts", "cast");
+    }
+
+    @Test
+    void indexesAreBuiltFromAWalkInOrdinalOrder() {
+        List<String> words = List.of("a", "act", "it's", "itch", "zzzzzzzzzzzzz");
+        ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(words);
+        for (WordDictionary engine : List.of(DawgDictionary.fromSortedWords(words), dictionary)) {
+            List<String> visited = new ArrayList<>();
+            engine.forEachWord(word -> visited.add(word.toString()));
+            assertThat(visited).isEqualTo(engine.findByPrefix("", engine.size())).isEqualTo(words);
+        }
+
+        IndexedWordDictionary all = IndexedWordDictionary.wrap(dictionary);
+        assertThat(all.findExactAnagrams("tich", 5)).containsExactly("itch");
+        assertThat(all.findTopByPrefix("i", 5)).isEqualTo(dictionary.findTopByPrefix("i", 5));
+        assertThat(all.contains("itch")).isTrue();
+    }
+
+    @Test
+    void probabilityIndexRanksPrefixesLikeAFullSort() {
+        ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(List.of("aa", "ab", "abs", "ae", "ai",
+                "air", "airs", "al", "zax", "zea", "zee", "zeze", "zo", "zoo", "zzz"));
+        IndexedWordDictionary probabilities = IndexedWordDictionary.wrap(dictionary,
+                EnumSet.of(IndexedWordDictionary.Index.PROBABILITY));
+
+        for (String prefix : List.of("", "a", "ai", "z", "ze", "zzz", "q")) {
+            for (int limit : List.of(1, 3, 20)) {
+                assertThat(probabilities.findTopByPrefix(prefix, limit)).as(prefix + "/" + limit)
+                        .isEqualTo(dictionary.findTopByPrefix(prefix, limit));
+            }
+        }
+        assertThat(probabilities.findTopByPrefix("a", 3)).containsExactly("ae", "ai", "aa");
+        assertThat(probabilities.findTopByPrefix("z", 20)).endsWith("zzz");
+    }
+
+    @Test
+    void gaddagAnswersHooksAndInfixesLikeTheDawg() {
+        ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(List.of("at", "ate", "cat", "cate",
+                "cater", "cats", "eat", "eats", "heat", "oat", "scat", "seat", "tea", "teas"));
+        IndexedWordDictionary gaddag = IndexedWordDictionary.wrap(dictionary,
+                EnumSet.of(IndexedWordDictionary.Index.GADDAG));
+
+        for (String word : List.of("at", "eat", "cat", "ea", "xyz", "t")) {
+            assertThat(gaddag.frontHooks(word)).as(word).isEqualTo(dictionary.frontHooks(word));
+            assertThat(gaddag.backHooks(word)).as(word).isEqualTo(dictionary.backHooks(word));
+        }
+        assertThat(gaddag.frontHooks("at")).isEqualTo((1 << 'c' - 'a') | (1 << 'e' - 'a') | (1 << 'o' - 'a'));
+        for (String letters : List.of("at", "ea", "s", "cat", "q", "e")) {
+            assertThat(gaddag.findContaining(letters, 50)).as(letters).isEqualTo(dictionary.findContaining(letters,
+                    50));
+            assertThat(gaddag.findBySuffix(letters, 50)).as(letters).isEqualTo(dictionary.findBySuffix(letters, 50));
+        }
+        assertThat(gaddag.findContaining("at", 50)).contains("at", "cater", "seat").doesNotContain("tea");
+        assertThat(gaddag.gaddagNodes()).isPositive();
+    }
+
+    @Test
+    void infixAndSuffixLimitsKeepTheLexicographicallyFirstMatchesWithAGaddag() {
+        List<String> words = List.of("at", "ate", "bat", "cat", "cate", "cater", "cats", "eat", "eats", "heat", "oat",
+                "scat", "seat", "ta", "tab", "tea", "teas");
+        IndexedWordDictionary gaddag = IndexedWordDictionary.wrap(ArrayDawgDictionary.fromSortedWords(words),
+                EnumSet.of(IndexedWordDictionary.Index.GADDAG));
+
+        for (String letters : List.of("t", "at", "a", "e", "s")) {
+            for (int limit : List.of(1, 2, 5)) {
+                assertThat(gaddag.findContaining(letters, limit)).as(letters + "/" + limit)
+                        .isEqualTo(words.stream().filter(word -> word.contains(letters)).limit(limit).toList());
+                assertThat(gaddag.findBySuffix(letters, limit)).as(letters + "/" + limit)
+                        .isEqualTo(words.stream().filter(word -> word.endsWith(letters)).limit(limit).toList());
+            }
+        }
+        assertThat(gaddag.findContaining("t", 1)).containsExactly("at");
+    }
+
+    @Test
+    void packedKeysAreDistinctAcrossLengths() {
+        assertThat(PackedWordIndex.encode("a")).isNotEqualTo(PackedWordIndex.encode("aa"));
+        assertThat(PackedWordIndex.encode("Cat")).isEqualTo(PackedWordIndex.encode("cat"));
+        assertThat(PackedWordIndex.encode("it's")).isEqualTo(PackedWordIndex.NOT_PACKABLE);
+        assertThat(PackedWordIndex.encode("zzzzzzzzzzzzz")).isEqualTo(PackedWordIndex.NOT_PACKABLE);
+    }
+}
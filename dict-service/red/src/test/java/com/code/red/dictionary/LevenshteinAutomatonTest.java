@@ -0,0 +1,77 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class LevenshteinAutomatonTest {
+
+    private static final List<String> WORDS = List.copyOf(new TreeSet<>(List.of("a", "at", "ate", "bat", "bate",
+            "cart", "cast", "cat", "cats", "chat", "coat", "cut", "eat", "rat", "scat", "seat", "sat", "tact", "tea",
+            "teat", "tat", "that", "to")));
+
+    private final ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(WORDS);
+
+    @Test
+    void matchesBruteForceEditDistance() {
+        for (String query : List.of("cat", "cta", "caat", "ct", "xyz", "tea", "s", "scatter")) {
+            for (int distance = 1; distance <= 2; distance++) {
+                SuggestionResult result = LevenshteinAutomaton.suggest(dictionary, query, distance, 100,
+                        Long.MAX_VALUE);
+
+                assertThat(result.complete()).isTrue();
+                assertThat(result.suggestions()).as(query + "/" + distance)
+                        .containsExactlyElementsOf(bruteForce(query, distance));
+            }
+        }
+    }
+
+    @Test
+    void limitsKeepTheClosestWordsAndRejectBadInput() {
+        SuggestionResult result = LevenshteinAutomaton.suggest(dictionary, "cat", 2, 3, Long.MAX_VALUE);
+
+        assertThat(result.words()).containsExactly("at", "bat", "cart");
+        assertThat(LevenshteinAutomaton.suggest(dictionary, "cat", 2, 100, System.nanoTime() - 1).complete())
+                .isFalse();
+        assertThatThrownBy(() -> LevenshteinAutomaton.suggest(dictionary, "cat", 3, 10, Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LevenshteinAutomaton.suggest(dictionary, "c4t", 1, 10, Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<WordSuggestion> bruteForce(String query, int maxDistance) {
+        List<WordSuggestion> expected = new ArrayList<>();
+        for (int distance = 1; distance <= maxDistance; distance++) {
+            for (String word : WORDS) {
+                if (editDistance(query, word) == distance) {
+                    expected.add(new WordSuggestion(word, distance));
+                }
+            }
+        }
+        return expected;
+    }
+
+    private static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
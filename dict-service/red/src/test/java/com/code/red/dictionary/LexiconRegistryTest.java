@@ -0,0 +1,175 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+class LexiconRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reloadPublishesNewVersionWhileOldLexiconKeepsServing() throws Exception {
+        Path first = write("first.txt", "cat\ndog\n");
+        Path second = write("second.txt", "cat\ncow\nyak\n");
+        CountDownLatch release = new CountDownLatch(1);
+        try (LexiconRegistry registry = registry(Map.of("csw", new FileSystemResource(first)), sources -> {
+            if (sources.get("csw").getFilename().equals("second.txt")) {
+                await(release);
+            }
+            return load(sources);
+        })) {
+            Lexicon pinned = registry.active();
+
+            var reload = registry.reload(null, second.toUri().toString());
+            assertThat(registry.isReloading()).isTrue();
+            assertThat(registry.active()).isSameAs(pinned);
+            assertThatThrownBy(() -> registry.reload(null, null)).isInstanceOf(IllegalStateException.class);
+            release.countDown();
+            Lexicon published = reload.join();
+
+            assertThat(registry.active()).isSameAs(published);
+            assertThat(published.version()).isEqualTo(pinned.version() + 1);
+            assertThat(published.dictionary().contains("yak")).isTrue();
+            assertThat(pinned.dictionary().contains("yak")).isFalse();
+            assertThat(pinned.dictionary().contains("dog")).isTrue();
+        }
+    }
+
+    @Test
+    void failedReloadKeepsActiveLexicon() throws Exception {
+        Path first = write("first.txt", "cat\n");
+        Path empty = write("empty.txt", "# no words\n");
+        try (LexiconRegistry registry = registry(Map.of("csw", new FileSystemResource(first)),
+                LexiconRegistryTest::load)) {
+            Lexicon active = registry.active();
+
+            assertThatThrownBy(() -> registry.reload(null, directory.resolve("missing.txt").toUri().toString()))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> registry.reload("nwl", null)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> registry.reload(null, empty.toUri().toString()).join())
+                    .isInstanceOf(CompletionException.class);
+
+            assertThat(registry.active()).isSameAs(active);
+            assertThat(registry.lastFailure()).contains("no words");
+            assertThat(registry.isReloading()).isFalse();
+        }
+    }
+
+    @Test
+    void reloadOnlyReadsConfiguredSourcesOrFilesInTheReloadDirectory() throws Exception {
+        Path configured = Files.createTempFile("configured", ".txt");
+        Path outside = Files.createTempFile("outside", ".txt");
+        try {
+            Files.writeString(configured, "cat\n");
+            Files.writeString(outside, "cat\ndog\n");
+            Files.createDirectory(directory.resolve("lists"));
+            try (LexiconRegistry registry = registry(Map.of("csw", new FileSystemResource(configured)),
+                    LexiconRegistryTest::load)) {
+                Lexicon active = registry.active();
+
+                for (String source : List.of("http://127.0.0.1:9/words.txt", "https://example.com/words.txt",
+                        outside.toUri().toString(), "file:" + directory + "/lists/../../" + outside.getFileName(),
+                        "classpath:application.properties")) {
+                    assertThatThrownBy(() -> registry.reload(null, source)).as(source)
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("not allowed");
+                }
+                assertThat(registry.isReloading()).isFalse();
+                assertThat(registry.active()).isSameAs(active);
+
+                assertThat(registry.reload(null, configured.toUri().toString()).join().version())
+                        .isEqualTo(active.version() + 1);
+                Path inside = write("lists/inside.txt", "cat\ncow\n");
+                assertThat(registry.reload(null, inside.toUri().toString()).join().dictionary().contains("cow"))
+                        .isTrue();
+            }
+        } finally {
+            Files.delete(configured);
+            Files.delete(outside);
+        }
+    }
+
+    @Test
+    void lexiconsAreSelectedByIdAndShareOneGraph() throws Exception {
+        Map<String, Resource> sources = new LinkedHashMap<>();
+        sources.put("CSW", new FileSystemResource(write("csw.txt", "cat\ncats\nqi\nza\n")));
+        sources.put("nwl", new FileSystemResource(write("nwl.txt", "cat\ncats\nqi\n")));
+        try (LexiconRegistry registry = registry(sources, LexiconRegistryTest::loadPacked)) {
+            Lexicon csw = registry.active("csw");
+            Lexicon nwl = registry.active("NWL");
+
+            assertThat(registry.active()).isSameAs(csw);
+            assertThat(registry.active(null)).isSameAs(csw);
+            assertThat(registry.lexicons()).extracting(Lexicon::id).containsExactly("csw", "nwl");
+            assertThat(csw.dictionary().contains("za")).isTrue();
+            assertThat(nwl.dictionary().contains("za")).isFalse();
+            assertThat(nwl.dictionary().findByPrefix("", 10)).containsExactly("cat", "cats", "qi");
+            assertThat(((ArrayDawgDictionary) csw.dictionary())
+                    .sharesStorageWith((ArrayDawgDictionary) nwl.dictionary())).isTrue();
+            assertThatThrownBy(() -> registry.active("twl")).isInstanceOf(IllegalArgumentException.class);
+
+            Lexicon reloaded = registry.reload("nwl", write("nwl2.txt", "cat\nza\n").toUri().toString()).join();
+
+            assertThat(reloaded.id()).isEqualTo("nwl");
+            assertThat(registry.active("nwl").dictionary().contains("za")).isTrue();
+            assertThat(registry.active("csw").dictionary().contains("qi")).isTrue();
+            assertThat(nwl.dictionary().contains("za")).isFalse();
+        }
+    }
+
+    private LexiconRegistry registry(Map<String, Resource> sources,
+            Function<Map<String, Resource>, Map<String, WordDictionary>> factory) {
+        return new LexiconRegistry(sources, "csw", factory, new DefaultResourceLoader(), directory,
+                Clock.systemUTC());
+    }
+
+    private static Map<String, WordDictionary> load(Map<String, Resource> sources) {
+        Map<String, WordDictionary> dictionaries = new LinkedHashMap<>();
+        sources.forEach((id, source) -> dictionaries.put(id,
+                new DictionaryLoader(source, DictionaryBuildMode.SEQUENTIAL).load()));
+        return dictionaries;
+    }
+
+    private static Map<String, WordDictionary> loadPacked(Map<String, Resource> sources) {
+        List<DictionaryLoader> loaders = sources.values().stream()
+                .map(source -> new DictionaryLoader(source, DictionaryBuildMode.SEQUENTIAL))
+                .toList();
+        List<ArrayDawgDictionary> packed = DawgDictionary.toArrayDictionaries(DictionaryLoader.loadShared(loaders));
+        Map<String, WordDictionary> dictionaries = new LinkedHashMap<>();
+        int index = 0;
+        for (String id : sources.keySet()) {
+            dictionaries.put(id, packed.get(index++));
+        }
+        return dictionaries;
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
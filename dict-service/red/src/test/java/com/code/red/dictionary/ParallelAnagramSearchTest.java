@@ -0,0 +1,75 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.code.red.config.ScrabbleProperties;
+
+class ParallelAnagramSearchTest {
+
+    private static final ArrayDawgDictionary DICTIONARY = ArrayDawgDictionary.fromSortedWords(allWords("abcdef", 5));
+
+    private final ParallelAnagramSearch search = new ParallelAnagramSearch(new ScrabbleProperties());
+
+    @AfterEach
+    void shutdown() {
+        search.shutdown();
+    }
+
+    @Test
+    void fullRackMatchesTheSequentialWalk() {
+        String rack = "aabbccdef?xyz";
+        AnagramResult all = search.search(DICTIONARY, rack, false, Integer.MAX_VALUE, Long.MAX_VALUE);
+        AnagramResult exact = search.search(DICTIONARY, "abc?f", true, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+        assertThat(all.complete()).isTrue();
+        assertThat(all.words()).containsExactlyElementsOf(DICTIONARY.findAnagrams(rack, Integer.MAX_VALUE));
+        assertThat(exact.words()).containsExactlyElementsOf(DICTIONARY.findExactAnagrams("abc?f", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void limitKeepsTheLexicographicallySmallestWords() {
+        String rack = "abcdefabcdef???";
+        List<String> all = search.search(DICTIONARY, rack, false, Integer.MAX_VALUE, Long.MAX_VALUE).words();
+
+        AnagramResult first = search.search(DICTIONARY, rack, false, 100, Long.MAX_VALUE);
+
+        assertThat(first.complete()).isTrue();
+        assertThat(first.words()).containsExactlyElementsOf(all.subList(0, 100));
+    }
+
+    @Test
+    void expiredBudgetReturnsAPartialResult() {
+        AnagramResult result = search.search(DICTIONARY, "abcdefabcdef???", false, Integer.MAX_VALUE,
+                System.nanoTime() - 1);
+
+        assertThat(result.complete()).isFalse();
+        assertThat(result.words()).hasSizeLessThan(DICTIONARY.size()).isSorted();
+        assertThatThrownBy(() -> search.search(DICTIONARY, "abcdefabcdefabcd", false, 10, Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> allWords(String alphabet, int maxLength) {
+        List<String> words = new ArrayList<>();
+        addWords(alphabet, maxLength, new StringBuilder(), words);
+        return words;
+    }
+
+    private static void addWords(String alphabet, int maxLength, StringBuilder word, List<String> words) {
+        if (word.length() == maxLength) {
+            return;
+        }
+        for (int i = 0; i < alphabet.length(); i++) {
+            word.append(alphabet.charAt(i));
+            words.add(word.toString());
+            addWords(alphabet, maxLength, word, words);
+            word.setLength(word.length() - 1);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.code.red.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class QueryCacheTest {
+
+    @Test
+    void concurrentMissesOnOneKeyLoadOnce() throws Exception {
+        QueryCache<String, String> cache = new QueryCache<>(10, 1_000, String::length);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.get("aer", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "are ear era";
+                })));
+            }
+            while (cache.stats().misses() < 4) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("are ear era");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("aer", () -> "reloaded")).isEqualTo("are ear era");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().loads()).isEqualTo(1);
+    }
+
+    @Test
+    void frequentKeysSurviveABurstOfOneOffQueries() {
+        QueryCache<String, String> cache = new QueryCache<>(2, 1_000, String::length);
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot", () -> "value");
+            cache.get("warm", () -> "value");
+        }
+        for (int i = 0; i < 50; i++) {
+            String key = "cold" + i;
+            cache.get(key, () -> "value");
+        }
+
+        assertThat(cache.stats().rejections()).isEqualTo(50);
+        assertThat(cache.get("hot", () -> "reloaded")).isEqualTo("value");
+        assertThat(cache.get("warm", () -> "reloaded")).isEqualTo("value");
+
+        for (int i = 0; i < 20; i++) {
+            cache.get("rising", () -> "value");
+        }
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().size()).isEqualTo(2);
+    }
+
+    @Test
+    void newcomerNeedingSeveralEvictionsMustBeatEveryVictim() {
+        QueryCache<String, String> cache = new QueryCache<>(100, 10, String::length);
+        cache.get("cold", () -> "12345");
+        for (int i = 0; i < 5; i++) {
+            cache.get("hot", () -> "12345");
+        }
+        for (int i = 0; i < 2; i++) {
+            cache.get("big", () -> "x".repeat(10));
+        }
+
+        QueryCache.Stats stats = cache.stats();
+        assertThat(stats.rejections()).isEqualTo(2);
+        assertThat(stats.evictions()).isZero();
+        assertThat(stats.size()).isEqualTo(2);
+        assertThat(cache.get("cold", () -> "reloaded")).isEqualTo("12345");
+        assertThat(cache.get("hot", () -> "reloaded")).isEqualTo("12345");
+    }
+
+    @Test
+    void weightBoundsTheCacheAndFailuresAreNotCached() {
+        QueryCache<String, String> cache = new QueryCache<>(100, 10, String::length);
+        cache.get("big", () -> "x".repeat(11));
+        cache.get("a", () -> "123456");
+        cache.get("a", () -> "123456");
+        cache.get("b", () -> "123456");
+
+        assertThat(cache.stats().weight()).isLessThanOrEqualTo(10);
+        assertThat(cache.stats().size()).isEqualTo(1);
+        assertThatThrownBy(() -> cache.get("bad", () -> {
+            throw new IllegalArgumentException("no");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.stats().loadFailures()).isEqualTo(1);
+        assertThat(cache.get("bad", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void invalidationDropsEntriesAndLoadsAlreadyRunning() {
+        QueryCache<String, String> cache = new QueryCache<>(10, 1_000, String::length);
+        cache.get("a", () -> "old");
+        cache.get("b", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.get("a", () -> "new")).isEqualTo("new");
+        assertThat(cache.get("b", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
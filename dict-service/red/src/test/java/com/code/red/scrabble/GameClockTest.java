@@ -66,6 +66,38 @@ class GameClockTest {
         assertThat(opponent.get("remainingTimeMillis").asLong()).isGreaterThan(0L);
     }
 
+    @Test
+    void readsRunTheClockWithoutPublishingANewVersion() throws Exception {
+        join("Carol");
+        JsonNode secondJoin = join("Dave");
+        UUID gameId = UUID.fromString(secondJoin.get("gameId").asText());
+        JsonNode state = secondJoin.get("game");
+        UUID currentPlayerId = UUID.fromString(state.get("currentPlayerId").asText());
+        long version = state.get("version").asLong();
+
+        clock.advance(Duration.ofMinutes(4));
+        JsonNode running = readState(gameId);
+        assertThat(running.get("status").asText()).isEqualTo("ACTIVE");
+        assertThat(running.get("version").asLong()).isEqualTo(version);
+        assertThat(findPlayer(running.get("players"), currentPlayerId).get("remainingTimeMillis").asLong())
+                .isEqualTo(Duration.ofMinutes(6).toMillis());
+
+        clock.advance(Duration.ofMinutes(6));
+        JsonNode expired = readState(gameId);
+        assertThat(expired.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(expired.get("version").asLong()).isEqualTo(version + 1);
+        assertThat(findPlayer(expired.get("players"), currentPlayerId).get("remainingTimeMillis").asLong())
+                .isZero();
+        assertThat(readState(gameId).get("version").asLong()).isEqualTo(version + 1);
+    }
+
+    private JsonNode readState(UUID gameId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/game/" + gameId + "/state"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
     private JsonNode join(String playerName) throws Exception {
         String payload = objectMapper.createObjectNode()
                 .put("playerName", playerName)
@@ -1,15 +1,26 @@
 package com.code.red.scrabble;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,9 +31,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import com.code.red.dictionary.DictionaryService;
+import com.code.red.scrabble.model.GameSnapshot;
+import com.code.red.scrabble.model.PlayerSnapshot;
+import com.code.red.scrabble.service.HintService;
+import com.code.red.scrabble.service.MoveGenerator;
+import com.code.red.scrabble.service.ScrabbleService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 class ScrabbleIntegrationTest {
@@ -36,6 +54,15 @@ class ScrabbleIntegrationTest {
     @Autowired
     private DictionaryService dictionaryService;
 
+    @Autowired
+    private ScrabbleService scrabbleService;
+
+    @Autowired
+    private HintService hintService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void joinTwoPlayersStartsGame() throws Exception {
         GameContext context = startGame("Alice", "Bob");
@@ -44,6 +71,7 @@ class ScrabbleIntegrationTest {
         assertThat(context.playerOneId()).isNotNull();
         assertThat(context.playerTwoId()).isNotNull();
         assertThat(context.state().get("players").size()).isEqualTo(2);
+        assertThat(context.state().get("lexicon").asText()).isEqualTo("csw");
 
         MvcResult lobbyResult = mockMvc.perform(get("/lobby/" + context.playerOneId()))
                 .andExpect(status().isOk())
@@ -86,6 +114,193 @@ class ScrabbleIntegrationTest {
         assertThat(row.replace(".", "")).contains(word.toLowerCase());
     }
 
+    @Test
+    void rejectedWordComesBackWithSuggestions() throws Exception {
+        GameContext context = startGame("Gus", "Hana");
+        UUID currentPlayer = UUID.fromString(context.state().get("currentPlayerId").asText());
+        String rackLetters = "";
+        for (JsonNode node : context.state().get("players")) {
+            if (node.get("playerId").asText().equals(currentPlayer.toString())) {
+                StringBuilder rack = new StringBuilder();
+                node.get("rack").forEach(tile -> rack.append(tile.asText().toLowerCase()));
+                rackLetters = rack.toString();
+            }
+        }
+        String word = rackLetters.replace('?', 'e');
+        if (dictionaryService.exists(null, word)) {
+            word = new StringBuilder(word).reverse().toString();
+        }
+        assertThat(dictionaryService.exists(null, word)).isFalse();
+
+        mockMvc.perform(post("/game/" + context.gameId() + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(buildMovePayload(currentPlayer, buildPlacements(word, rackLetters))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Word not found in dictionary: " + word))
+                .andExpect(jsonPath("$.rejection.reason").value("UNKNOWN_WORD"))
+                .andExpect(jsonPath("$.rejection.word").value(word))
+                .andExpect(jsonPath("$.suggestions").isArray());
+        mockMvc.perform(get("/words/suggest").param("word", "tezr").param("distance", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complete").value(true))
+                .andExpect(jsonPath("$.suggestions[?(@.word == 'tear')].distance").value(1));
+    }
+
+    @Test
+    void topHintCanBePlayedForItsScore() throws Exception {
+        GameContext context = startGame("Erin", "Femi");
+        UUID currentPlayer = UUID.fromString(context.state().get("currentPlayerId").asText());
+
+        MvcResult hintResult = mockMvc.perform(get("/game/" + context.gameId() + "/hint")
+                .param("playerId", currentPlayer.toString())
+                .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode hint = objectMapper.readTree(hintResult.getResponse().getContentAsString());
+        assertThat(hint.get("moves").size()).isBetween(1, 3);
+        JsonNode best = hint.get("moves").get(0);
+
+        String requestBody = objectMapper.writeValueAsString(Map.of("playerId", currentPlayer,
+                "placements", best.get("placements")));
+        MvcResult moveResult = mockMvc.perform(post("/game/" + context.gameId() + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode moveNode = objectMapper.readTree(moveResult.getResponse().getContentAsString());
+        assertThat(moveNode.get("scoreEarned").asInt()).isEqualTo(best.get("score").asInt());
+    }
+
+    @Test
+    void concurrentSubmissionsOfOneMoveCommitItOnce() throws Exception {
+        GameContext context = startGame("Oda", "Pim");
+        UUID currentPlayer = UUID.fromString(context.state().get("currentPlayerId").asText());
+        MoveGenerator.GeneratedMove best = hintService.hint(context.gameId(), currentPlayer, 1).moves().get(0);
+        long holdsBefore = meterRegistry.get("scrabble.game.lock.hold").tag("operation", "move").timer().count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int i = 0; i < 2; i++) {
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return scrabbleService.playMove(context.gameId(), currentPlayer, best.placements())
+                                .rejection() == null;
+                    } catch (IllegalArgumentException | IllegalStateException rejected) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int committed = 0;
+            for (Future<Boolean> attempt : attempts) {
+                committed += attempt.get(10, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(committed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        GameSnapshot game = scrabbleService.getGame(context.gameId());
+        assertThat(game.currentPlayerId()).isNotEqualTo(currentPlayer);
+        assertThat(game.players()).filteredOn(player -> player.playerId().equals(currentPlayer))
+                .singleElement().extracting(PlayerSnapshot::score).isEqualTo(best.score());
+        assertThat(meterRegistry.get("scrabble.game.lock.hold").tag("operation", "move").timer().count())
+                .isEqualTo(holdsBefore + 2);
+        assertThat(meterRegistry.get("scrabble.game.lock.wait").tag("operation", "move").timer().count())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void batchExistsReportsEachWordAsJsonBitmapOrStream() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("words", List.of("QUIZ", "qzxv", "tear", "t3ar")));
+
+        MvcResult listResult = mockMvc.perform(post("/words/exists:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode list = objectMapper.readTree(listResult.getResponse().getContentAsString());
+        assertThat(list.get("count").asInt()).isEqualTo(4);
+        assertThat(list.get("found").asInt()).isEqualTo(2);
+        assertThat(list.get("results").get(0).get("word").asText()).isEqualTo("quiz");
+        assertThat(list.get("results").findValues("exists")).extracting(JsonNode::asBoolean)
+                .containsExactly(true, false, true, false);
+
+        MvcResult bitmapResult = mockMvc.perform(post("/words/exists:batch")
+                .param("bitmap", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode bitmap = objectMapper.readTree(bitmapResult.getResponse().getContentAsString());
+        assertThat(bitmap.has("results")).isFalse();
+        BitSet bits = BitSet.valueOf(Base64.getDecoder().decode(bitmap.get("bitmap").asText()));
+        assertThat(bits.stream().toArray()).containsExactly(0, 2);
+
+        MvcResult streamStart = mockMvc.perform(post("/words/exists:batch")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String stream = mockMvc.perform(asyncDispatch(streamStart))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = stream.lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(objectMapper.readTree(lines.get(2)).get("exists").asBoolean()).isTrue();
+    }
+
+    @Test
+    void gamesStayOnTheirLexiconAcrossReload() throws Exception {
+        GameContext before = startGame("Gita", "Hugo");
+        int pinned = before.state().get("lexiconVersion").asInt();
+
+        mockMvc.perform(post("/admin/dictionary/reload").param("source", "http://127.0.0.1:9/words.txt"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/admin/dictionary/reload").param("source", "file:/etc/passwd"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/admin/dictionary/reload"))
+                .andExpect(status().isAccepted());
+        JsonNode status = null;
+        for (int attempt = 0; attempt < 600; attempt++) {
+            status = objectMapper.readTree(mockMvc.perform(get("/admin/dictionary"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if (!status.get("reloading").asBoolean()) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertThat(status.get("reloading").asBoolean()).isFalse();
+        assertThat(status.get("version").asInt()).isGreaterThan(pinned);
+
+        JsonNode state = objectMapper.readTree(mockMvc.perform(get("/game/" + before.gameId() + "/state"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertThat(state.get("lexiconVersion").asInt()).isEqualTo(pinned);
+        GameContext after = startGame("Ines", "Jon");
+        assertThat(after.state().get("lexiconVersion").asInt()).isEqualTo(status.get("version").asInt());
+    }
+
+    @Test
+    void unknownLexiconIsRejectedAtJoinAndOnWordQueries() throws Exception {
+        mockMvc.perform(post("/lobby/join")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new JoinPayload("Kim", "twl"))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/words/exists").param("word", "cat").param("lexicon", "twl"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/words/count").param("lexicon", "CSW"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/admin/dictionary/lexicons"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lexicon").value("csw"));
+    }
+
     private GameContext startGame(String playerOne, String playerTwo) throws Exception {
         JsonNode firstJoin = performJoin(playerOne);
         UUID playerOneId = UUID.fromString(firstJoin.get("playerId").asText());
@@ -100,7 +315,7 @@ class ScrabbleIntegrationTest {
     }
 
     private JsonNode performJoin(String playerName) throws Exception {
-        String payload = objectMapper.writeValueAsString(new JoinPayload(playerName));
+        String payload = objectMapper.writeValueAsString(new JoinPayload(playerName, null));
         MvcResult result = mockMvc.perform(post("/lobby/join")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(payload))
@@ -126,7 +341,7 @@ class ScrabbleIntegrationTest {
             if (!seen.add(key)) {
                 continue;
             }
-            List<String> candidates = dictionaryService.anagrams(subset, 1);
+            List<String> candidates = dictionaryService.anagrams(null, subset, 1).words();
             if (!candidates.isEmpty()) {
                 return candidates.get(0);
             }
@@ -172,7 +387,7 @@ class ScrabbleIntegrationTest {
     private record GameContext(UUID playerOneId, UUID playerTwoId, UUID gameId, JsonNode state) {
     }
 
-    private record JoinPayload(String playerName) {
+    private record JoinPayload(String playerName, String lexicon) {
     }
 
     private record PlacementPayload(int row, int col, String letter, boolean blank) {
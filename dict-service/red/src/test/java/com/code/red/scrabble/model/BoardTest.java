@@ -0,0 +1,127 @@
+package com.code.red.scrabble.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.code.red.dictionary.ArrayDawgDictionary;
+
+class BoardTest {
+
+    private static final List<String> WORDS = List.copyOf(new TreeSet<>(List.of(
+            "ab", "abs", "ad", "ads", "ba", "bad", "bade", "bead", "beads", "bed", "beds", "da", "dab", "dabs", "dae",
+            "de", "deb", "debs", "ed", "eds", "es", "sab", "sad", "sade", "sea", "sed")));
+
+    private final ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(WORDS);
+
+    @Test
+    void incrementalCrossChecksMatchARecomputationAfterEveryPlacement() {
+        Board board = new Board(dictionary);
+        SplittableRandom random = new SplittableRandom(42);
+        String letters = "abdes";
+        for (int placed = 0; placed < 80; placed++) {
+            int row = random.nextInt(Board.SIZE);
+            int col = random.nextInt(Board.SIZE);
+            if (!board.isEmpty(row, col)) {
+                continue;
+            }
+            char letter = letters.charAt(random.nextInt(letters.length()));
+            board.place(row, col, random.nextInt(8) == 0 ? Tile.blankAs(letter) : Tile.of(letter));
+            assertCrossChecksMatchBoard(board);
+        }
+        assertCrossChecksMatchBoard(board.copy());
+    }
+
+    @Test
+    void occupancyBitboardsFollowPlacementsAndRemovals() {
+        Board board = new Board();
+        assertThat(board.hasAnyTile()).isFalse();
+
+        board.place(7, 6, Tile.of('b'));
+        board.place(7, 7, Tile.blankAs('a'));
+        board.place(7, 9, Tile.of('d'));
+        board.place(8, 7, Tile.of('e'));
+
+        assertThat(board.rowOccupancy(7)).isEqualTo(0b1011 << 6);
+        assertThat(board.columnOccupancy(7)).isEqualTo(0b11 << 7);
+        assertThat(board.rowOccupancy(-1)).isZero();
+        assertThat(board.get(7, 7)).isEqualTo(Tile.blankAs('a')).isSameAs(board.copy().get(7, 7));
+        assertThat(Board.runStart(board.rowOccupancy(7), 8)).isEqualTo(6);
+        assertThat(Board.runEnd(board.rowOccupancy(7), 8)).isEqualTo(9);
+        assertThat(board.asStringRows().get(7)).isEqualTo("......ba.d.....");
+
+        board.place(7, 9, null);
+        assertThat(board.isEmpty(7, 9)).isTrue();
+        assertThat(board.rowOccupancy(7)).isEqualTo(0b11 << 6);
+        assertThat(board.hasAnyTile()).isTrue();
+        assertThatThrownBy(() -> board.place(0, 0, Tile.of('?'))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void boardWithoutGraphHasNoCrossChecks() {
+        Board board = new Board();
+
+        assertThat(board.tracksCrossChecks(dictionary)).isFalse();
+        assertThatThrownBy(() -> board.crossCheckMask(7, 7, true)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void assertCrossChecksMatchBoard(Board board) {
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                if (!board.isEmpty(row, col)) {
+                    continue;
+                }
+                for (boolean horizontalPlay : new boolean[] { true, false }) {
+                    assertCrossCheck(board, row, col, horizontalPlay);
+                }
+            }
+        }
+    }
+
+    private void assertCrossCheck(Board board, int row, int col, boolean horizontalPlay) {
+        int deltaRow = horizontalPlay ? 1 : 0;
+        int deltaCol = horizontalPlay ? 0 : 1;
+        int startRow = row;
+        int startCol = col;
+        while (occupied(board, startRow - deltaRow, startCol - deltaCol)) {
+            startRow -= deltaRow;
+            startCol -= deltaCol;
+        }
+        int expectedScore = -1;
+        int expectedMask = (1 << 26) - 1;
+        boolean hasCrossWord = occupied(board, row - deltaRow, col - deltaCol)
+                || occupied(board, row + deltaRow, col + deltaCol);
+        if (hasCrossWord) {
+            expectedMask = 0;
+            for (char letter = 'a'; letter <= 'z'; letter++) {
+                StringBuilder word = new StringBuilder();
+                int score = 0;
+                for (int r = startRow, c = startCol; r == row && c == col || occupied(board, r, c);
+                        r += deltaRow, c += deltaCol) {
+                    if (r == row && c == col) {
+                        word.append(letter);
+                    } else {
+                        word.append(board.get(r, c).letter());
+                        score += board.get(r, c).score();
+                    }
+                }
+                expectedScore = score;
+                if (dictionary.contains(word.toString())) {
+                    expectedMask |= 1 << (letter - 'a');
+                }
+            }
+        }
+        String square = row + "," + col + (horizontalPlay ? " across" : " down");
+        assertThat(board.crossCheckMask(row, col, horizontalPlay)).as(square).isEqualTo(expectedMask);
+        assertThat(board.crossCheckScore(row, col, horizontalPlay)).as(square).isEqualTo(expectedScore);
+    }
+
+    private static boolean occupied(Board board, int row, int col) {
+        return row >= 0 && row < Board.SIZE && col >= 0 && col < Board.SIZE && !board.isEmpty(row, col);
+    }
+}
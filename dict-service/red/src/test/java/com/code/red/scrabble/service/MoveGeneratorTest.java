@@ -0,0 +1,158 @@
+package com.code.red.scrabble.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.code.red.dictionary.ArrayDawgDictionary;
+import com.code.red.scrabble.model.Board;
+import com.code.red.scrabble.model.Tile;
+
+class MoveGeneratorTest {
+
+    private static final List<String> WORDS = List.copyOf(new TreeSet<>(List.of(
+            "ah", "ar", "arc", "arch", "as", "at", "cast", "cat", "cats", "chat", "chats", "eat", "eats", "eh",
+            "er", "es", "ha", "hat", "hate", "hats", "he", "hear", "heat", "rat", "rate", "rats", "re", "sat",
+            "scat", "sea", "seat", "set", "star", "stare", "ta", "tar", "tea", "teas", "the", "thee", "tsar")));
+
+    private final ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(WORDS);
+    private final MoveGenerator generator = new MoveGenerator();
+    private final MoveValidator validator = new MoveValidator();
+
+    @Test
+    void generatesExactlyTheMovesTheValidatorAccepts() {
+        Board board = boardWithCatAndTea(new Board());
+        List<Tile> rack = tiles("asrthe");
+
+        List<MoveGenerator.GeneratedMove> generated = new ArrayList<>();
+        boolean complete = generator.generate(dictionary, board, rack, Long.MAX_VALUE, generated::add);
+
+        assertThat(complete).isTrue();
+        Set<String> generatedKeys = new HashSet<>();
+        for (MoveGenerator.GeneratedMove move : generated) {
+            MoveValidator.MoveValidation validation = validator.validate(dictionary, board, move.placements());
+            assertThat(validation.score()).as(move.toString()).isEqualTo(move.score());
+            assertThat(validation.words().get(0)).isEqualTo(move.word());
+            generatedKeys.add(key(move.placements()));
+        }
+        assertThat(generatedKeys).hasSize(generated.size());
+        assertThat(generatedKeys).isEqualTo(bruteForce(board, "asrthe"));
+    }
+
+    @Test
+    void blankMovesValidateAndTopMovesAreBestFirst() {
+        Board board = boardWithCatAndTea(new Board(dictionary));
+        List<Tile> rack = tiles("s?e");
+
+        MoveGenerator.TopMoves top = generator.topMoves(dictionary, board, rack, 5, Long.MAX_VALUE);
+
+        assertThat(top.complete()).isTrue();
+        assertThat(top.moves()).hasSize(5).isSortedAccordingTo(MoveGenerator.RANKING);
+        List<MoveGenerator.GeneratedMove> all = new ArrayList<>();
+        generator.generate(dictionary, board, rack, Long.MAX_VALUE, all::add);
+        List<MoveGenerator.GeneratedMove> rescanned = new ArrayList<>();
+        generator.generate(dictionary, boardWithCatAndTea(new Board()), rack, Long.MAX_VALUE, rescanned::add);
+        assertThat(all).containsExactlyElementsOf(rescanned);
+        assertThat(top.evaluated()).isEqualTo(all.size());
+        assertThat(top.moves().get(0).score())
+                .isEqualTo(all.stream().mapToInt(MoveGenerator.GeneratedMove::score).max().orElseThrow());
+        assertThat(all).anyMatch(move -> move.placements().stream().anyMatch(Placement::blank));
+        for (MoveGenerator.GeneratedMove move : all) {
+            assertThat(validator.validate(dictionary, board, move.placements()).score()).isEqualTo(move.score());
+        }
+    }
+
+    @Test
+    void firstMoveCoversTheCentre() {
+        List<MoveGenerator.GeneratedMove> moves = new ArrayList<>();
+        generator.generate(dictionary, new Board(), tiles("tac"), Long.MAX_VALUE, moves::add);
+
+        assertThat(moves).isNotEmpty()
+                .allMatch(move -> move.placements().stream().anyMatch(p -> p.row() == 7 && p.col() == 7));
+        assertThat(moves).extracting(MoveGenerator.GeneratedMove::word).contains("cat", "at", "ta");
+    }
+
+    private static Board boardWithCatAndTea(Board board) {
+        place(board, 7, 6, "cat", true);
+        place(board, 8, 8, "ea", false);
+        return board;
+    }
+
+    private Set<String> bruteForce(Board board, String rack) {
+        Set<String> keys = new HashSet<>();
+        for (int direction = 0; direction < 2; direction++) {
+            boolean horizontal = direction == 0;
+            for (int line = 0; line < Board.SIZE; line++) {
+                for (int start = 0; start < Board.SIZE; start++) {
+                    for (String word : WORDS) {
+                        List<Placement> placements = fit(board, rack, word, line, start, horizontal);
+                        if (placements == null || placements.isEmpty()) {
+                            continue;
+                        }
+                        if (validator.validate(dictionary, board, placements).isValid()) {
+                            keys.add(key(placements));
+                        }
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static List<Placement> fit(Board board, String rack, String word, int line, int start,
+            boolean horizontal) {
+        if (start + word.length() > Board.SIZE) {
+            return null;
+        }
+        StringBuilder remaining = new StringBuilder(rack);
+        List<Placement> placements = new ArrayList<>();
+        for (int i = 0; i < word.length(); i++) {
+            int row = horizontal ? line : start + i;
+            int col = horizontal ? start + i : line;
+            char letter = word.charAt(i);
+            Tile existing = board.get(row, col);
+            if (existing != null) {
+                if (existing.letter() != letter) {
+                    return null;
+                }
+                continue;
+            }
+            int index = remaining.indexOf(String.valueOf(letter));
+            if (index < 0) {
+                return null;
+            }
+            remaining.deleteCharAt(index);
+            placements.add(new Placement(row, col, letter, false));
+        }
+        return placements;
+    }
+
+    private static String key(List<Placement> placements) {
+        return placements.stream()
+                .sorted(Comparator.comparingInt(Placement::row).thenComparingInt(Placement::col))
+                .map(p -> p.row() + "," + p.col() + "=" + p.letter() + (p.blank() ? "?" : ""))
+                .toList()
+                .toString();
+    }
+
+    private static void place(Board board, int row, int col, String word, boolean horizontal) {
+        for (int i = 0; i < word.length(); i++) {
+            board.place(horizontal ? row : row + i, horizontal ? col + i : col, Tile.of(word.charAt(i)));
+        }
+    }
+
+    private static List<Tile> tiles(String letters) {
+        List<Tile> tiles = new ArrayList<>();
+        for (char letter : letters.toCharArray()) {
+            tiles.add(Tile.of(letter));
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,64 @@
+package com.code.red.scrabble.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.code.red.dictionary.ArrayDawgDictionary;
+import com.code.red.scrabble.model.Board;
+import com.code.red.scrabble.model.Tile;
+
+class MoveValidatorTest {
+
+    private final ArrayDawgDictionary dictionary = ArrayDawgDictionary.fromSortedWords(
+            List.of("at", "cat", "cats", "sat", "tea"));
+    private final MoveValidator validator = new MoveValidator();
+
+    @Test
+    void illegalPlaysAreRejectedWithTheirReasonAndSquare() {
+        Board board = new Board(dictionary);
+        place(board, 7, 6, "cat");
+
+        assertRejected(board, List.of(new Placement(7, 6, 'a', false)), MoveRejection.Reason.SQUARE_OCCUPIED, 7, 6);
+        assertRejected(board, List.of(new Placement(8, 4, 's', false), new Placement(8, 6, 'a', false)),
+                MoveRejection.Reason.GAP, 8, 5);
+        assertRejected(board, List.of(new Placement(0, 0, 'a', false), new Placement(1, 1, 't', false)),
+                MoveRejection.Reason.NOT_ALIGNED, -1, -1);
+        assertRejected(new Board(), List.of(new Placement(0, 0, 'a', false), new Placement(0, 1, 't', false)),
+                MoveRejection.Reason.CENTER_NOT_COVERED, 7, 7);
+
+        MoveValidator.MoveValidation unknown = validator.validate(dictionary, board,
+                List.of(new Placement(7, 9, 'z', false)));
+        assertThat(unknown.rejection().reason()).isEqualTo(MoveRejection.Reason.UNKNOWN_WORD);
+        assertThat(unknown.rejection().word()).isEqualTo("z");
+        MoveValidator.MoveValidation cross = validator.validate(dictionary, board,
+                List.of(new Placement(6, 7, 'a', false), new Placement(6, 8, 't', false)));
+        assertThat(cross.rejection().reason()).isEqualTo(MoveRejection.Reason.INVALID_CROSS_WORD);
+        assertThat(cross.rejection().message()).isEqualTo("Invalid cross word: aa");
+
+        MoveValidator.MoveValidation played = validator.validate(dictionary, board,
+                List.of(new Placement(8, 7, 't', false)));
+        assertThat(played.isValid()).isTrue();
+        assertThat(played.words()).containsExactly("at");
+        assertThat(played.score()).isEqualTo(2);
+    }
+
+    private void assertRejected(Board board, List<Placement> placements, MoveRejection.Reason reason, int row,
+            int col) {
+        MoveValidator.MoveValidation validation = validator.validate(dictionary, board, placements);
+        assertThat(validation.isValid()).isFalse();
+        assertThat(validation.rejection().reason()).isEqualTo(reason);
+        assertThat(validation.rejection().message()).isEqualTo(reason.description());
+        assertThat(validation.rejection().row()).isEqualTo(row);
+        assertThat(validation.rejection().col()).isEqualTo(col);
+        assertThat(validation.words()).isEmpty();
+    }
+
+    private static void place(Board board, int row, int col, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            board.place(row, col + i, Tile.of(word.charAt(i)));
+        }
+    }
+}